@@ -0,0 +1,61 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio.benchmark;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.pdfsam.eventstudio.DefaultEventStudio;
+
+/**
+ * Runs the benchmarks with the GC profiler, so that allocation rates are reported next to the scores. It accepts the usual JMH command line options, for example
+ * <code>java -jar target/benchmarks.jar Broadcast -rf json -rff results.json</code>
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public final class Benchmarks {
+
+    /**
+     * The station used by the benchmarks, the hidden one so that annotated beans don't need an {@link org.pdfsam.eventstudio.annotation.EventStation}
+     */
+    static final String STATION = DefaultEventStudio.HIDDEN_STATION;
+
+    private Benchmarks() {
+        // hide
+    }
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp()) {
+            commandLine.showHelp();
+            return;
+        }
+        Runner runner = new Runner(new OptionsBuilder().parent(commandLine).addProfiler(GCProfiler.class).build());
+        if (commandLine.shouldList()) {
+            runner.list();
+            return;
+        }
+        runner.run();
+    }
+}
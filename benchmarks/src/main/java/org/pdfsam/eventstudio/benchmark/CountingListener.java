@@ -0,0 +1,36 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio.benchmark;
+
+import org.pdfsam.eventstudio.Listener;
+
+/**
+ * A cheap listener counting the events it receives, so that its invocation can't be optimized away
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public class CountingListener implements Listener<Event> {
+
+    long count;
+
+    @Override
+    public void onEvent(Event event) {
+        count++;
+    }
+}
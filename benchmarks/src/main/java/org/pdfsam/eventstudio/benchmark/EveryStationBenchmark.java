@@ -0,0 +1,74 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pdfsam.eventstudio.DefaultEventStudio;
+import org.pdfsam.eventstudio.EventStudio;
+
+/**
+ * Broadcast to every station of a studio where half of the stations listen for the event and the other half for a different event
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EveryStationBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    int stations;
+
+    private final Event event = new Event();
+    private EventStudio studio;
+
+    @Setup
+    public void setUp() {
+        studio = new DefaultEventStudio();
+        for (int i = 0; i < stations; i++) {
+            if (i % 2 == 0) {
+                studio.add(Event.class, new CountingListener(), "station" + i);
+            } else {
+                studio.add(OtherEvent.class, e -> {
+                    // nothing
+                }, "station" + i);
+            }
+        }
+    }
+
+    @Benchmark
+    public void broadcastToEveryStation() {
+        studio.broadcastToEveryStation(event);
+    }
+}
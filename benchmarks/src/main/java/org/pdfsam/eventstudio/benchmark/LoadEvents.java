@@ -0,0 +1,83 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio.benchmark;
+
+/**
+ * The event classes broadcasted by the {@link LoadHarness}, one shared instance each
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+final class LoadEvents {
+
+    static final Object[] EVENTS = { new E0(), new E1(), new E2(), new E3(), new E4(), new E5(), new E6(), new E7(), new E8(), new E9(), new E10(), new E11(),
+            new E12(), new E13(), new E14(), new E15() };
+    static final int MAX_CLASSES = EVENTS.length;
+
+    private LoadEvents() {
+        // hide
+    }
+
+    static final class E0 {
+    }
+
+    static final class E1 {
+    }
+
+    static final class E2 {
+    }
+
+    static final class E3 {
+    }
+
+    static final class E4 {
+    }
+
+    static final class E5 {
+    }
+
+    static final class E6 {
+    }
+
+    static final class E7 {
+    }
+
+    static final class E8 {
+    }
+
+    static final class E9 {
+    }
+
+    static final class E10 {
+    }
+
+    static final class E11 {
+    }
+
+    static final class E12 {
+    }
+
+    static final class E13 {
+    }
+
+    static final class E14 {
+    }
+
+    static final class E15 {
+    }
+}
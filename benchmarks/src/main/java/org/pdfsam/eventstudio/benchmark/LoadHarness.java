@@ -0,0 +1,269 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.pdfsam.eventstudio.DefaultEventStudio;
+import org.pdfsam.eventstudio.EventStudio;
+import org.pdfsam.eventstudio.Listener;
+import org.pdfsam.eventstudio.ReferenceStrength;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * A soak and load test of an {@link EventStudio}: producer threads broadcast, for a fixed time, a mix of events to a set of stations while listeners are added and removed at
+ * the configured rate. It reports throughput, broadcast latency percentiles, allocation rate of the producers and growth of the pending events. See {@link LoadOptions} for the
+ * configuration.
+ * <p>
+ * Latency is measured around every broadcast call, so it includes the notification of the listeners and two {@link System#nanoTime()} calls. Events are shared instances,
+ * allocation is what the studio and the listeners allocate. Pending events are read from the station MBeans.
+ * </p>
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public final class LoadHarness {
+
+    private final LoadOptions options;
+    private final EventStudio studio;
+    private final String[] stations;
+    private final Deque<LoadListener> churned = new ArrayDeque<>();
+    /**
+     * keeps weak and soft listeners reachable
+     */
+    private final List<LoadListener> listeners = new ArrayList<>();
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    private volatile boolean running = true;
+
+    private LoadHarness(LoadOptions options) {
+        this.options = options;
+        // pending events are read from the station MBeans
+        System.setProperty(EventStudio.JMX_PROP, "true");
+        this.studio = new DefaultEventStudio();
+        this.stations = new String[options.stations()];
+        for (int i = 0; i < stations.length; i++) {
+            stations[i] = "station" + i;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options;
+        try {
+            options = LoadOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadOptions.USAGE);
+            System.exit(1);
+            return;
+        }
+        new LoadHarness(options).run();
+    }
+
+    private void run() throws InterruptedException, JMException {
+        System.out.println(options);
+        for (int i = 0; i < options.listeners(); i++) {
+            add(new LoadListener(options.listenerCost()), i % options.stations(), (i / options.stations()) % options.eventClasses(),
+                    options.strengths().get(i % options.strengths().size()));
+        }
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(options.warmup());
+        long stopAt = measureFrom + TimeUnit.SECONDS.toNanos(options.duration());
+        Producer[] producers = new Producer[options.producers()];
+        for (int i = 0; i < producers.length; i++) {
+            producers[i] = new Producer(i, measureFrom, stopAt);
+            producers[i].start();
+        }
+        Thread churner = null;
+        if (options.churn() > 0) {
+            churner = Thread.ofPlatform().name("churner").daemon().start(this::churn);
+        }
+        long pendingAtStart = -1;
+        long previous = 0;
+        for (int second = 1; System.nanoTime() < stopAt; second++) {
+            LockSupport.parkNanos(start + TimeUnit.SECONDS.toNanos(second) - System.nanoTime());
+            long broadcasts = 0;
+            for (Producer producer : producers) {
+                broadcasts += producer.broadcasts;
+            }
+            long pending = pending();
+            if (pendingAtStart < 0 && System.nanoTime() >= measureFrom) {
+                pendingAtStart = pending;
+            }
+            System.out.printf("%4ds %s %,12d broadcasts/s %,10d pending%n", second, second <= options.warmup() ? "warmup " : "measure", broadcasts - previous,
+                    pending);
+            previous = broadcasts;
+        }
+        running = false;
+        LoadHistogram latency = new LoadHistogram();
+        long allocated = 0;
+        for (Producer producer : producers) {
+            producer.join();
+            latency.add(producer.latency);
+            allocated += producer.allocated;
+        }
+        if (churner != null) {
+            churner.join();
+        }
+        report(latency, allocated, Math.max(0, pendingAtStart), pending());
+    }
+
+    private void report(LoadHistogram latency, long allocated, long pendingAtStart, long pendingAtEnd) {
+        double seconds = options.duration();
+        long broadcasts = latency.count();
+        System.out.println();
+        System.out.printf("Throughput:  %,.0f broadcasts/s%n", broadcasts / seconds);
+        System.out.printf("Latency:     p50 %,d ns, p99 %,d ns, p999 %,d ns, max %,d ns%n", latency.percentile(0.5), latency.percentile(0.99),
+                latency.percentile(0.999), latency.max());
+        if (allocated >= 0) {
+            System.out.printf("Allocation:  %,.1f MB/s, %,.1f bytes/broadcast%n", allocated / seconds / (1024 * 1024),
+                    broadcasts == 0 ? 0d : (double) allocated / broadcasts);
+        } else {
+            System.out.println("Allocation:  not supported by this JVM");
+        }
+        System.out.printf("Pending:     %,d at start, %,d at end, %,.1f events/s growth%n", pendingAtStart, pendingAtEnd, (pendingAtEnd - pendingAtStart) / seconds);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private void add(LoadListener listener, int station, int eventClass, ReferenceStrength strength) {
+        listener.station = station;
+        listener.eventClass = eventClass;
+        listeners.add(listener);
+        studio.add((Class) LoadEvents.EVENTS[eventClass].getClass(), listener, stations[station], 0, strength);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private void remove(LoadListener listener) {
+        studio.remove((Class) LoadEvents.EVENTS[listener.eventClass].getClass(), listener, stations[listener.station]);
+        listeners.remove(listener);
+    }
+
+    /**
+     * Adds a listener to a random station and event class and removes the oldest churned one, at the configured rate
+     */
+    private void churn() {
+        long period = TimeUnit.SECONDS.toNanos(1) / options.churn();
+        long next = System.nanoTime();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int strength = 0;
+        while (running) {
+            LoadListener listener = new LoadListener(options.listenerCost());
+            synchronized (listeners) {
+                add(listener, random.nextInt(options.stations()), random.nextInt(options.eventClasses()),
+                        options.strengths().get(strength++ % options.strengths().size()));
+                churned.addLast(listener);
+                if (churned.size() > 1) {
+                    remove(churned.removeFirst());
+                }
+            }
+            next += period;
+            LockSupport.parkNanos(next - System.nanoTime());
+        }
+    }
+
+    private long pending() throws JMException {
+        long pending = 0;
+        for (ObjectName name : server.queryNames(new ObjectName("org.pdfsam.eventstudio:type=Station,*"), null)) {
+            pending += (Integer) server.getAttribute(name, "PendingEventCount");
+        }
+        return pending;
+    }
+
+    private final class Producer extends Thread {
+        private final long measureFrom;
+        private final long stopAt;
+        private final LoadHistogram latency = new LoadHistogram();
+        private final int offset;
+        /**
+         * broadcasts so far, warmup included, read by the progress report
+         */
+        private volatile long broadcasts;
+        /**
+         * bytes allocated while measuring, -1 if not supported
+         */
+        private long allocated = -1;
+
+        private Producer(int index, long measureFrom, long stopAt) {
+            super("producer-" + index);
+            this.measureFrom = measureFrom;
+            this.stopAt = stopAt;
+            this.offset = index;
+        }
+
+        @Override
+        public void run() {
+            ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+            boolean allocation = threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled();
+            int stationsCount = stations.length;
+            int eventClasses = options.eventClasses();
+            long allocatedAtStart = -1;
+            long count = 0;
+            long start;
+            while ((start = System.nanoTime()) < stopAt) {
+                // every producer walks the combinations of station and event class from a different offset
+                long combination = count + offset;
+                studio.broadcast(LoadEvents.EVENTS[(int) ((combination / stationsCount) % eventClasses)], stations[(int) (combination % stationsCount)]);
+                long end = System.nanoTime();
+                if (start >= measureFrom) {
+                    if (allocatedAtStart < 0 && allocation) {
+                        allocatedAtStart = threads.getCurrentThreadAllocatedBytes();
+                    }
+                    latency.record(end - start);
+                }
+                broadcasts = ++count;
+            }
+            if (allocatedAtStart >= 0) {
+                allocated = threads.getCurrentThreadAllocatedBytes() - allocatedAtStart;
+            }
+        }
+    }
+
+    /**
+     * A listener spending the configured time on every event
+     */
+    private static final class LoadListener implements Listener<Object> {
+        private final long cost;
+        private int station;
+        private int eventClass;
+
+        private LoadListener(long cost) {
+            this.cost = cost;
+        }
+
+        @Override
+        public void onEvent(Object event) {
+            if (cost > 0) {
+                long until = System.nanoTime() + cost;
+                while (System.nanoTime() < until) {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+    }
+}
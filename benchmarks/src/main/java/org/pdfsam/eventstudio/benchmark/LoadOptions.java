@@ -0,0 +1,131 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.pdfsam.eventstudio.ReferenceStrength;
+
+/**
+ * Configuration of a {@link LoadHarness} run, parsed from <code>--name value</code> command line arguments
+ * 
+ * @param producers
+ *            threads broadcasting events
+ * @param stations
+ *            stations events are broadcasted to
+ * @param eventClasses
+ *            distinct event classes, at most {@link LoadEvents#MAX_CLASSES}
+ * @param listeners
+ *            listeners, spread over every station and event class. Combinations of station and event class with no listener get their events enqueued.
+ * @param listenerCost
+ *            nanoseconds every listener spends on an event
+ * @param strengths
+ *            reference strengths of the listeners, used in turn
+ * @param churn
+ *            listeners added, and removed, per second while producers broadcast
+ * @param warmup
+ *            seconds of broadcasting before measuring
+ * @param duration
+ *            seconds of measured broadcasting
+ * @author Andrea Vacondio
+ */
+record LoadOptions(int producers, int stations, int eventClasses, int listeners, long listenerCost, List<ReferenceStrength> strengths, int churn, int warmup,
+        int duration) {
+
+    static final String USAGE = """
+            Usage: java -cp benchmarks.jar org.pdfsam.eventstudio.benchmark.LoadHarness [options]
+              --producers <n>        broadcasting threads (default 4)
+              --stations <n>         stations (default 8)
+              --event-classes <n>    event classes, at most %d (default 4)
+              --listeners <n>        listeners spread over stations and event classes (default 32)
+              --listener-cost <ns>   time every listener spends on an event (default 0)
+              --strengths <list>     comma separated reference strengths used in turn (default STRONG)
+              --churn <n>            listeners added and removed per second (default 0)
+              --warmup <s>           seconds before measuring (default 5)
+              --duration <s>         measured seconds (default 30)
+            """.formatted(LoadEvents.MAX_CLASSES);
+
+    LoadOptions {
+        positive(producers, "producers");
+        positive(stations, "stations");
+        positive(eventClasses, "event-classes");
+        if (eventClasses > LoadEvents.MAX_CLASSES) {
+            throw new IllegalArgumentException("At most " + LoadEvents.MAX_CLASSES + " event classes are supported");
+        }
+        notNegative(listeners, "listeners");
+        notNegative(listenerCost, "listener-cost");
+        if (strengths.isEmpty()) {
+            throw new IllegalArgumentException("At least a reference strength is required");
+        }
+        notNegative(churn, "churn");
+        notNegative(warmup, "warmup");
+        positive(duration, "duration");
+    }
+
+    static LoadOptions parse(String[] args) {
+        int producers = 4;
+        int stations = 8;
+        int eventClasses = 4;
+        int listeners = 32;
+        long listenerCost = 0;
+        List<ReferenceStrength> strengths = List.of(ReferenceStrength.STRONG);
+        int churn = 0;
+        int warmup = 5;
+        int duration = 30;
+        if (args.length % 2 != 0) {
+            throw new IllegalArgumentException("Every option requires a value");
+        }
+        for (int i = 0; i < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+            case "--producers" -> producers = Integer.parseInt(value);
+            case "--stations" -> stations = Integer.parseInt(value);
+            case "--event-classes" -> eventClasses = Integer.parseInt(value);
+            case "--listeners" -> listeners = Integer.parseInt(value);
+            case "--listener-cost" -> listenerCost = Long.parseLong(value);
+            case "--strengths" -> strengths = Arrays.stream(value.split(",")).map(String::trim).map(s -> s.toUpperCase(Locale.ROOT))
+                    .map(ReferenceStrength::valueOf).toList();
+            case "--churn" -> churn = Integer.parseInt(value);
+            case "--warmup" -> warmup = Integer.parseInt(value);
+            case "--duration" -> duration = Integer.parseInt(value);
+            default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        return new LoadOptions(producers, stations, eventClasses, listeners, listenerCost, strengths, churn, warmup, duration);
+    }
+
+    private static void positive(long value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+    }
+
+    private static void notNegative(long value, String name) {
+        if (value < 0) {
+            throw new IllegalArgumentException(name + " cannot be negative");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("producers=%d stations=%d event-classes=%d listeners=%d listener-cost=%dns strengths=%s churn=%d/s warmup=%ds duration=%ds", producers,
+                stations, eventClasses, listeners, listenerCost, strengths, churn, warmup, duration);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pdfsam.eventstudio.DefaultEventStudio;
+import org.pdfsam.eventstudio.EventStudio;
+
+/**
+ * Cost of registering an annotated bean compared to a plain listener. Every invocation registers {@value #REGISTRATIONS} listeners on an empty studio, the score is per
+ * registration.
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RegistrationBenchmark {
+
+    static final int REGISTRATIONS = 100;
+
+    private final CountingBean[] beans = new CountingBean[REGISTRATIONS];
+    private final CountingListener[] listeners = new CountingListener[REGISTRATIONS];
+    private EventStudio studio;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        studio = new DefaultEventStudio();
+        for (int i = 0; i < REGISTRATIONS; i++) {
+            beans[i] = new CountingBean();
+            listeners[i] = new CountingListener();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REGISTRATIONS)
+    public void addAnnotatedListeners() {
+        for (CountingBean bean : beans) {
+            studio.addAnnotatedListeners(bean);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REGISTRATIONS)
+    public void add() {
+        for (CountingListener listener : listeners) {
+            studio.add(Event.class, listener, Benchmarks.STATION);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pdfsam.eventstudio.DefaultEventStudio;
+import org.pdfsam.eventstudio.EventStudio;
+import org.pdfsam.eventstudio.ReferenceStrength;
+
+/**
+ * How registration scales with the number of listeners of the same event class. Every invocation registers the given number of listeners on an empty studio and broadcasts an
+ * event, so that the listeners are sorted and ready to be notified, or it removes them all from a studio where they are registered. The score is the time of the whole batch,
+ * it grows linearly with the number of listeners if a registration doesn't copy the ones already there.
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Thread)
+public class RegistrationScalingBenchmark {
+
+    @Param({ "1000", "10000", "100000", "200000" })
+    private int listeners;
+
+    private CountingListener[] registered;
+    private EventStudio studio;
+    private final Event event = new Event();
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        studio = new DefaultEventStudio();
+        registered = new CountingListener[listeners];
+        for (int i = 0; i < listeners; i++) {
+            registered[i] = new CountingListener();
+        }
+    }
+
+    @Benchmark
+    public EventStudio add() {
+        for (int i = 0; i < registered.length; i++) {
+            // a few priorities so that listeners are not always appended
+            studio.add(Event.class, registered[i], Benchmarks.STATION, i % 10, ReferenceStrength.STRONG);
+        }
+        studio.broadcast(event, Benchmarks.STATION);
+        return studio;
+    }
+
+    @Benchmark
+    public EventStudio remove(RegisteredState state) {
+        for (CountingListener listener : state.registered) {
+            state.studio.remove(Event.class, listener, Benchmarks.STATION);
+        }
+        return state.studio;
+    }
+
+    /**
+     * A studio with the listeners of the benchmark registered, in a single priority
+     */
+    @State(Scope.Thread)
+    public static class RegisteredState {
+        private CountingListener[] registered;
+        private EventStudio studio;
+
+        @Setup(Level.Invocation)
+        public void setUp(RegistrationScalingBenchmark benchmark) {
+            studio = new DefaultEventStudio();
+            registered = benchmark.registered;
+            for (CountingListener listener : registered) {
+                studio.add(Event.class, listener, Benchmarks.STATION);
+            }
+            studio.broadcast(new Event(), Benchmarks.STATION);
+        }
+    }
+}
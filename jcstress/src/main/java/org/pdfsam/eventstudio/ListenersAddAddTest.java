@@ -0,0 +1,58 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Description;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.I_Result;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+@JCStressTest
+@Description("Listeners added concurrently for the same event class are all registered")
+@Outcome(id = "2", expect = ACCEPTABLE, desc = "Both listeners registered")
+@Outcome(expect = FORBIDDEN, desc = "A registration has been lost")
+@State
+public class ListenersAddAddTest {
+
+    private final Listeners listeners = new Listeners();
+
+    @Actor
+    public void first() {
+        listeners.add(String.class, new StressListener(), 0, ReferenceStrength.STRONG);
+    }
+
+    @Actor
+    public void second() {
+        listeners.add(String.class, new StressListener(), 0, ReferenceStrength.STRONG);
+    }
+
+    @Arbiter
+    public void arbiter(I_Result r) {
+        r.r1 = listeners.listeners(String.class).length;
+    }
+}
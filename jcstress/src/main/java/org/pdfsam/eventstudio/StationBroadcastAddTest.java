@@ -0,0 +1,66 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Description;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+@JCStressTest
+@Description("Broadcasting while a listener is added to a station that already has one")
+@Outcome(id = "1, 0", expect = ACCEPTABLE, desc = "Broadcast before the add")
+@Outcome(id = "1, 1", expect = ACCEPTABLE, desc = "Broadcast after the add")
+@Outcome(expect = FORBIDDEN, desc = "The existing listener missed the event or a listener got it twice")
+@State
+public class StationBroadcastAddTest {
+
+    private final Station station = new Station("stress");
+    private final StressListener existing = new StressListener();
+    private final StressListener added = new StressListener();
+
+    public StationBroadcastAddTest() {
+        station.add(String.class, existing, 0, ReferenceStrength.STRONG);
+    }
+
+    @Actor
+    public void add() {
+        station.add(String.class, added, 0, ReferenceStrength.STRONG);
+    }
+
+    @Actor
+    public void broadcast() {
+        station.broadcast("event");
+    }
+
+    @Arbiter
+    public void arbiter(II_Result r) {
+        r.r1 = existing.count;
+        r.r2 = added.count;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Description;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.ZZ_Result;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+@JCStressTest
+@Description("Clearing a station while a listener is added to it, the index of the listening stations must not keep a cleared station")
+@Outcome(id = "true, true", expect = ACCEPTABLE, desc = "Added after the clear, to a new station")
+@Outcome(id = "true, false", expect = ACCEPTABLE, desc = "Added before the clear")
+@Outcome(expect = FORBIDDEN, desc = "The index has a station that is not registered")
+@State
+public class StationsClearAddTest {
+
+    private final Stations stations = new Stations();
+
+    public StationsClearAddTest() {
+        stations.getStation("stress");
+    }
+
+    @Actor
+    public void add() {
+        stations.getStation("stress").add(String.class, new StressListener(), 0, ReferenceStrength.STRONG);
+    }
+
+    @Actor
+    public void clear() {
+        stations.clear("stress");
+    }
+
+    @Arbiter
+    public void arbiter(ZZ_Result r) {
+        Station current = stations.findStation("stress");
+        r.r1 = stations.getStations(String.class).stream().allMatch(station -> station == current);
+        r.r2 = current != null;
+    }
+}
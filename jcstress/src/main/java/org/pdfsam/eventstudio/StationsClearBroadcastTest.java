@@ -0,0 +1,65 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Description;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.ZI_Result;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+@JCStressTest
+@Description("Broadcasting through a station reference while the station is cleared")
+@Outcome(id = "true, 1", expect = ACCEPTABLE, desc = "The listener got the event and the station is gone")
+@Outcome(expect = FORBIDDEN, desc = "The event has been lost or the station survived the clear")
+@State
+public class StationsClearBroadcastTest {
+
+    private final Stations stations = new Stations();
+    private final Station station = stations.getStation("stress");
+    private final StressListener listener = new StressListener();
+
+    public StationsClearBroadcastTest() {
+        station.add(String.class, listener, 0, ReferenceStrength.STRONG);
+    }
+
+    @Actor
+    public void broadcast() {
+        station.broadcast("event");
+    }
+
+    @Actor
+    public void clear() {
+        stations.clear("stress");
+    }
+
+    @Arbiter
+    public void arbiter(ZI_Result r) {
+        r.r1 = stations.findStation("stress") == null && stations.getStations(String.class).isEmpty();
+        r.r2 = listener.count;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Description;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.Z_Result;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+@JCStressTest
+@Description("Stations created concurrently with the same name are the same station")
+@Outcome(id = "true", expect = ACCEPTABLE, desc = "Same station")
+@Outcome(expect = FORBIDDEN, desc = "Two stations with the same name")
+@State
+public class StationsGetStationTest {
+
+    private final Stations stations = new Stations();
+    private Station first;
+    private Station second;
+
+    @Actor
+    public void first() {
+        first = stations.getStation("stress");
+    }
+
+    @Actor
+    public void second() {
+        second = stations.getStation("stress");
+    }
+
+    @Arbiter
+    public void arbiter(Z_Result r) {
+        r.r1 = first == second && stations.findStation("stress") == first;
+    }
+}
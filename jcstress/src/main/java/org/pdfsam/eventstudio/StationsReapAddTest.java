@@ -0,0 +1,72 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import java.time.Duration;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Description;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.ZI_Result;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+@JCStressTest
+@Description("Adding a listener through a station reference while the last listener is removed and the station is reaped")
+@Outcome(id = "true, 1", expect = ACCEPTABLE, desc = "The added listener is registered on the current station")
+@Outcome(expect = FORBIDDEN, desc = "The added listener has been lost with the reaped station")
+@State
+public class StationsReapAddTest {
+
+    private final Stations stations = new Stations();
+    private final Station station;
+    private final StressListener removed = new StressListener();
+    private final StressListener added = new StressListener();
+
+    public StationsReapAddTest() {
+        stations.reapEmptyStations(Duration.ZERO);
+        station = stations.getStation("stress");
+        station.add(String.class, removed, 0, ReferenceStrength.STRONG);
+    }
+
+    @Actor
+    public void remove() {
+        station.remove(String.class, removed);
+    }
+
+    @Actor
+    public void add() {
+        station.add(String.class, added, 0, ReferenceStrength.STRONG);
+    }
+
+    @Arbiter
+    public void arbiter(ZI_Result r) {
+        Station current = stations.getStation("stress");
+        r.r1 = current.hasListeners(String.class) && stations.getStations(String.class).contains(current);
+        current.broadcast("event");
+        r.r2 = added.count;
+    }
+}
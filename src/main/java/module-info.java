@@ -20,4 +20,6 @@ module org.pdfsam.eventstudio {
     exports org.pdfsam.eventstudio.annotation;
     exports org.pdfsam.eventstudio.exception;
     requires org.slf4j;
+    requires static java.management;
+    requires static jdk.jfr;
 }
\ No newline at end of file
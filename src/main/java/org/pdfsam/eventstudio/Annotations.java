@@ -83,9 +83,9 @@ final class Annotations {
         EventListener listenerAnnotation = method.getAnnotation(EventListener.class);
         if (listenerAnnotation != null) {
             Class<?>[] parameterTypes = method.getParameterTypes();
-            if (parameterTypes.length != 1) {
+            if (parameterTypes.length != 1 && !(parameterTypes.length == 2 && parameterTypes[1].equals(BroadcastContext.class))) {
                 throw new EventStudioException(
-                        "@EventListener annotated method expected to be a single parameter method");
+                        "@EventListener annotated method expected to be a single parameter method or to have a BroadcastContext second parameter");
             }
             LOG.trace("Found @EventListener annotated method {}", method);
             metadata.put(listenerAnnotation.station(), new ReflectiveListenerDescriptor(listenerAnnotation, method));
@@ -0,0 +1,56 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+/**
+ * Context of the broadcast of an event, handed to {@link ContextualListener}s and to {@link org.pdfsam.eventstudio.annotation.EventListener} annotated methods declaring it as
+ * second parameter.
+ * 
+ * @author Andrea Vacondio
+ */
+public interface BroadcastContext {
+
+    /**
+     * A context for notifications happening outside of a broadcast, it cannot be stopped.
+     */
+    BroadcastContext UNSTOPPABLE = new BroadcastContext() {
+        public void stop() {
+            // nothing to stop
+        }
+
+        public boolean isStopped() {
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return "UNSTOPPABLE";
+        }
+    };
+
+    /**
+     * Stops the broadcast of the event, lower priority {@link Listener}s won't receive it. This is a cheap alternative to throwing a
+     * {@link org.pdfsam.eventstudio.exception.BroadcastInterruptionException}.
+     */
+    void stop();
+
+    /**
+     * @return true if the broadcast of the event has been stopped
+     */
+    boolean isStopped();
+}
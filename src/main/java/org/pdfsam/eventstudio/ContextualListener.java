@@ -0,0 +1,56 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+/**
+ * A {@link Listener} notified with the {@link BroadcastContext} of the event, allowing it to stop the broadcast without throwing an exception:
+ * 
+ * <pre>
+ * {@code
+ * class VetoListener implements ContextualListener<ParentEvent> {
+ *     public void onEvent(ParentEvent event, BroadcastContext context) {
+ *         if (!valid(event)) {
+ *             context.stop();
+ *         }
+ *     }
+ * }
+ * }
+ * </pre>
+ * 
+ * @author Andrea Vacondio
+ * @param <T>
+ *            type of the event the listener is interested in
+ */
+public interface ContextualListener<T> extends Listener<T> {
+
+    /**
+     * Notify the listener of the given event
+     * 
+     * @param context
+     *            the context of the broadcast, it's valid only during this call
+     */
+    void onEvent(T event, BroadcastContext context);
+
+    /**
+     * Notify the listener of the given event outside of a broadcast, where there's nothing to stop
+     */
+    @Override
+    default void onEvent(T event) {
+        onEvent(event, BroadcastContext.UNSTOPPABLE);
+    }
+}
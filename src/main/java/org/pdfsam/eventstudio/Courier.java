@@ -0,0 +1,128 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.pdfsam.eventstudio.util.RequireUtils.requireNotBlank;
+import static org.pdfsam.eventstudio.util.RequireUtils.requireNotNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.pdfsam.eventstudio.Listeners.ListenerReferenceHolder;
+import org.pdfsam.eventstudio.exception.BroadcastInterruptionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivers events to the listeners added with a named {@link Executor}. Deliveries are queued on the broadcasting thread, in the order listeners are notified, and the queue is
+ * drained by a single task submitted to the executor, so that the events broadcasted while a task is pending cost no more hops. A task delivers at most {@value #MAX_BATCH}
+ * events, then it leaves the rest to a new task so that it doesn't hog the executor thread. Only one task at a time drains the queue, so events are delivered in the order they
+ * have been broadcasted, even if the executor has many threads.
+ * 
+ * @author Andrea Vacondio
+ * @see EventStudio#addExecutor(String, Executor)
+ */
+class Courier {
+    private static final Logger LOG = LoggerFactory.getLogger(Courier.class);
+    static final int MAX_BATCH = 1024;
+
+    private final String name;
+    private final Executor executor;
+    private final Queue<Delivery> deliveries = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Runnable drain = this::drain;
+
+    Courier(String name, Executor executor) {
+        requireNotBlank(name);
+        requireNotNull(executor);
+        this.name = name;
+        this.executor = executor;
+    }
+
+    /**
+     * Queues the delivery of the given event to the given listener, scheduling a task on the executor unless there's one already pending
+     */
+    void post(ListenerReferenceHolder listener, Object event) {
+        deliveries.add(new Delivery(listener, event, Trace.current()));
+        schedule();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(drain);
+            } catch (RejectedExecutionException e) {
+                // deliveries are kept, the next post tries again
+                scheduled.set(false);
+                LOG.warn("Executor {} rejected the delivery of {} events", name, deliveries.size(), e);
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            Delivery delivery;
+            for (int delivered = 0; delivered < MAX_BATCH && (delivery = deliveries.poll()) != null; delivered++) {
+                deliver(delivery);
+            }
+        } finally {
+            // deliveries posted while draining didn't schedule a task, so that only one drains at a time. Whatever they left is drained by a new one
+            scheduled.set(false);
+            if (!deliveries.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+    private void deliver(Delivery delivery) {
+        Trace previous = delivery.trace() != null ? Trace.resume(delivery.trace()) : null;
+        try {
+            delivery.listener().deliver(delivery.event(), BroadcastContext.UNSTOPPABLE);
+        } catch (BroadcastInterruptionException e) {
+            LOG.info("Listener {} tried to interrupt a broadcast already delivered by executor {}", delivery.listener(), name, e);
+        } catch (RuntimeException e) {
+            LOG.warn("Listener {} failed on {} delivered by executor {}", delivery.listener(), delivery.event(), name, e);
+        } finally {
+            if (delivery.trace() != null) {
+                Trace.restore(previous);
+            }
+        }
+    }
+
+    /**
+     * @return the number of events waiting to be delivered
+     */
+    int pending() {
+        return deliveries.size();
+    }
+
+    String name() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return "Courier[" + name + "]";
+    }
+
+    private record Delivery(ListenerReferenceHolder listener, Object event, Trace trace) {
+    }
+}
@@ -21,8 +21,16 @@ import static org.pdfsam.eventstudio.util.RequireUtils.requireNotNull;
 import static org.pdfsam.eventstudio.util.StringUtils.defaultString;
 
 import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.pdfsam.eventstudio.Annotations.ReflectiveListenerDescriptor;
 import org.pdfsam.eventstudio.Annotations.ReflectiveMetadata;
@@ -79,6 +87,23 @@ public class DefaultEventStudio implements EventStudio {
         stations.getStation(station).add(eventClass, listener, priority, strength);
     }
 
+    public <T> void add(Class<T> eventClass, Listener<T> listener, String station, int priority, ReferenceStrength strength, String executor) {
+        stations.getStation(station).add(eventClass, listener, priority, strength, stations.courier(executor));
+    }
+
+    public void addExecutor(String name, Executor executor) {
+        stations.addExecutor(name, executor);
+    }
+
+    public <T, K> void add(Class<T> eventClass, Function<? super T, ? extends K> keyExtractor, K key, Listener<T> listener, String station) {
+        add(eventClass, keyExtractor, key, listener, station, 0, ReferenceStrength.STRONG);
+    }
+
+    public <T, K> void add(Class<T> eventClass, Function<? super T, ? extends K> keyExtractor, K key, Listener<T> listener, String station, int priority,
+            ReferenceStrength strength) {
+        stations.getStation(station).add(eventClass, keyExtractor, key, listener, priority, strength);
+    }
+
     public void addAnnotatedListeners(Object bean) {
         try {
             ReflectiveMetadata metadata = Annotations.process(bean);
@@ -132,6 +157,16 @@ public class DefaultEventStudio implements EventStudio {
         add(eventClass, listener, HIDDEN_STATION);
     }
 
+    /**
+     * Adds a {@link Listener} to the hidden station, notified only of the events whose key matches the given key, hiding the station abstraction.
+     * 
+     * @see EventStudio#add(Class, Function, Object, Listener, String)
+     * @see DefaultEventStudio#HIDDEN_STATION
+     */
+    public <T, K> void add(Class<T> eventClass, Function<? super T, ? extends K> keyExtractor, K key, Listener<T> listener) {
+        add(eventClass, keyExtractor, key, listener, HIDDEN_STATION);
+    }
+
     /**
      * Adds a {@link Supervisor} to the hidden station, hiding the station abstraction.
      * 
@@ -147,6 +182,34 @@ public class DefaultEventStudio implements EventStudio {
         stations.getStation(station).supervisor(supervisor);
     }
 
+    public void addSupervisor(Supervisor supervisor, String station, SupervisorOptions options) {
+        stations.getStation(station).addSupervisor(supervisor, options);
+    }
+
+    /**
+     * Adds a {@link Supervisor} with the given options to the hidden station, hiding the station abstraction.
+     * 
+     * @see EventStudio#addSupervisor(Supervisor, String, SupervisorOptions)
+     * @see DefaultEventStudio#HIDDEN_STATION
+     */
+    public void addSupervisor(Supervisor supervisor, SupervisorOptions options) {
+        addSupervisor(supervisor, HIDDEN_STATION, options);
+    }
+
+    public boolean removeSupervisor(Supervisor supervisor, String station) {
+        return stations.getStation(station).removeSupervisor(supervisor);
+    }
+
+    /**
+     * Removes a {@link Supervisor} from the hidden station, hiding the station abstraction.
+     * 
+     * @see EventStudio#removeSupervisor(Supervisor, String)
+     * @see DefaultEventStudio#HIDDEN_STATION
+     */
+    public boolean removeSupervisor(Supervisor supervisor) {
+        return removeSupervisor(supervisor, HIDDEN_STATION);
+    }
+
     public <T> boolean remove(Listener<T> listener, String station) {
         return stations.getStation(station).remove(listener);
     }
@@ -191,10 +254,63 @@ public class DefaultEventStudio implements EventStudio {
         stations.clear(HIDDEN_STATION);
     }
 
+    /**
+     * Enables automatic reaping of the empty stations. Stations are created as soon as their name is used and, by default, they are removed only when explicitly cleared. Once
+     * reaping is enabled, stations with no {@link Listener}s, no enqueued events and no {@link Supervisor} are removed after being unused for the given idle time. Stations
+     * retrieved before being reaped are still safe to use, calls are forwarded to the station currently registered with the same name.
+     * 
+     * @param idle
+     *            the time a station has to be empty and unused before it's reaped. {@link Duration#ZERO} reaps stations as soon as they become empty, when their last
+     *            {@link Listener} is removed for example.
+     */
+    public void reapEmptyStations(Duration idle) {
+        stations.reapEmptyStations(idle);
+    }
+
+    /**
+     * Creates an immutable copy of this studio, with the stations, listeners and supervisors currently registered. Broadcasting on the frozen studio doesn't take locks, doesn't
+     * pin stations and doesn't check for garbage collected listeners, which makes it a good fit for applications wiring their listeners at startup and only broadcasting
+     * afterwards. The frozen studio:
+     * <ul>
+     * <li>rejects any change to listeners, supervisors and stations with an {@link EventStudioException}</li>
+     * <li>strongly references its listeners, whatever their {@link ReferenceStrength}</li>
+     * <li>has no queue, events no one is listening for are lost</li>
+     * <li>has no hidden station helpers, events can be broadcasted to {@link #HIDDEN_STATION} by name</li>
+     * </ul>
+     * This studio is not affected and keeps working as usual, later changes to it are not reflected on the frozen copy.
+     * 
+     * @return the frozen copy of this studio
+     */
+    public EventStudio freeze() {
+        return new FrozenEventStudio(stations.getStations().stream().map(Station::freeze).toList());
+    }
+
     public void broadcast(Object event, String station) {
         stations.getStation(station).broadcast(event);
     }
 
+    public void broadcast(Object event, String... stations) {
+        requireNotNull(stations);
+        Station[] targets = new Station[stations.length];
+        int count = 0;
+        for (String name : stations) {
+            Station station = this.stations.getStation(name);
+            if (!contains(targets, count, station)) {
+                targets[count++] = station;
+            }
+        }
+        Station.broadcast(event, count == targets.length ? targets : Arrays.copyOf(targets, count));
+    }
+
+    private static boolean contains(Station[] stations, int count, Station station) {
+        for (int i = 0; i < count; i++) {
+            if (stations[i] == station) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Broadcast the event to the hidden station
      * 
@@ -205,9 +321,287 @@ public class DefaultEventStudio implements EventStudio {
         stations.getStation(HIDDEN_STATION).broadcast(event);
     }
 
+    public <T> void broadcast(Class<T> eventClass, Supplier<? extends T> supplier, String station) {
+        broadcast(eventClass, supplier, station, PendingPolicy.DEFER);
+    }
+
+    public <T> void broadcast(Class<T> eventClass, Supplier<? extends T> supplier, String station, PendingPolicy policy) {
+        stations.getStation(station).broadcast(eventClass, supplier, policy);
+    }
+
+    /**
+     * Broadcast the event returned by the supplier to the hidden station
+     * 
+     * @see EventStudio#broadcast(Class, Supplier, String)
+     * @see DefaultEventStudio#HIDDEN_STATION
+     */
+    public <T> void broadcast(Class<T> eventClass, Supplier<? extends T> supplier) {
+        broadcast(eventClass, supplier, HIDDEN_STATION);
+    }
+
+    /**
+     * Broadcast the event to the hidden station once the given delay has elapsed
+     * 
+     * @see EventStudio#broadcastAfter(Object, Duration, String)
+     * @see DefaultEventStudio#HIDDEN_STATION
+     */
+    public ScheduledBroadcast broadcastAfter(Object event, Duration delay) {
+        return broadcastAfter(event, delay, HIDDEN_STATION);
+    }
+
+    /**
+     * Broadcast the event to the hidden station at the given time
+     * 
+     * @see EventStudio#broadcastAt(Object, Instant, String)
+     * @see DefaultEventStudio#HIDDEN_STATION
+     */
+    public ScheduledBroadcast broadcastAt(Object event, Instant time) {
+        return broadcastAt(event, time, HIDDEN_STATION);
+    }
+
+    /**
+     * Broadcast the event to the hidden station every period
+     * 
+     * @see EventStudio#broadcastEvery(Object, Duration, String)
+     * @see DefaultEventStudio#HIDDEN_STATION
+     */
+    public ScheduledBroadcast broadcastEvery(Object event, Duration period) {
+        return broadcastEvery(event, period, HIDDEN_STATION);
+    }
+
+    public <T, R> void addResponder(Class<T> eventClass, Responder<T, R> responder, String station) {
+        stations.getStation(station).addResponder(eventClass, responder);
+    }
+
+    /**
+     * Adds the {@link Responder} to the hidden station
+     * 
+     * @see EventStudio#addResponder(Class, Responder, String)
+     * @see DefaultEventStudio#HIDDEN_STATION
+     */
+    public <T, R> void addResponder(Class<T> eventClass, Responder<T, R> responder) {
+        addResponder(eventClass, responder, HIDDEN_STATION);
+    }
+
+    public <T> boolean removeResponder(Class<T> eventClass, Responder<T, ?> responder, String station) {
+        return stations.getStation(station).removeResponder(eventClass, responder);
+    }
+
+    /**
+     * Removes the {@link Responder} from the hidden station
+     * 
+     * @see EventStudio#removeResponder(Class, Responder, String)
+     * @see DefaultEventStudio#HIDDEN_STATION
+     */
+    public <T> boolean removeResponder(Class<T> eventClass, Responder<T, ?> responder) {
+        return removeResponder(eventClass, responder, HIDDEN_STATION);
+    }
+
+    public <R> CompletableFuture<R> request(Object request, String station, Duration timeout) {
+        requireNotNull(timeout);
+        return Requests.timeout(stations.getStation(station).request(request), timeout);
+    }
+
+    /**
+     * Makes a request to the hidden station
+     * 
+     * @see EventStudio#request(Object, String)
+     * @see DefaultEventStudio#HIDDEN_STATION
+     */
+    public <R> CompletableFuture<R> request(Object request) {
+        return request(request, HIDDEN_STATION);
+    }
+
+    public boolean hasListeners(Class<?> eventClass, String station) {
+        Station current = stations.findStation(station);
+        return current != null && current.hasListeners(eventClass);
+    }
+
+    /**
+     * @return true if the hidden station has {@link Listener}s for the given event class
+     * @see EventStudio#hasListeners(Class, String)
+     * @see DefaultEventStudio#HIDDEN_STATION
+     */
+    public boolean hasListeners(Class<?> eventClass) {
+        return hasListeners(eventClass, HIDDEN_STATION);
+    }
+
+    public List<StationMetrics> metrics() {
+        return stations.getStations().stream().map(Station::metrics).filter(Objects::nonNull).toList();
+    }
+
+    public StationMetrics metrics(String station) {
+        Station current = stations.findStation(station);
+        if (current == null) {
+            return null;
+        }
+        return current.metrics();
+    }
+
     public void broadcastToEveryStation(Object event) {
-        for (Station station : stations.getStations()) {
-            station.broadcast(event);
+        requireNotNull(event);
+        for (Station station : stations.getStations(event.getClass())) {
+            station.broadcast(event, false);
         }
     }
+
+    /**
+     * Broadcasts the given event to every station.
+     * 
+     * @param enqueueUnlistened
+     *            if true the event is broadcasted to every existing station, the ones without {@link Listener}s for the event included, and it's enqueued by the stations where
+     *            no {@link Listener} is notified. If false it behaves like {@link #broadcastToEveryStation(Object)}.
+     * @see EventStudio#broadcastToEveryStation(Object)
+     */
+    public void broadcastToEveryStation(Object event, boolean enqueueUnlistened) {
+        if (enqueueUnlistened) {
+            requireNotNull(event);
+            for (Station station : stations.getStations()) {
+                station.broadcast(event);
+            }
+        } else {
+            broadcastToEveryStation(event);
+        }
+    }
+
+    public void addIntListener(IntListener listener, String station) {
+        addIntListener(listener, station, 0);
+    }
+
+    public void addIntListener(IntListener listener, String station, int priority) {
+        stations.getStation(station).addIntListener(listener, priority);
+    }
+
+    /**
+     * Adds a {@link IntListener} to the hidden station, hiding the station abstraction.
+     * 
+     * @see EventStudio#addIntListener(IntListener, String)
+     * @see DefaultEventStudio#HIDDEN_STATION
+     */
+    public void addIntListener(IntListener listener) {
+        addIntListener(listener, HIDDEN_STATION);
+    }
+
+    public boolean removeIntListener(IntListener listener, String station) {
+        return stations.getStation(station).removeIntListener(listener);
+    }
+
+    /**
+     * Removes the given {@link IntListener} from the hidden station, hiding the station abstraction.
+     * 
+     * @return true if the listener was found and removed
+     * @see EventStudio#removeIntListener(IntListener, String)
+     * @see DefaultEventStudio#HIDDEN_STATION
+     */
+    public boolean removeIntListener(IntListener listener) {
+        return removeIntListener(listener, HIDDEN_STATION);
+    }
+
+    public void broadcastInt(int event, String station) {
+        stations.getStation(station).broadcastInt(event);
+    }
+
+    /**
+     * Broadcast the int event to the hidden station
+     * 
+     * @see EventStudio#broadcastInt(int, String)
+     * @see DefaultEventStudio#HIDDEN_STATION
+     */
+    public void broadcastInt(int event) {
+        broadcastInt(event, HIDDEN_STATION);
+    }
+
+    public void addLongListener(LongListener listener, String station) {
+        addLongListener(listener, station, 0);
+    }
+
+    public void addLongListener(LongListener listener, String station, int priority) {
+        stations.getStation(station).addLongListener(listener, priority);
+    }
+
+    /**
+     * Adds a {@link LongListener} to the hidden station, hiding the station abstraction.
+     * 
+     * @see EventStudio#addLongListener(LongListener, String)
+     * @see DefaultEventStudio#HIDDEN_STATION
+     */
+    public void addLongListener(LongListener listener) {
+        addLongListener(listener, HIDDEN_STATION);
+    }
+
+    public boolean removeLongListener(LongListener listener, String station) {
+        return stations.getStation(station).removeLongListener(listener);
+    }
+
+    /**
+     * Removes the given {@link LongListener} from the hidden station, hiding the station abstraction.
+     * 
+     * @return true if the listener was found and removed
+     * @see EventStudio#removeLongListener(LongListener, String)
+     * @see DefaultEventStudio#HIDDEN_STATION
+     */
+    public boolean removeLongListener(LongListener listener) {
+        return removeLongListener(listener, HIDDEN_STATION);
+    }
+
+    public void broadcastLong(long event, String station) {
+        stations.getStation(station).broadcastLong(event);
+    }
+
+    /**
+     * Broadcast the long event to the hidden station
+     * 
+     * @see EventStudio#broadcastLong(long, String)
+     * @see DefaultEventStudio#HIDDEN_STATION
+     */
+    public void broadcastLong(long event) {
+        broadcastLong(event, HIDDEN_STATION);
+    }
+
+    public void addDoubleListener(DoubleListener listener, String station) {
+        addDoubleListener(listener, station, 0);
+    }
+
+    public void addDoubleListener(DoubleListener listener, String station, int priority) {
+        stations.getStation(station).addDoubleListener(listener, priority);
+    }
+
+    /**
+     * Adds a {@link DoubleListener} to the hidden station, hiding the station abstraction.
+     * 
+     * @see EventStudio#addDoubleListener(DoubleListener, String)
+     * @see DefaultEventStudio#HIDDEN_STATION
+     */
+    public void addDoubleListener(DoubleListener listener) {
+        addDoubleListener(listener, HIDDEN_STATION);
+    }
+
+    public boolean removeDoubleListener(DoubleListener listener, String station) {
+        return stations.getStation(station).removeDoubleListener(listener);
+    }
+
+    /**
+     * Removes the given {@link DoubleListener} from the hidden station, hiding the station abstraction.
+     * 
+     * @return true if the listener was found and removed
+     * @see EventStudio#removeDoubleListener(DoubleListener, String)
+     * @see DefaultEventStudio#HIDDEN_STATION
+     */
+    public boolean removeDoubleListener(DoubleListener listener) {
+        return removeDoubleListener(listener, HIDDEN_STATION);
+    }
+
+    public void broadcastDouble(double event, String station) {
+        stations.getStation(station).broadcastDouble(event);
+    }
+
+    /**
+     * Broadcast the double event to the hidden station
+     * 
+     * @see EventStudio#broadcastDouble(double, String)
+     * @see DefaultEventStudio#HIDDEN_STATION
+     */
+    public void broadcastDouble(double event) {
+        broadcastDouble(event, HIDDEN_STATION);
+    }
 }
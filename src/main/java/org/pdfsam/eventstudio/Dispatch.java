@@ -0,0 +1,228 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.pdfsam.eventstudio.Listeners.ListenerReferenceHolder;
+import org.pdfsam.eventstudio.Listeners.ListenerWrapper;
+import org.pdfsam.eventstudio.exception.BroadcastInterruptionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Notification of an event to the listeners of a station, shared by {@link Station} and {@link FrozenStation} so that listeners are notified, and metrics and flight recorder
+ * events recorded, the same way whether the studio is frozen or not.
+ * 
+ * @author Andrea Vacondio
+ */
+final class Dispatch {
+    private static final Logger LOG = LoggerFactory.getLogger(Dispatch.class);
+
+    private Dispatch() {
+        // hide
+    }
+
+    /**
+     * @return true if the broadcasts of a station with the given metrics recorder have to be observed, notifying listeners through
+     *         {@link #observed(String, Object, ListenerReferenceHolder[], MetricsRecorder)}
+     */
+    static boolean observing(MetricsRecorder metrics) {
+        return metrics != null || (JfrSupport.AVAILABLE && StudioEvents.timing());
+    }
+
+    /**
+     * Counts the broadcast of an event of the given class, and if it's part of a cascade, when metrics are enabled
+     */
+    static void broadcasted(MetricsRecorder metrics, Class<?> eventClass, boolean tracing) {
+        if (metrics != null) {
+            MetricsRecorder.EventClassMetrics eventMetrics = metrics.of(eventClass);
+            eventMetrics.broadcasts.increment();
+            if (tracing && !Trace.current().isRoot()) {
+                eventMetrics.cascaded.increment();
+            }
+        }
+    }
+
+    /**
+     * Notifies the enveloped event to the given listeners in order, until one of them stops the broadcast. Garbage collected listeners are skipped. Logging statements with more
+     * than two arguments are guarded, so that it doesn't allocate.
+     * 
+     * @param station
+     *            the station the listeners belong to, for logging
+     */
+    static void notify(Object station, Envelope enveloped, ListenerReferenceHolder[] listeners) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("{}: Found {} listeners", station, listeners.length);
+        }
+        for (ListenerReferenceHolder holder : listeners) {
+            ListenerWrapper listener = holder.getListenerWrapper();
+            if (listener != null) {
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("{}: Notifying event {} to {}", station, enveloped.getEvent(), listener);
+                }
+                listener.onEvent(enveloped);
+                if (enveloped.isStopped()) {
+                    LOG.debug("{}: Broadcasting was stopped by {}", station, listener);
+                    return;
+                }
+            } else {
+                LOG.trace("{}: Skipping garbage collected listener", station);
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #notify(Object, Envelope, ListenerReferenceHolder[])} recording metrics, if the given recorder is not null, and flight recorder events. Each invocation is
+     * timed.
+     * 
+     * @return true if at least a listener has been notified
+     */
+    static boolean observed(String station, Object event, ListenerReferenceHolder[] listeners, MetricsRecorder metrics) {
+        MetricsRecorder.EventClassMetrics eventMetrics = metrics != null ? metrics.of(event.getClass()) : null;
+        boolean jfr = JfrSupport.AVAILABLE;
+        Object broadcastEvent = jfr ? StudioEvents.beginBroadcast() : null;
+        long start = System.nanoTime();
+        boolean notified;
+        Envelope enveloped = Envelope.acquire(event);
+        try {
+            for (ListenerReferenceHolder holder : listeners) {
+                ListenerWrapper listener = holder.getListenerWrapper();
+                if (listener != null) {
+                    Object listenerEvent = jfr ? StudioEvents.beginListener() : null;
+                    long listenerStart = System.nanoTime();
+                    try {
+                        listener.onEvent(enveloped);
+                    } finally {
+                        if (eventMetrics != null) {
+                            eventMetrics.invoked(System.nanoTime() - listenerStart);
+                        }
+                        if (listenerEvent != null) {
+                            StudioEvents.endListener(listenerEvent, station, event.getClass(), holder);
+                        }
+                    }
+                    if (enveloped.isStopped()) {
+                        LOG.debug("{}: Broadcasting was stopped by {}", station, listener);
+                        break;
+                    }
+                }
+            }
+        } finally {
+            notified = enveloped.isNotified();
+            enveloped.release();
+            if (eventMetrics != null) {
+                eventMetrics.delivered(notified, System.nanoTime() - start);
+            }
+            if (broadcastEvent != null) {
+                StudioEvents.endBroadcast(broadcastEvent, station, event.getClass(), listeners.length, notified);
+            }
+        }
+        return notified;
+    }
+
+    /**
+     * Notifies the event to the listeners of many stations in priority order, same priority listeners in stations order. A listener registered on more than one of the
+     * stations is notified only by the first one, as many times as it has been added to it. Stations with metrics count the event as notified if at least one of their
+     * listeners got it, even when the broadcast is stopped.
+     * 
+     * @param listeners
+     *            the listeners of each station
+     * @param metrics
+     *            the metrics recorder of each station, null for the stations with metrics disabled
+     * @return false if a listener stopped the broadcast
+     */
+    static boolean multicast(Object event, ListenerReferenceHolder[][] listeners, MetricsRecorder[] metrics) {
+        List<Registration> registrations = new ArrayList<>();
+        for (int i = 0; i < listeners.length; i++) {
+            for (ListenerReferenceHolder holder : listeners[i]) {
+                registrations.add(new Registration(holder, i));
+            }
+        }
+        // stable, same priority listeners are notified in stations order
+        registrations.sort(Comparator.comparingInt(r -> r.holder().priority));
+        // station each listener has been notified by
+        Map<ListenerWrapper, Integer> notifiedBy = new HashMap<>();
+        boolean[] reached = new boolean[listeners.length];
+        Envelope enveloped = Envelope.acquire(event);
+        try {
+            for (Registration registration : registrations) {
+                ListenerWrapper listener = registration.holder().getListenerWrapper();
+                if (listener != null) {
+                    reached[registration.station()] = true;
+                    if (notifiedBy.computeIfAbsent(listener, l -> registration.station()) == registration.station()) {
+                        LOG.trace("Notifying event {} to {}", event, listener);
+                        listener.onEvent(enveloped);
+                        if (enveloped.isStopped()) {
+                            LOG.debug("Broadcasting of {} was stopped by {}", event, listener);
+                            return false;
+                        }
+                    }
+                }
+            }
+            return true;
+        } finally {
+            enveloped.release();
+            for (int i = 0; i < listeners.length; i++) {
+                if (metrics[i] != null) {
+                    MetricsRecorder.EventClassMetrics eventMetrics = metrics[i].of(event.getClass());
+                    (reached[i] ? eventMetrics.notified : eventMetrics.unnotified).increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * A listener of one of the stations of a multicast
+     */
+    private record Registration(ListenerReferenceHolder holder, int station) {
+    }
+
+    static void notifyInt(Object[] listeners, int event) {
+        try {
+            for (Object listener : listeners) {
+                ((IntListener) listener).onEvent(event);
+            }
+        } catch (BroadcastInterruptionException e) {
+            LOG.info("Broadcasting was interrupted.", e);
+        }
+    }
+
+    static void notifyLong(Object[] listeners, long event) {
+        try {
+            for (Object listener : listeners) {
+                ((LongListener) listener).onEvent(event);
+            }
+        } catch (BroadcastInterruptionException e) {
+            LOG.info("Broadcasting was interrupted.", e);
+        }
+    }
+
+    static void notifyDouble(Object[] listeners, double event) {
+        try {
+            for (Object listener : listeners) {
+                ((DoubleListener) listener).onEvent(event);
+            }
+        } catch (BroadcastInterruptionException e) {
+            LOG.info("Broadcasting was interrupted.", e);
+        }
+    }
+}
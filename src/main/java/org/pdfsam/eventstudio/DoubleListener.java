@@ -0,0 +1,33 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+/**
+ * Listener for double events. Primitive events are notified to the listeners without boxing and without being enqueued when no one is listening.
+ * 
+ * @author Andrea Vacondio
+ * @see EventStudio#broadcastDouble(double, String)
+ */
+@FunctionalInterface
+public interface DoubleListener {
+
+    /**
+     * Notify the listener of the given event
+     */
+    void onEvent(double event);
+}
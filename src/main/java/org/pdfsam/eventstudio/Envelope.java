@@ -19,19 +19,50 @@ package org.pdfsam.eventstudio;
 
 import static org.pdfsam.eventstudio.util.RequireUtils.requireNotNull;
 
+import java.util.Arrays;
+
 /**
- * Hold an event and the state of its notification
+ * Hold an event and the state of its notification, it's the {@link BroadcastContext} of the event. Envelopes used during a broadcast are taken from a per thread pool with {@link #acquire(Object)} so that broadcasting doesn't
+ * allocate a new envelope every time.
  * 
  * @author Andrea Vacondio
  * 
  */
-class Envelope {
+class Envelope implements BroadcastContext {
+    private static final ThreadLocal<Pool> POOL = ThreadLocal.withInitial(Pool::new);
+
     private boolean notified = false;
-    private final Object event;
+    private boolean stopped = false;
+    private Object event;
+    private final Pool pool;
 
     Envelope(Object event) {
+        this(event, null);
+    }
+
+    private Envelope(Object event, Pool pool) {
         requireNotNull(event);
         this.event = event;
+        this.pool = pool;
+    }
+
+    /**
+     * @return an envelope for the given event taken from the pool of the current thread. It has to be released with {@link #release()} once the broadcast is done, by the
+     *         same thread and in reverse acquisition order.
+     */
+    static Envelope acquire(Object event) {
+        requireNotNull(event);
+        return POOL.get().acquire(event);
+    }
+
+    /**
+     * Releases the envelope back to the pool it was taken from, if any
+     */
+    void release() {
+        this.event = null;
+        if (pool != null) {
+            pool.depth--;
+        }
     }
 
     /**
@@ -54,4 +85,41 @@ class Envelope {
         }
     }
 
+    @Override
+    public void stop() {
+        this.stopped = true;
+    }
+
+    @Override
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * Per thread stack of envelopes, one for each level of nested broadcast
+     * 
+     * @author Andrea Vacondio
+     */
+    private static final class Pool {
+        private Envelope[] envelopes = new Envelope[4];
+        private int depth = 0;
+
+        private Envelope acquire(Object event) {
+            if (depth == envelopes.length) {
+                envelopes = Arrays.copyOf(envelopes, depth * 2);
+            }
+            Envelope envelope = envelopes[depth];
+            if (envelope == null) {
+                envelope = new Envelope(event, this);
+                envelopes[depth] = envelope;
+            } else {
+                envelope.event = event;
+                envelope.notified = false;
+                envelope.stopped = false;
+            }
+            depth++;
+            return envelope;
+        }
+    }
+
 }
@@ -17,6 +17,17 @@
  */
 package org.pdfsam.eventstudio;
 
+import static org.pdfsam.eventstudio.util.RequireUtils.requireNotBlank;
+import static org.pdfsam.eventstudio.util.RequireUtils.requireNotNull;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * An {@link EventStudio} is a thread-safe central place allowing broadcast of events to {@link Listener}s to registered on a Station. Stations are created internally as soon as a
@@ -25,6 +36,11 @@ package org.pdfsam.eventstudio;
  * <p>
  * As a general rule <em>null</em> parameters are not allowed (either station names, listeners, supervisors.. )
  * </p>
+ * <p>
+ * Methods added after 4.0.0 that can be expressed through other methods of the interface have a default implementation: overloads delegate to the complete method,
+ * broadcasts to many stations, supplied and scheduled broadcasts are made through {@link #broadcast(Object, String)} and metrics are disabled. The ones needing the internals
+ * of the implementation are abstract, implementations written against 4.0.0 have to implement them since 5.0.0.
+ * </p>
  * 
  * @author Andrea Vacondio
  * 
@@ -32,6 +48,49 @@ package org.pdfsam.eventstudio;
 public interface EventStudio {
 
     String MAX_QUEUE_SIZE_PROP = "eventstudio.max.queue.size";
+    /**
+     * When true, stations notify small sets of strongly referenced listeners through a {@link java.lang.invoke.MethodHandle} chain rebuilt every time the listeners change
+     */
+    String SPECIALIZED_DISPATCH_PROP = "eventstudio.specialized.dispatch";
+    /**
+     * When true, stations created from then on count broadcasted, notified, enqueued and dropped events and time broadcasts and listeners, by event class. Their listeners
+     * are never notified through a specialized dispatcher.
+     * 
+     * @see #metrics()
+     */
+    String METRICS_PROP = "eventstudio.metrics";
+    /**
+     * When true, stations created from then on are registered as platform MBeans, exposing their listeners, pending events and supervisors and allowing to discard their
+     * pending events, clear or dump them. Stations are unregistered once cleared, reaped or garbage collected.
+     * 
+     * @see StationMXBean
+     */
+    String JMX_PROP = "eventstudio.jmx";
+    /**
+     * When true, stations created from then on trace their broadcasts, so that events broadcasted by listeners can be followed back to the broadcast that caused them.
+     * 
+     * @see Trace
+     */
+    String TRACE_PROP = "eventstudio.trace";
+    /**
+     * When true, stations created from then on don't broadcast right away the events broadcasted by their listeners. They are deferred to a per thread queue and dispatched, in
+     * the order they were broadcasted, once the broadcast in progress completes, so cascades of events don't grow the stack. The broadcast returns once the event is
+     * deferred.
+     */
+    String TRAMPOLINE_PROP = "eventstudio.trampoline";
+    /**
+     * Tick, in milliseconds, of the timing wheel scheduled broadcasts are made by, 10 by default. Broadcasts are made at the end of the tick they are due, so they can be late by
+     * up to one tick. It's read once, when the first broadcast is scheduled.
+     * 
+     * @see #broadcastAfter(Object, Duration, String)
+     */
+    String TIMER_TICK_PROP = "eventstudio.timer.tick";
+    /**
+     * Timeout, in milliseconds, of the requests made without one, 30000 by default. It's read once, when the first request is made.
+     * 
+     * @see #request(Object, String)
+     */
+    String REQUEST_TIMEOUT_PROP = "eventstudio.request.timeout";
 
     /**
      * Adds the given {@link Listener} to the given station using default priority(0) ad default strength {@link ReferenceStrength#STRONG}.
@@ -77,6 +136,60 @@ public interface EventStudio {
      */
     <T> void add(Class<T> eventClass, Listener<T> listener, String station, int priority, ReferenceStrength strength);
 
+    /**
+     * Adds the given {@link Listener}, listening for the given event class, to the given station using the given priority (low values mean higher priority) and strength. The
+     * listener is notified through the executor with the given name, added with {@link #addExecutor(String, Executor)}, instead of the broadcasting thread:
+     * 
+     * <pre>
+     * {@code
+     * studio.addExecutor("fx", Platform::runLater);
+     * studio.add(DocumentLoaded.class, listener, "mystation", 0, ReferenceStrength.STRONG, "fx");
+     * }
+     * </pre>
+     * 
+     * The listener counts as notified once the event is handed over to the executor, it can't stop the broadcast. Events for the listeners of the same executor are delivered in
+     * the order they are broadcasted, each one to its listeners in priority order, and events broadcasted while the executor is busy are delivered together, by a single task.
+     * 
+     * @throws org.pdfsam.eventstudio.exception.EventStudioException
+     *             if no executor with the given name has been added
+     */
+    <T> void add(Class<T> eventClass, Listener<T> listener, String station, int priority, ReferenceStrength strength, String executor);
+
+    /**
+     * Adds an executor {@link Listener}s can be notified through, see {@link #add(Class, Listener, String, int, ReferenceStrength, String)} and
+     * {@link org.pdfsam.eventstudio.annotation.EventListener#executor()}.
+     * 
+     * @throws org.pdfsam.eventstudio.exception.EventStudioException
+     *             if an executor with the given name has already been added
+     */
+    void addExecutor(String name, Executor executor);
+
+    /**
+     * Adds the given {@link Listener}, listening for the given event class, to the given station using default priority(0) ad default strength {@link ReferenceStrength#STRONG}.
+     * The listener is notified only of the events whose key, as returned by the given extractor, equals the given key.
+     * 
+     * @see EventStudio#add(Class, Function, Object, Listener, String, int, ReferenceStrength)
+     */
+    default <T, K> void add(Class<T> eventClass, Function<? super T, ? extends K> keyExtractor, K key, Listener<T> listener, String station) {
+        add(eventClass, keyExtractor, key, listener, station, 0, ReferenceStrength.STRONG);
+    }
+
+    /**
+     * Adds the given {@link Listener}, listening for the given event class, to the given station using the given priority (low values mean higher priority) and strength. The
+     * listener is notified only of the events whose key, as returned by the given extractor, equals the given key:
+     * 
+     * <pre>
+     * {@code
+     * studio.add(DocumentEvent.class, DocumentEvent::documentId, myId, listener, "mystation", 0, ReferenceStrength.STRONG);
+     * }
+     * </pre>
+     * 
+     * Listeners are indexed by key so a broadcast only reaches the ones whose key matches, no matter how many keyed listeners are registered. Listeners registered with the same
+     * key extractor instance share the same index, so the extractor should be reused rather than recreated for every listener.
+     */
+    <T, K> void add(Class<T> eventClass, Function<? super T, ? extends K> keyExtractor, K key, Listener<T> listener, String station, int priority,
+            ReferenceStrength strength);
+
     /**
      * Discovers annotated method on the given bean and adds them as {@link Listener}s
      * 
@@ -94,6 +207,20 @@ public interface EventStudio {
      */
     <T> void supervisor(Supervisor supervisor, String station);
 
+    /**
+     * Adds a {@link Supervisor} to the given station, next to the one set with {@link #supervisor(Supervisor, String)}. Depending on the given {@link SupervisorOptions} it
+     * inspects the events on the broadcasting thread or on its own thread, and it can inspect only a sample of the events or only some event classes.
+     */
+    void addSupervisor(Supervisor supervisor, String station, SupervisorOptions options);
+
+    /**
+     * Removes the first occurrence of the given {@link Supervisor} added with {@link #addSupervisor(Supervisor, String, SupervisorOptions)} from the given station. The thread
+     * of an async {@link Supervisor} is stopped.
+     * 
+     * @return true if the supervisor was successfully removed
+     */
+    boolean removeSupervisor(Supervisor supervisor, String station);
+
     /**
      * Removes the first occurrence of the given {@link Listener} from the given station.
      * 
@@ -120,7 +247,234 @@ public interface EventStudio {
     void broadcast(Object event, String station);
 
     /**
-     * Broadcasts the given event to every station. {@link Listener}s bound to the event class (no matter the station they are listening) will be notified.
+     * Broadcasts the given event to the given stations. {@link Listener}s listening any of the given stations and bound to the event class will be notified in priority order,
+     * as many times as they have been added to the first of the stations they are registered on and never again by the others. Every {@link Supervisor} of the stations
+     * inspects the event and stations with no {@link Listener}s for the event enqueue it.
+     * <p>
+     * The default implementation broadcasts the event with {@link #broadcast(Object, String)} to one station after the other, so a {@link Listener} registered on more than
+     * one of them is notified once per station.
+     * </p>
+     */
+    default void broadcast(Object event, String... stations) {
+        requireNotNull(event);
+        requireNotNull(stations);
+        for (String station : stations) {
+            broadcast(event, station);
+        }
+    }
+
+    /**
+     * Broadcasts the event returned by the given supplier to the given station, calling the supplier only if the event is needed. If no {@link Listener} is listening the
+     * station for the given event class, the supplier is enqueued and called as soon as a {@link Listener} for it is added.
+     * 
+     * @see #broadcast(Class, Supplier, String, PendingPolicy)
+     */
+    default <T> void broadcast(Class<T> eventClass, Supplier<? extends T> supplier, String station) {
+        broadcast(eventClass, supplier, station, PendingPolicy.DEFER);
+    }
+
+    /**
+     * Broadcasts the event returned by the given supplier to the given station. The supplier is called if there are {@link Listener}s listening the station for the given event
+     * class or if the station has a {@link Supervisor}, otherwise the given policy decides what happens to the event. Strict event class matching still applies, so the supplier
+     * is expected to return instances of exactly the given event class.
+     * <p>
+     * The default implementation calls the supplier right away and broadcasts the event with {@link #broadcast(Object, String)}, enqueuing it whatever the policy.
+     * </p>
+     */
+    default <T> void broadcast(Class<T> eventClass, Supplier<? extends T> supplier, String station, PendingPolicy policy) {
+        requireNotNull(eventClass);
+        requireNotNull(supplier);
+        requireNotNull(policy);
+        T event = supplier.get();
+        requireNotNull(event);
+        broadcast(event, station);
+    }
+
+    /**
+     * Broadcasts the given event to the given station once the given delay has elapsed. Scheduled broadcasts are made by a single timer thread, shared by every studio, so
+     * {@link Listener}s doing heavy work should be notified through an executor, see {@link #addExecutor(String, Executor)}. A broadcast scheduled during a traced broadcast is
+     * its child.
+     * 
+     * @return the scheduled broadcast, that can be cancelled
+     * @see #TIMER_TICK_PROP
+     */
+    default ScheduledBroadcast broadcastAfter(Object event, Duration delay, String station) {
+        requireNotNull(event);
+        requireNotNull(delay);
+        requireNotBlank(station);
+        return TimingWheel.shared().schedule(Trace.wrap(() -> broadcast(event, station)), delay.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Broadcasts the given event to the given station at the given time, right away if it's already past. The delay is computed when the broadcast is scheduled, later changes
+     * to the system clock don't affect it.
+     * 
+     * @return the scheduled broadcast, that can be cancelled
+     * @see #broadcastAfter(Object, Duration, String)
+     */
+    default ScheduledBroadcast broadcastAt(Object event, Instant time, String station) {
+        requireNotNull(time);
+        return broadcastAfter(event, Duration.between(Instant.now(), time), station);
+    }
+
+    /**
+     * Broadcasts the given event to the given station every period, the first time once a period has elapsed, until the returned {@link ScheduledBroadcast} is cancelled.
+     * Broadcasts are made at a fixed rate, a late one doesn't delay the next ones.
+     * 
+     * @return the scheduled broadcast, that can be cancelled
+     * @see #broadcastAfter(Object, Duration, String)
+     */
+    default ScheduledBroadcast broadcastEvery(Object event, Duration period, String station) {
+        requireNotNull(event);
+        requireNotNull(period);
+        requireNotBlank(station);
+        return TimingWheel.shared().schedule(Trace.wrap(() -> broadcast(event, station)), period.toNanos(), period.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Adds the {@link Responder} replying to the requests of the given class made to the given station. As for {@link Listener}s, the class of the requests has to match
+     * exactly.
+     * 
+     * @throws org.pdfsam.eventstudio.exception.EventStudioException
+     *             if the station already has a responder for the given class
+     */
+    <T, R> void addResponder(Class<T> eventClass, Responder<T, R> responder, String station);
+
+    /**
+     * Removes the given {@link Responder} of the requests of the given class from the given station
+     * 
+     * @return true if the responder was successfully removed
+     */
+    <T> boolean removeResponder(Class<T> eventClass, Responder<T, ?> responder, String station);
+
+    /**
+     * Makes a request to the given station, it times out after {@link #REQUEST_TIMEOUT_PROP} milliseconds.
+     * 
+     * @see #request(Object, String, Duration)
+     */
+    default <R> CompletableFuture<R> request(Object request, String station) {
+        return request(request, station, Requests.DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Makes a request to the given station, handing it to the station {@link Responder} for the request class. The request is not broadcasted, {@link Listener}s and
+     * {@link Supervisor}s don't get it. No thread waits for the reply, callers can wait for it or chain actions to it:
+     * 
+     * <pre>
+     * {@code
+     * studio.<Integer> request(new PageCountRequest(path), "documents", Duration.ofSeconds(5)).thenAccept(pages -> label.setText(pages + " pages"));
+     * }
+     * </pre>
+     * 
+     * Actions chained to a reply run on the thread completing it: the responder thread or, if the request times out, the timer thread of the scheduled broadcasts.
+     * 
+     * @return the reply to the request, failed with an {@link org.pdfsam.eventstudio.exception.EventStudioException} if the station has no responder for the request class and
+     *         with a {@link java.util.concurrent.TimeoutException} if the responder doesn't complete it within the given timeout
+     */
+    <R> CompletableFuture<R> request(Object request, String station, Duration timeout);
+
+    /**
+     * @return true if there are {@link Listener}s listening the given station for the given event class. The station is not created if it doesn't exist.
+     */
+    boolean hasListeners(Class<?> eventClass, String station);
+
+    /**
+     * Broadcasts the given event to every station. {@link Listener}s bound to the event class (no matter the station they are listening) will be notified. Only the stations
+     * having {@link Listener}s for the event class are involved, their {@link Supervisor}s inspect the event and the event is never enqueued.
      */
     void broadcastToEveryStation(Object event);
+
+    /**
+     * @return a snapshot of the metrics of every station, empty if metrics are disabled
+     * @see #METRICS_PROP
+     */
+    default List<StationMetrics> metrics() {
+        return List.of();
+    }
+
+    /**
+     * @return a snapshot of the metrics of the given station, null if the station doesn't exist or metrics are disabled. The station is not created if it doesn't exist.
+     * @see #METRICS_PROP
+     */
+    default StationMetrics metrics(String station) {
+        return null;
+    }
+
+    /**
+     * Adds the given {@link IntListener} to the given station using default priority(0).
+     */
+    default void addIntListener(IntListener listener, String station) {
+        addIntListener(listener, station, 0);
+    }
+
+    /**
+     * Adds the given {@link IntListener} to the given station using the given priority (low values mean higher priority). {@link IntListener}s are always strongly
+     * referenced.
+     */
+    void addIntListener(IntListener listener, String station, int priority);
+
+    /**
+     * Removes the first occurrence of the given {@link IntListener} from the given station.
+     * 
+     * @return true if the listener was successfully removed
+     */
+    boolean removeIntListener(IntListener listener, String station);
+
+    /**
+     * Broadcasts the given int event to the given station without boxing it. {@link IntListener}s listening the given station will be notified, the event is not inspected
+     * by the {@link Supervisor} and it's not enqueued if no one is listening.
+     */
+    void broadcastInt(int event, String station);
+
+    /**
+     * Adds the given {@link LongListener} to the given station using default priority(0).
+     */
+    default void addLongListener(LongListener listener, String station) {
+        addLongListener(listener, station, 0);
+    }
+
+    /**
+     * Adds the given {@link LongListener} to the given station using the given priority (low values mean higher priority). {@link LongListener}s are always strongly
+     * referenced.
+     */
+    void addLongListener(LongListener listener, String station, int priority);
+
+    /**
+     * Removes the first occurrence of the given {@link LongListener} from the given station.
+     * 
+     * @return true if the listener was successfully removed
+     */
+    boolean removeLongListener(LongListener listener, String station);
+
+    /**
+     * Broadcasts the given long event to the given station without boxing it. {@link LongListener}s listening the given station will be notified, the event is not inspected
+     * by the {@link Supervisor} and it's not enqueued if no one is listening.
+     */
+    void broadcastLong(long event, String station);
+
+    /**
+     * Adds the given {@link DoubleListener} to the given station using default priority(0).
+     */
+    default void addDoubleListener(DoubleListener listener, String station) {
+        addDoubleListener(listener, station, 0);
+    }
+
+    /**
+     * Adds the given {@link DoubleListener} to the given station using the given priority (low values mean higher priority). {@link DoubleListener}s are always strongly
+     * referenced.
+     */
+    void addDoubleListener(DoubleListener listener, String station, int priority);
+
+    /**
+     * Removes the first occurrence of the given {@link DoubleListener} from the given station.
+     * 
+     * @return true if the listener was successfully removed
+     */
+    boolean removeDoubleListener(DoubleListener listener, String station);
+
+    /**
+     * Broadcasts the given double event to the given station without boxing it. {@link DoubleListener}s listening the given station will be notified, the event is not inspected
+     * by the {@link Supervisor} and it's not enqueued if no one is listening.
+     */
+    void broadcastDouble(double event, String station);
 }
@@ -0,0 +1,283 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.pdfsam.eventstudio.util.RequireUtils.requireNotBlank;
+import static org.pdfsam.eventstudio.util.RequireUtils.requireNotNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.pdfsam.eventstudio.exception.EventStudioException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An immutable {@link EventStudio} created by {@link DefaultEventStudio#freeze()}. Stations, listeners and supervisors are fixed, any attempt to change them fails with an
+ * {@link EventStudioException}. Events broadcasted to stations that didn't exist when the studio was frozen, or that no one is listening for, are lost.
+ * 
+ * @author Andrea Vacondio
+ */
+final class FrozenEventStudio implements EventStudio {
+    private static final Logger LOG = LoggerFactory.getLogger(FrozenEventStudio.class);
+    private static final FrozenStation[] NO_STATIONS = new FrozenStation[0];
+
+    private final Map<String, FrozenStation> stations;
+    private final Map<Class<?>, FrozenStation[]> listening;
+
+    FrozenEventStudio(Collection<FrozenStation> frozen) {
+        requireNotNull(frozen);
+        Map<String, FrozenStation> stations = new HashMap<>();
+        Map<Class<?>, List<FrozenStation>> listening = new HashMap<>();
+        for (FrozenStation station : frozen) {
+            stations.put(station.getName(), station);
+            for (Class<?> eventClass : station.eventClasses()) {
+                listening.computeIfAbsent(eventClass, k -> new ArrayList<>()).add(station);
+            }
+        }
+        this.stations = Map.copyOf(stations);
+        Map<Class<?>, FrozenStation[]> listeningArrays = new HashMap<>();
+        listening.forEach((eventClass, current) -> listeningArrays.put(eventClass, current.toArray(NO_STATIONS)));
+        this.listening = Map.copyOf(listeningArrays);
+    }
+
+    private static EventStudioException frozen() {
+        return new EventStudioException("The studio is frozen and cannot be modified");
+    }
+
+    private FrozenStation station(String station) {
+        requireNotBlank(station);
+        FrozenStation frozen = stations.get(station);
+        if (frozen == null) {
+            LOG.debug("Station {} didn't exist when the studio was frozen", station);
+        }
+        return frozen;
+    }
+
+    public <T> void add(Listener<T> listener, String station) {
+        throw frozen();
+    }
+
+    public <T> void add(Listener<T> listener, String station, int priority, ReferenceStrength strength) {
+        throw frozen();
+    }
+
+    public <T> void add(Class<T> eventClass, Listener<T> listener, String station) {
+        throw frozen();
+    }
+
+    public <T> void add(Class<T> eventClass, Listener<T> listener, String station, int priority, ReferenceStrength strength, String executor) {
+        throw frozen();
+    }
+
+    public void addExecutor(String name, Executor executor) {
+        throw frozen();
+    }
+
+    public <T> void add(Class<T> eventClass, Listener<T> listener, String station, int priority, ReferenceStrength strength) {
+        throw frozen();
+    }
+
+    public <T, K> void add(Class<T> eventClass, Function<? super T, ? extends K> keyExtractor, K key, Listener<T> listener, String station) {
+        throw frozen();
+    }
+
+    public <T, K> void add(Class<T> eventClass, Function<? super T, ? extends K> keyExtractor, K key, Listener<T> listener, String station, int priority,
+            ReferenceStrength strength) {
+        throw frozen();
+    }
+
+    public void addAnnotatedListeners(Object bean) {
+        throw frozen();
+    }
+
+    public <T> void supervisor(Supervisor supervisor, String station) {
+        throw frozen();
+    }
+
+    public void addSupervisor(Supervisor supervisor, String station, SupervisorOptions options) {
+        throw frozen();
+    }
+
+    public boolean removeSupervisor(Supervisor supervisor, String station) {
+        throw frozen();
+    }
+
+    public <T> boolean remove(Listener<T> listener, String station) {
+        throw frozen();
+    }
+
+    public <T> boolean remove(Class<T> eventClass, Listener<T> listener, String station) {
+        throw frozen();
+    }
+
+    public void clear(String station) {
+        throw frozen();
+    }
+
+    public void broadcast(Object event, String station) {
+        requireNotNull(event);
+        FrozenStation frozen = station(station);
+        if (frozen != null) {
+            frozen.broadcast(event);
+        }
+    }
+
+    public void broadcast(Object event, String... stations) {
+        requireNotNull(event);
+        requireNotNull(stations);
+        Set<FrozenStation> targets = new LinkedHashSet<>();
+        for (String name : stations) {
+            FrozenStation frozen = station(name);
+            if (frozen != null) {
+                targets.add(frozen);
+            }
+        }
+        FrozenStation.broadcast(event, targets.toArray(NO_STATIONS));
+    }
+
+    /**
+     * Broadcasts the event returned by the supplier to the given station. There's no queue in a frozen studio so, whatever the {@link PendingPolicy}, the supplier is called only
+     * if there are {@link Listener}s or {@link Supervisor}s for the event.
+     */
+    public <T> void broadcast(Class<T> eventClass, Supplier<? extends T> supplier, String station) {
+        FrozenStation frozen = station(station);
+        if (frozen != null) {
+            frozen.broadcast(eventClass, supplier);
+        }
+    }
+
+    public <T> void broadcast(Class<T> eventClass, Supplier<? extends T> supplier, String station, PendingPolicy policy) {
+        requireNotNull(policy);
+        broadcast(eventClass, supplier, station);
+    }
+
+    public <T, R> void addResponder(Class<T> eventClass, Responder<T, R> responder, String station) {
+        throw frozen();
+    }
+
+    public <T> boolean removeResponder(Class<T> eventClass, Responder<T, ?> responder, String station) {
+        throw frozen();
+    }
+
+    /**
+     * Makes a request to the given station, failed with an {@link EventStudioException} if the station didn't exist or had no responder for the request class when the
+     * studio was frozen.
+     */
+    public <R> CompletableFuture<R> request(Object request, String station, Duration timeout) {
+        requireNotNull(request);
+        requireNotNull(timeout);
+        FrozenStation frozen = station(station);
+        if (frozen == null) {
+            return Requests.respond(null, request, station);
+        }
+        return Requests.timeout(frozen.request(request), timeout);
+    }
+
+    public boolean hasListeners(Class<?> eventClass, String station) {
+        FrozenStation frozen = station(station);
+        return frozen != null && frozen.hasListeners(eventClass);
+    }
+
+    public List<StationMetrics> metrics() {
+        return stations.values().stream().map(FrozenStation::metrics).filter(Objects::nonNull).toList();
+    }
+
+    public StationMetrics metrics(String station) {
+        FrozenStation frozen = station(station);
+        if (frozen == null) {
+            return null;
+        }
+        return frozen.metrics();
+    }
+
+    public void broadcastToEveryStation(Object event) {
+        requireNotNull(event);
+        for (FrozenStation station : listening.getOrDefault(event.getClass(), NO_STATIONS)) {
+            station.broadcast(event);
+        }
+    }
+
+    public void addIntListener(IntListener listener, String station) {
+        throw frozen();
+    }
+
+    public void addIntListener(IntListener listener, String station, int priority) {
+        throw frozen();
+    }
+
+    public boolean removeIntListener(IntListener listener, String station) {
+        throw frozen();
+    }
+
+    public void broadcastInt(int event, String station) {
+        FrozenStation frozen = station(station);
+        if (frozen != null) {
+            frozen.broadcastInt(event);
+        }
+    }
+
+    public void addLongListener(LongListener listener, String station) {
+        throw frozen();
+    }
+
+    public void addLongListener(LongListener listener, String station, int priority) {
+        throw frozen();
+    }
+
+    public boolean removeLongListener(LongListener listener, String station) {
+        throw frozen();
+    }
+
+    public void broadcastLong(long event, String station) {
+        FrozenStation frozen = station(station);
+        if (frozen != null) {
+            frozen.broadcastLong(event);
+        }
+    }
+
+    public void addDoubleListener(DoubleListener listener, String station) {
+        throw frozen();
+    }
+
+    public void addDoubleListener(DoubleListener listener, String station, int priority) {
+        throw frozen();
+    }
+
+    public boolean removeDoubleListener(DoubleListener listener, String station) {
+        throw frozen();
+    }
+
+    public void broadcastDouble(double event, String station) {
+        FrozenStation frozen = station(station);
+        if (frozen != null) {
+            frozen.broadcastDouble(event);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.pdfsam.eventstudio.util.RequireUtils.requireNotNull;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.pdfsam.eventstudio.Listeners.ListenerReferenceHolder;
+import org.pdfsam.eventstudio.exception.BroadcastInterruptionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An immutable copy of a {@link Station}. It has no queue, events no one is listening for are lost, and no locks or pinning on the broadcast path. Listeners are notified
+ * through {@link Dispatch}, like the ones of a station, so metrics and flight recorder events are the same.
+ * 
+ * @author Andrea Vacondio
+ */
+final class FrozenStation {
+    private static final Logger LOG = LoggerFactory.getLogger(FrozenStation.class);
+
+    private final String name;
+    private final Supervisor supervisor;
+    private final SupervisorTap[] taps;
+    private final Listeners.Frozen listeners;
+    private final Object[] intListeners;
+    private final Object[] longListeners;
+    private final Object[] doubleListeners;
+    private final Map<Class<?>, Responder<?, ?>> responders;
+    /**
+     * shared with the station this is a copy of, null if metrics are disabled
+     */
+    private final MetricsRecorder metrics;
+    private final boolean tracing;
+    private final boolean trampolined;
+
+    FrozenStation(String name, Supervisor supervisor, SupervisorTap[] taps, Listeners.Frozen listeners, Object[] intListeners, Object[] longListeners,
+            Object[] doubleListeners, Map<Class<?>, Responder<?, ?>> responders, MetricsRecorder metrics, boolean tracing, boolean trampolined) {
+        this.name = name;
+        this.supervisor = supervisor;
+        this.taps = taps;
+        this.listeners = listeners;
+        this.intListeners = intListeners;
+        this.longListeners = longListeners;
+        this.doubleListeners = doubleListeners;
+        this.responders = responders;
+        this.metrics = metrics;
+        this.tracing = tracing;
+        this.trampolined = trampolined;
+    }
+
+    void broadcast(Object event) {
+        requireNotNull(event);
+        if (trampolined) {
+            Trampoline.bounce(() -> transmit(event));
+        } else {
+            transmit(event);
+        }
+    }
+
+    private void transmit(Object event) {
+        Trace previous = tracing ? Trace.begin() : null;
+        try {
+            Dispatch.broadcasted(metrics, event.getClass(), tracing);
+            inspect(event);
+            if (Dispatch.observing(metrics)) {
+                Dispatch.observed(name, event, listeners.listeners(event), metrics);
+            } else {
+                Envelope enveloped = Envelope.acquire(event);
+                try {
+                    Dispatch.notify(this, enveloped, listeners.listeners(event));
+                } finally {
+                    enveloped.release();
+                }
+            }
+        } catch (BroadcastInterruptionException e) {
+            LOG.info("Broadcasting was interrupted.", e);
+        } finally {
+            if (tracing) {
+                Trace.restore(previous);
+            }
+        }
+    }
+
+    /**
+     * Broadcasts the event returned by the supplier, calling it only if there are {@link Listener}s or {@link Supervisor}s for it
+     */
+    <T> void broadcast(Class<T> eventClass, Supplier<? extends T> supplier) {
+        requireNotNull(eventClass);
+        requireNotNull(supplier);
+        if (listeners.hasListeners(eventClass) || supervisor != Supervisor.SLACKER || taps.length > 0) {
+            Object event = supplier.get();
+            requireNotNull(event);
+            broadcast(event);
+        }
+    }
+
+    /**
+     * @see Station#broadcast(Object, Station[])
+     */
+    static void broadcast(Object event, FrozenStation[] stations) {
+        requireNotNull(event);
+        boolean trampolined = false;
+        for (FrozenStation station : stations) {
+            trampolined |= station.trampolined;
+        }
+        if (trampolined) {
+            Trampoline.bounce(() -> transmit(event, stations));
+        } else {
+            transmit(event, stations);
+        }
+    }
+
+    private static void transmit(Object event, FrozenStation[] stations) {
+        boolean tracing = false;
+        for (FrozenStation station : stations) {
+            tracing |= station.tracing;
+        }
+        Trace previous = tracing ? Trace.begin() : null;
+        try {
+            ListenerReferenceHolder[][] listeners = new ListenerReferenceHolder[stations.length][];
+            MetricsRecorder[] metrics = new MetricsRecorder[stations.length];
+            for (int i = 0; i < stations.length; i++) {
+                Dispatch.broadcasted(stations[i].metrics, event.getClass(), stations[i].tracing);
+                stations[i].inspect(event);
+                metrics[i] = stations[i].metrics;
+            }
+            for (int i = 0; i < stations.length; i++) {
+                listeners[i] = stations[i].listeners.listeners(event);
+            }
+            Dispatch.multicast(event, listeners, metrics);
+        } catch (BroadcastInterruptionException e) {
+            LOG.info("Broadcasting was interrupted.", e);
+        } finally {
+            if (tracing) {
+                Trace.restore(previous);
+            }
+        }
+    }
+
+    private void inspect(Object event) {
+        supervisor.inspect(event);
+        for (SupervisorTap tap : taps) {
+            tap.inspect(event);
+        }
+    }
+
+    void broadcastInt(int event) {
+        Dispatch.notifyInt(intListeners, event);
+    }
+
+    void broadcastLong(long event) {
+        Dispatch.notifyLong(longListeners, event);
+    }
+
+    void broadcastDouble(double event) {
+        Dispatch.notifyDouble(doubleListeners, event);
+    }
+
+    /**
+     * @see Station#request(Object)
+     */
+    <R> CompletableFuture<R> request(Object request) {
+        requireNotNull(request);
+        return Requests.respond(responders.get(request.getClass()), request, name);
+    }
+
+    boolean hasListeners(Class<?> eventClass) {
+        requireNotNull(eventClass);
+        return listeners.hasListeners(eventClass);
+    }
+
+    /**
+     * @return the event classes this station has {@link Listener}s for
+     */
+    Set<Class<?>> eventClasses() {
+        return listeners.eventClasses();
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * @return a snapshot of the metrics of the station or null if metrics are disabled
+     */
+    StationMetrics metrics() {
+        if (metrics == null) {
+            return null;
+        }
+        return metrics.snapshot(name, eventClass -> 0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FrozenStation[%s]", name);
+    }
+}
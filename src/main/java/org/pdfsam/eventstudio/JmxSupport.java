@@ -0,0 +1,43 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import java.util.Optional;
+
+/**
+ * Tells if stations can be registered as platform MBeans. The java.management module is an optional dependency, {@link ManagedStation} must not be touched unless it's
+ * available.
+ * 
+ * @author Andrea Vacondio
+ */
+final class JmxSupport {
+
+    /**
+     * true if the java.management module is available and readable
+     */
+    static final boolean AVAILABLE = isAvailable();
+
+    private JmxSupport() {
+        // hide
+    }
+
+    private static boolean isAvailable() {
+        Optional<Module> management = ModuleLayer.boot().findModule("java.management");
+        return management.isPresent() && JmxSupport.class.getModule().canRead(management.get());
+    }
+}
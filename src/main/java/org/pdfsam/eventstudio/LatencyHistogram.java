@@ -0,0 +1,75 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe histogram of durations with power of two buckets, bucket {@code i} counts the durations in the [2<sup>i-1</sup>, 2<sup>i</sup>) nanoseconds range. Recording
+ * doesn't lock and, once the adders have settled, doesn't allocate.
+ * 
+ * @author Andrea Vacondio
+ */
+final class LatencyHistogram {
+    static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    void record(long nanos) {
+        long duration = Math.max(0, nanos);
+        buckets[BUCKETS - Long.numberOfLeadingZeros(duration)].increment();
+        total.add(duration);
+        max.accumulate(duration);
+    }
+
+    /**
+     * @return a snapshot of the histogram. Percentiles are the upper bound of the bucket they fall into, capped to the max recorded duration.
+     */
+    StationMetrics.Latency snapshot() {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+        long currentMax = max.get();
+        return new StationMetrics.Latency(count, total.sum(), currentMax, percentile(counts, count, currentMax, 0.5),
+                percentile(counts, count, currentMax, 0.99), percentile(counts, count, currentMax, 0.999));
+    }
+
+    private static long percentile(long[] counts, long count, long max, double percentile) {
+        long rank = (long) Math.ceil(percentile * count);
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank && cumulative > 0) {
+                return Math.min(i == 0 ? 0 : (1L << i) - 1, max);
+            }
+        }
+        return max;
+    }
+}
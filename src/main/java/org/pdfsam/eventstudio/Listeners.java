@@ -17,125 +17,524 @@
  */
 package org.pdfsam.eventstudio;
 
+import static org.pdfsam.eventstudio.EventStudio.SPECIALIZED_DISPATCH_PROP;
 import static org.pdfsam.eventstudio.util.RequireUtils.requireNotNull;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.Reference;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.pdfsam.eventstudio.Annotations.ReflectiveListenerDescriptor;
+import org.pdfsam.eventstudio.annotation.EventListener;
 import org.pdfsam.eventstudio.exception.BroadcastInterruptionException;
 import org.pdfsam.eventstudio.exception.EventStudioException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * A thread-safe holder for the listeners
+ * A thread-safe holder for the listeners. Listeners of an event class are kept in an array sorted by priority, listeners with the same priority in registration order, so that
+ * listeners can be retrieved without locking or copying. Added and removed listeners are collected and merged into a new array when the listeners are next retrieved, so
+ * registering or removing n listeners in a row costs a single O(n log n) rebuild instead of a copy of the array on every change. Listeners registered with a key extractor and
+ * a key are indexed by key, so that only the ones whose key matches the key of the event are retrieved.
+ * <p>
+ * Every registration is a single {@link ListenerReferenceHolder} holding the priority, the listener (or the bean of the annotated method) and its strength, plus its slot in the
+ * array. With compressed oops a strongly referenced listener costs 28 bytes, a keyed or annotated one 36 bytes. Soft and weak listeners also cost their {@link Reference}, 40
+ * more bytes, that is also their registration with the {@link ReferenceCleaner}.
+ * </p>
  *
  * @author Andrea Vacondio
  */
 class Listeners {
 
     private static final Logger LOG = LoggerFactory.getLogger(Listeners.class);
+    static final ListenerReferenceHolder[] NO_LISTENERS = new ListenerReferenceHolder[0];
+    private static final KeyIndex[] NO_INDEXES = new KeyIndex[0];
+    private static final Consumer<Class<?>> NO_OP = eventClass -> {
+        // nothing
+    };
+    private static final Comparator<ListenerReferenceHolder> BY_PRIORITY = Comparator.comparingInt(h -> h.priority);
+    /**
+     * Max number of listeners notified through a specialized dispatcher
+     */
+    static final int MAX_SPECIALIZED_LISTENERS = 8;
+    private static final MethodHandle GET_EVENT;
+    private static final MethodHandle IS_STOPPED;
+    private static final MethodHandle NOOP = MethodHandles.empty(MethodType.methodType(void.class, Envelope.class));
+    private static final MethodHandle ON_EVENT;
+    private static final MethodHandle ON_CONTEXTUAL_EVENT;
+    private static final MethodHandle INVOCATION_FAILED;
+    private static final MethodHandle POST;
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            GET_EVENT = lookup.findVirtual(Envelope.class, "getEvent", MethodType.methodType(Object.class));
+            IS_STOPPED = lookup.findVirtual(Envelope.class, "isStopped", MethodType.methodType(boolean.class));
+            ON_EVENT = lookup.findVirtual(Listener.class, "onEvent", MethodType.methodType(void.class, Object.class));
+            ON_CONTEXTUAL_EVENT = lookup.findVirtual(ContextualListener.class, "onEvent",
+                    MethodType.methodType(void.class, Object.class, BroadcastContext.class));
+            INVOCATION_FAILED = lookup.findStatic(Listeners.class, "invocationFailed",
+                    MethodType.methodType(void.class, Throwable.class, Envelope.class));
+            POST = lookup.findVirtual(ListenerWrapper.class, "onEvent", MethodType.methodType(void.class, Envelope.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
 
     private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
-    private final Map<Class<?>, TreeSet<ListenerReferenceHolder>> listeners = new HashMap<>();
+    private final ConcurrentMap<Class<?>, ListenerReferenceHolder[]> snapshots = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, KeyIndex[]> keyIndexes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, MethodHandle> dispatchers = new ConcurrentHashMap<>();
+    /**
+     * changes not merged into the snapshots yet, by event class, null if there are none. Accessed holding the lock.
+     */
+    private volatile Map<Class<?>, Changes> pending;
+    private final boolean specialized;
+    private final Consumer<Class<?>> onCollected;
+
+    Listeners() {
+        this(NO_OP);
+    }
+
+    /**
+     * @param onCollected
+     *            notified with the event class of garbage collected listeners once they are removed
+     */
+    Listeners(Consumer<Class<?>> onCollected) {
+        this(Boolean.getBoolean(SPECIALIZED_DISPATCH_PROP), onCollected);
+    }
+
+    /**
+     * @param specialized
+     *            if true, a specialized dispatcher is built for every event class having a small set of strongly referenced listeners
+     * @see #dispatch(Envelope)
+     */
+    Listeners(boolean specialized) {
+        this(specialized, NO_OP);
+    }
+
+    private Listeners(boolean specialized, Consumer<Class<?>> onCollected) {
+        requireNotNull(onCollected);
+        this.specialized = specialized;
+        this.onCollected = onCollected;
+    }
 
     <T> void add(Class<T> eventClass, Listener<T> listener, int priority, ReferenceStrength strength) {
+        add(eventClass, listener, priority, strength, null);
+    }
+
+    /**
+     * @param courier
+     *            delivering the events to the listener through its executor, null to notify the listener on the broadcasting thread
+     */
+    <T> void add(Class<T> eventClass, Listener<T> listener, int priority, ReferenceStrength strength, Courier courier) {
         lock.writeLock().lock();
         try {
-            TreeSet<ListenerReferenceHolder> set = nullSafeGetListenerHolders(eventClass);
-            set.add(new ListenerReferenceHolder(priority, strength.getReference(new DefaultListenerWrapper(listener))));
+            ListenerReferenceHolder holder = courier == null ? new DefaultListenerHolder(priority, strength, listener, this, eventClass)
+                    : new DeliveredListenerHolder(priority, strength, listener, this, eventClass, courier);
+            changes(eventClass).added.add(holder);
         } finally {
             lock.writeLock().unlock();
         }
     }
 
+    /**
+     * The removed holder must not be removed again once its listener is garbage collected
+     */
+    private static void notCollectable(ListenerReferenceHolder holder) {
+        if (holder.strength != ReferenceStrength.STRONG) {
+            ((Reference<?>) holder.target).clear();
+        }
+    }
+
+    /**
+     * Adds a listener notified only of the events whose key, as returned by the given extractor, equals the given key. Listeners registered with the same extractor instance
+     * share the same index.
+     */
+    @SuppressWarnings("unchecked")
+    <T, K> void add(Class<T> eventClass, Function<? super T, ? extends K> keyExtractor, K key, Listener<T> listener, int priority,
+            ReferenceStrength strength) {
+        requireNotNull(keyExtractor);
+        requireNotNull(key);
+        lock.writeLock().lock();
+        try {
+            KeyIndex index = nullSafeGetKeyIndex(eventClass, (Function<Object, Object>) keyExtractor);
+            index.add(new KeyedListenerHolder(priority, strength, listener, this, eventClass, index, key));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private KeyIndex nullSafeGetKeyIndex(Class<?> eventClass, Function<Object, Object> keyExtractor) {
+        KeyIndex[] indexes = keyIndexes.getOrDefault(eventClass, NO_INDEXES);
+        for (KeyIndex index : indexes) {
+            if (index.extractor == keyExtractor) {
+                return index;
+            }
+        }
+        KeyIndex index = new KeyIndex(keyExtractor);
+        KeyIndex[] newIndexes = Arrays.copyOf(indexes, indexes.length + 1);
+        newIndexes[indexes.length] = index;
+        keyIndexes.put(eventClass, newIndexes);
+        return index;
+    }
+
     public Set<Class<?>> addAll(Object bean, List<ReflectiveListenerDescriptor> descriptors) {
-        Set<Class<?>> updatedEventClasses = new HashSet<>();
+        return addAll(bean, descriptors, executor -> {
+            throw new EventStudioException("Unknown executor " + executor);
+        });
+    }
+
+    /**
+     * @param couriers
+     *            resolves the couriers of the listeners declaring an executor
+     */
+    Set<Class<?>> addAll(Object bean, List<ReflectiveListenerDescriptor> descriptors, Function<String, Courier> couriers) {
+        Map<Class<?>, List<ListenerReferenceHolder>> added = new HashMap<>();
         lock.writeLock().lock();
         try {
             for (ReflectiveListenerDescriptor current : descriptors) {
                 Class<?> eventClass = current.method().getParameterTypes()[0];
-                TreeSet<ListenerReferenceHolder> set = nullSafeGetListenerHolders(eventClass);
-                set.add(new ListenerReferenceHolder(current.listenerAnnotation().priority(),
-                                                    current.listenerAnnotation().strength()
-                                                           .getReference(new ReflectiveListenerWrapper(bean, current.method()))));
-                updatedEventClasses.add(eventClass);
+                EventListener annotation = current.listenerAnnotation();
+                ListenerReferenceHolder holder;
+                if (annotation.executor().isEmpty()) {
+                    holder = new ReflectiveListenerHolder(annotation.priority(), annotation.strength(), bean, this, eventClass, current.method());
+                } else {
+                    holder = new DeliveredReflectiveListenerHolder(annotation.priority(), annotation.strength(), bean, this, eventClass, current.method(),
+                            couriers.apply(annotation.executor()));
+                }
+                added.computeIfAbsent(eventClass, k -> new ArrayList<>()).add(holder);
             }
+            added.forEach((eventClass, holders) -> changes(eventClass).added.addAll(holders));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return new HashSet<>(added.keySet());
+    }
+
+    /**
+     * @return a new array with the given listener inserted after the ones with the same or lower priority
+     */
+    private static ListenerReferenceHolder[] insert(ListenerReferenceHolder[] listeners, ListenerReferenceHolder listener) {
+        int low = 0;
+        int high = listeners.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (listeners[mid].priority <= listener.priority) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        ListenerReferenceHolder[] inserted = new ListenerReferenceHolder[listeners.length + 1];
+        System.arraycopy(listeners, 0, inserted, 0, low);
+        inserted[low] = listener;
+        System.arraycopy(listeners, low, inserted, low + 1, listeners.length - low);
+        return inserted;
+    }
 
+    /**
+     * @return the changes to the listeners of the given class not merged yet. Must be called holding the write lock.
+     */
+    private Changes changes(Class<?> eventClass) {
+        Map<Class<?>, Changes> current = pending;
+        if (current == null) {
+            current = new HashMap<>();
+            pending = current;
+        }
+        return current.computeIfAbsent(eventClass, k -> new Changes());
+    }
+
+    /**
+     * @return the changes to the listeners of the given class not merged yet, or null. Must be called holding the lock.
+     */
+    private Changes pendingChanges(Class<?> eventClass) {
+        Map<Class<?>, Changes> current = pending;
+        if (current == null) {
+            return null;
+        }
+        return current.get(eventClass);
+    }
+
+    /**
+     * Merges the pending changes into the snapshots, if there are any
+     */
+    private void flush() {
+        if (pending == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Map<Class<?>, Changes> changed = pending;
+            if (changed != null) {
+                changed.forEach((eventClass, changes) -> snapshot(eventClass, changes.applyTo(snapshots.getOrDefault(eventClass, NO_LISTENERS))));
+                // cleared once the snapshots are updated, so readers not seeing changes see the updated snapshots
+                pending = null;
+            }
         } finally {
             lock.writeLock().unlock();
         }
-        return updatedEventClasses;
     }
 
-    private TreeSet<ListenerReferenceHolder> nullSafeGetListenerHolders(Class<?> eventClass) {
-        return listeners.computeIfAbsent(eventClass, k -> new TreeSet<>());
+    /**
+     * @return a new array without the listener at the given index
+     */
+    private static ListenerReferenceHolder[] without(ListenerReferenceHolder[] listeners, int index) {
+        ListenerReferenceHolder[] kept = new ListenerReferenceHolder[listeners.length - 1];
+        System.arraycopy(listeners, 0, kept, 0, index);
+        System.arraycopy(listeners, index + 1, kept, index, listeners.length - index - 1);
+        return kept;
+    }
+
+    /**
+     * Replaces the listeners for the given class, removing the entry if there are none left. Must be called holding the write lock.
+     */
+    private void snapshot(Class<?> eventClass, ListenerReferenceHolder[] snapshot) {
+        if (snapshot.length == 0) {
+            snapshots.remove(eventClass);
+            dispatchers.remove(eventClass);
+            LOG.trace("Removed empty listeners for {}", eventClass);
+            return;
+        }
+        snapshots.put(eventClass, snapshot);
+        if (specialized) {
+            MethodHandle dispatcher = dispatcher(snapshot);
+            if (dispatcher != null) {
+                dispatchers.put(eventClass, dispatcher);
+            } else {
+                dispatchers.remove(eventClass);
+            }
+        }
+    }
+
+    /**
+     * @return a dispatcher notifying the given listeners in order through a chain of method handles, each one bound to its listener, or null if the listeners are too many or
+     *         not all strongly referenced
+     */
+    private static MethodHandle dispatcher(ListenerReferenceHolder[] listeners) {
+        if (listeners.length == 0 || listeners.length > MAX_SPECIALIZED_LISTENERS) {
+            return null;
+        }
+        for (ListenerReferenceHolder listener : listeners) {
+            if (listener.strength != ReferenceStrength.STRONG) {
+                return null;
+            }
+        }
+        MethodHandle chain = listeners[listeners.length - 1].dispatcher();
+        for (int i = listeners.length - 2; i >= 0; i--) {
+            // notify the listener, then the rest of the chain unless the broadcast was stopped
+            chain = MethodHandles.foldArguments(MethodHandles.guardWithTest(IS_STOPPED, NOOP, chain), listeners[i].dispatcher());
+        }
+        return chain;
+    }
+
+    /**
+     * Notifies the event through the specialized dispatcher of its class, if any
+     * 
+     * @return true if the event has been notified, false if there's no specialized dispatcher for its class and the listeners have to be notified one by one
+     */
+    boolean dispatch(Envelope event) {
+        if (!specialized) {
+            return false;
+        }
+        flush();
+        Class<?> eventClass = event.getEvent().getClass();
+        MethodHandle dispatcher = dispatchers.get(eventClass);
+        if (dispatcher == null || keyIndexes.containsKey(eventClass)) {
+            return false;
+        }
+        try {
+            dispatcher.invokeExact(event);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new EventStudioException("Dispatch exception", e);
+        }
+        event.notified();
+        return true;
+    }
+
+    /**
+     * Same exception handling as a reflective invocation
+     */
+    @SuppressWarnings("unused")
+    private static void invocationFailed(Throwable e, Envelope event) {
+        if (e instanceof BroadcastInterruptionException interruption) {
+            throw interruption;
+        }
+        throw new EventStudioException("Reflective method invocation exception", e);
+    }
+
+    /**
+     * @return a handle notifying the event of an {@link Envelope} to a listener taking the event and the {@link BroadcastContext}
+     */
+    private static MethodHandle contextual(MethodHandle listener) {
+        MethodHandle withEvent = MethodHandles.filterArguments(listener, 0, GET_EVENT);
+        return MethodHandles.permuteArguments(withEvent.asType(MethodType.methodType(void.class, Envelope.class, Envelope.class)),
+                MethodType.methodType(void.class, Envelope.class), 0, 0);
     }
 
     /**
-     * Removes the listener listening for the given event if present. It also removes the listeners set from the map if the set is empty.
+     * Removes the listener listening for the given event if present.
      *
      * @return true if the listener was present and has been removed
      */
     <T> boolean remove(Class<T> eventClass, Listener<T> listener) {
-        lock.readLock().lock();
-        TreeSet<ListenerReferenceHolder> set = listeners.get(eventClass);
-        if (set != null) {
-            lock.readLock().unlock();
-            lock.writeLock().lock();
-            try {
-                DefaultListenerWrapper wrapper = new DefaultListenerWrapper(listener);
-                for (ListenerReferenceHolder current : set) {
-                    if (wrapper.equals(current.getListenerWrapper())) {
-                        return removeListenerAndSetIfNeeded(eventClass, current, set);
+        if (!hasListeners(eventClass)) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            ListenerReferenceHolder[] snapshot = snapshots.getOrDefault(eventClass, NO_LISTENERS);
+            Changes changes = pendingChanges(eventClass);
+            ListenerReferenceHolder[] current = changes == null ? snapshot : changes.kept(snapshot);
+            for (int i = changes == null ? 0 : changes.head; i < current.length; i++) {
+                if (current[i] instanceof DefaultListenerHolder holder && holder.wraps(listener)) {
+                    changes(eventClass).removeAt(snapshot, i);
+                    notCollectable(holder);
+                    return true;
+                }
+            }
+            if (changes != null) {
+                for (Iterator<ListenerReferenceHolder> added = changes.added.iterator(); added.hasNext();) {
+                    if (added.next() instanceof DefaultListenerHolder holder && holder.wraps(listener)) {
+                        added.remove();
+                        notCollectable(holder);
+                        return true;
+                    }
+                }
+            }
+            for (KeyIndex index : keyIndexes.getOrDefault(eventClass, NO_INDEXES)) {
+                for (ListenerReferenceHolder[] keyed : index.snapshots.values()) {
+                    for (ListenerReferenceHolder holder : keyed) {
+                        if (((KeyedListenerHolder) holder).wraps(listener)) {
+                            return removeKeyed(eventClass, (KeyedListenerHolder) holder);
+                        }
                     }
                 }
-                return false;
-            } finally {
-                lock.writeLock().unlock();
             }
+            return false;
+        } finally {
+            lock.writeLock().unlock();
         }
-        lock.readLock().unlock();
-        return false;
     }
 
     /**
-     * Removes the listener listening for the given event if present. It also removes the listeners set from the map if the set is empty.
+     * Removes the listener listening for the given event if present.
      *
      * @return true if the listener was present and has been removed
      */
     boolean remove(Class<?> eventClass, ListenerReferenceHolder listener) {
-        lock.readLock().lock();
-        TreeSet<ListenerReferenceHolder> set = listeners.get(eventClass);
-        if (set != null) {
-            lock.readLock().unlock();
-            lock.writeLock().lock();
-            try {
-                return removeListenerAndSetIfNeeded(eventClass, listener, set);
-            } finally {
-                lock.writeLock().unlock();
+        lock.writeLock().lock();
+        try {
+            if (listener instanceof KeyedListenerHolder keyed) {
+                return removeKeyed(eventClass, keyed);
             }
+            return removeAll(eventClass, Collections.singleton(listener));
+        } finally {
+            lock.writeLock().unlock();
         }
-        lock.readLock().unlock();
-        return false;
     }
 
-    private boolean removeListenerAndSetIfNeeded(Class<?> eventClass, ListenerReferenceHolder listener,
-            TreeSet<ListenerReferenceHolder> set) {
-        if (set.remove(listener)) {
-            if (set.isEmpty()) {
-                listeners.remove(eventClass);
-                LOG.trace("Removed empty listeners set for {}", eventClass);
+    /**
+     * Removes the given listeners, they are compared by identity. Must be called holding the write lock.
+     * 
+     * @return true if any of them was removed
+     */
+    private boolean removeAll(Class<?> eventClass, Set<ListenerReferenceHolder> removed) {
+        boolean found = false;
+        ListenerReferenceHolder[] snapshot = snapshots.getOrDefault(eventClass, NO_LISTENERS);
+        Changes changes = pendingChanges(eventClass);
+        ListenerReferenceHolder[] current = changes == null ? snapshot : changes.kept(snapshot);
+        for (int i = changes == null ? 0 : changes.head; i < current.length; i++) {
+            ListenerReferenceHolder listener = current[i];
+            if (listener != null && removed.contains(listener)) {
+                changes = changes(eventClass);
+                current = changes.removeAt(snapshot, i);
+                notCollectable(listener);
+                found = true;
+            }
+        }
+        if (changes != null) {
+            for (Iterator<ListenerReferenceHolder> added = changes.added.iterator(); added.hasNext();) {
+                ListenerReferenceHolder listener = added.next();
+                if (removed.contains(listener)) {
+                    added.remove();
+                    notCollectable(listener);
+                    found = true;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Removes the given garbage collected listeners, in one go, and notifies the event classes that have been updated
+     */
+    void collected(List<ReferenceCleaner.Registration> registrations) {
+        Set<Class<?>> updatedEventClasses = new HashSet<>();
+        Map<Class<?>, Set<ListenerReferenceHolder>> collected = new HashMap<>();
+        lock.writeLock().lock();
+        try {
+            for (ReferenceCleaner.Registration registration : registrations) {
+                if (registration.holder() instanceof KeyedListenerHolder keyed) {
+                    if (removeKeyed(registration.eventClass(), keyed)) {
+                        updatedEventClasses.add(registration.eventClass());
+                    }
+                } else {
+                    collected.computeIfAbsent(registration.eventClass(), k -> Collections.newSetFromMap(new IdentityHashMap<>()))
+                            .add(registration.holder());
+                }
+            }
+            collected.forEach((eventClass, holders) -> {
+                if (removeAll(eventClass, holders)) {
+                    updatedEventClasses.add(eventClass);
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+        LOG.debug("Removed {} garbage collected listeners", registrations.size());
+        for (Class<?> eventClass : updatedEventClasses) {
+            onCollected.accept(eventClass);
+        }
+    }
+
+    /**
+     * Removes the keyed listener and its index, if it's empty. Must be called holding the write lock.
+     */
+    private boolean removeKeyed(Class<?> eventClass, KeyedListenerHolder listener) {
+        if (listener.index.remove(listener)) {
+            notCollectable(listener);
+            if (listener.index.snapshots.isEmpty()) {
+                KeyIndex[] indexes = keyIndexes.getOrDefault(eventClass, NO_INDEXES);
+                KeyIndex[] newIndexes = Arrays.stream(indexes).filter(i -> i != listener.index).toArray(KeyIndex[]::new);
+                if (newIndexes.length == 0) {
+                    keyIndexes.remove(eventClass);
+                    LOG.trace("Removed empty keyed listeners for {}", eventClass);
+                } else {
+                    keyIndexes.put(eventClass, newIndexes);
+                }
             }
             return true;
         }
@@ -143,120 +542,670 @@ class Listeners {
     }
 
     /**
-     * @return A sorted set containing the listeners queue for the given class.
+     * @return true if there is at least a listener for the given event class
+     */
+    boolean hasListeners(Class<?> eventClass) {
+        if (keyIndexes.containsKey(eventClass)) {
+            return true;
+        }
+        if (pending == null) {
+            return snapshots.containsKey(eventClass);
+        }
+        // counted without merging the changes, so that removing listeners one by one doesn't rebuild the snapshot every time
+        lock.readLock().lock();
+        try {
+            int count = snapshots.getOrDefault(eventClass, NO_LISTENERS).length;
+            Changes changes = pendingChanges(eventClass);
+            if (changes != null) {
+                count += changes.added.size() - changes.removed;
+            }
+            return count > 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return true if there are no listeners
+     */
+    boolean isEmpty() {
+        flush();
+        return snapshots.isEmpty() && keyIndexes.isEmpty();
+    }
+
+    /**
+     * @return An unmodifiable sorted list containing the listeners queue for the given class.
      */
     List<ListenerReferenceHolder> nullSafeGetListeners(Class<?> eventClass) {
+        return Collections.unmodifiableList(Arrays.asList(listeners(eventClass)));
+    }
+
+    /**
+     * @return the snapshot of the listeners queue for the given class, sorted by priority. The returned array is shared and must not be modified.
+     */
+    ListenerReferenceHolder[] listeners(Class<?> eventClass) {
         requireNotNull(eventClass);
+        flush();
+        return snapshots.getOrDefault(eventClass, NO_LISTENERS);
+    }
+
+    /**
+     * @return the listeners for the given event, sorted by priority. Keyed listeners are included only if their key matches the key of the event. The returned array might be
+     *         shared and must not be modified.
+     */
+    ListenerReferenceHolder[] listeners(Object event) {
+        requireNotNull(event);
+        ListenerReferenceHolder[] eventListeners = listeners(event.getClass());
+        KeyIndex[] indexes = keyIndexes.get(event.getClass());
+        if (indexes != null) {
+            for (KeyIndex index : indexes) {
+                ListenerReferenceHolder[] matching = index.listeners(event);
+                if (matching.length > 0) {
+                    eventListeners = eventListeners.length == 0 ? matching : merge(eventListeners, matching);
+                }
+            }
+        }
+        return eventListeners;
+    }
+
+    /**
+     * Performs the given action for every registered listener, keyed ones included, grouped by event class. Listeners changed concurrently might or might not be visited.
+     */
+    void forEach(BiConsumer<Class<?>, ListenerReferenceHolder> action) {
+        requireNotNull(action);
+        flush();
+        snapshots.forEach((eventClass, snapshot) -> {
+            for (ListenerReferenceHolder listener : snapshot) {
+                action.accept(eventClass, listener);
+            }
+        });
+        keyIndexes.forEach((eventClass, indexes) -> {
+            for (KeyIndex index : indexes) {
+                index.snapshots.values().forEach(snapshot -> {
+                    for (ListenerReferenceHolder listener : snapshot) {
+                        action.accept(eventClass, listener);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * @return an immutable copy of the current listeners where every listener is strongly referenced. Garbage collected listeners are left out.
+     */
+    Frozen freeze() {
+        flush();
         lock.readLock().lock();
         try {
-            TreeSet<ListenerReferenceHolder> set = listeners.get(eventClass);
-            if (set == null) {
-                return Collections.emptyList();
-            }
-            return new ArrayList<>(set);
+            Map<Class<?>, ListenerReferenceHolder[]> frozenSnapshots = new HashMap<>();
+            snapshots.forEach((eventClass, snapshot) -> frozenSnapshots.put(eventClass, strong(snapshot)));
+            Map<Class<?>, FrozenKeyIndex[]> frozenIndexes = new HashMap<>();
+            keyIndexes.forEach((eventClass, indexes) -> frozenIndexes.put(eventClass, Arrays.stream(indexes).map(index -> {
+                Map<Object, ListenerReferenceHolder[]> keyed = new HashMap<>();
+                index.snapshots.forEach((key, snapshot) -> keyed.put(key, strong(snapshot)));
+                return new FrozenKeyIndex(index.extractor, Map.copyOf(keyed));
+            }).toArray(FrozenKeyIndex[]::new)));
+            return new Frozen(Map.copyOf(frozenSnapshots), Map.copyOf(frozenIndexes));
         } finally {
             lock.readLock().unlock();
         }
     }
 
+    private static ListenerReferenceHolder[] strong(ListenerReferenceHolder[] listeners) {
+        List<ListenerReferenceHolder> strong = new ArrayList<>(listeners.length);
+        for (ListenerReferenceHolder listener : listeners) {
+            ListenerReferenceHolder holder = listener.strong();
+            if (holder != null) {
+                strong.add(holder);
+            }
+        }
+        return strong.toArray(NO_LISTENERS);
+    }
+
+    /**
+     * @return a new array with the listeners of both arrays, sorted by priority. Listeners with the same priority in the first array come first.
+     */
+    private static ListenerReferenceHolder[] merge(ListenerReferenceHolder[] first, ListenerReferenceHolder[] second) {
+        ListenerReferenceHolder[] merged = new ListenerReferenceHolder[first.length + second.length];
+        int i = 0, j = 0, k = 0;
+        while (i < first.length && j < second.length) {
+            merged[k++] = second[j].priority < first[i].priority ? second[j++] : first[i++];
+        }
+        System.arraycopy(first, i, merged, k, first.length - i);
+        System.arraycopy(second, j, merged, k + first.length - i, second.length - j);
+        return merged;
+    }
+
     /**
      * Wraps a listener defined either explicitly or picked up by the annotation processor
      *
      * @author Andrea Vacondio
      */
     interface ListenerWrapper {
+        /**
+         * Notifies the listener, unless it has been garbage collected
+         */
         void onEvent(Envelope event);
+
+        /**
+         * @return a (Envelope)void handle notifying the strongly referenced listener, used to build specialized dispatchers
+         */
+        MethodHandle dispatcher();
     }
 
     /**
-         * Listener wrapper around an explicitly defined {@link Listener}
-         *
-         * @author Andrea Vacondio
+     * A registered listener. It's also the {@link ListenerWrapper} notifying it, so that a registration is a single object. Two holders are equal if they notify the same
+     * listener, their priority and strength don't matter.
+     *
+     * @author Andrea Vacondio
+     */
+    abstract static class ListenerReferenceHolder implements ListenerWrapper {
+        final int priority;
+        final ReferenceStrength strength;
+        /**
+         * The listener, or the bean of the annotated method, or a reference to it
+         */
+        private final Object target;
+
+        /**
+         * @param listeners
+         *            where the holder is registered, it's removed from there once the referent is garbage collected
+         */
+        ListenerReferenceHolder(int priority, ReferenceStrength strength, Object referent, Listeners listeners, Class<?> eventClass) {
+            requireNotNull(referent);
+            requireNotNull(strength);
+            this.priority = priority;
+            this.strength = strength;
+            this.target = strength.hold(referent, listeners, eventClass, this);
+        }
+
+        /**
+         * @return the listener, or the bean of the annotated method, or null if it has been garbage collected
+         */
+        final Object target() {
+            return strength.get(target);
+        }
+
+        /**
+         * @return the wrapper or null if the listener has been garbage collected
+         */
+        public ListenerWrapper getListenerWrapper() {
+            if (target() == null) {
+                return null;
+            }
+            return this;
+        }
+
+        /**
+         * @return a copy of this holder strongly referencing the listener, or null if the listener has been garbage collected
          */
-        @SuppressWarnings({ "rawtypes", "unchecked" })
-        private record DefaultListenerWrapper(Listener wrapped) implements ListenerWrapper {
+        abstract ListenerReferenceHolder strong();
 
-            public void onEvent(Envelope event) {
-                wrapped.onEvent(event.getEvent());
+        /**
+         * Notifies the listener on the current thread, even if it has been added with an executor
+         * 
+         * @return false if the listener has been garbage collected
+         */
+        abstract boolean deliver(Object event, BroadcastContext context);
+    }
+
+    /**
+     * Holder of an explicitly defined {@link Listener}
+     *
+     * @author Andrea Vacondio
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static class DefaultListenerHolder extends ListenerReferenceHolder {
+
+        private DefaultListenerHolder(int priority, ReferenceStrength strength, Listener<?> listener, Listeners listeners, Class<?> eventClass) {
+            super(priority, strength, listener, listeners, eventClass);
+        }
+
+        public void onEvent(Envelope event) {
+            if (deliver(event.getEvent(), event)) {
                 event.notified();
             }
+        }
 
-            @Override
-            public boolean equals(Object o) {
-                if (this == o) {
-                    return true;
-                }
-                if (!(o instanceof DefaultListenerWrapper other)) {
-                    return false;
-                }
-                return wrapped.equals(other.wrapped);
+        @Override
+        boolean deliver(Object event, BroadcastContext context) {
+            Listener listener = (Listener) target();
+            if (listener == null) {
+                return false;
+            }
+            if (listener instanceof ContextualListener contextual) {
+                contextual.onEvent(event, context);
+            } else {
+                listener.onEvent(event);
+            }
+            return true;
+        }
+
+        public MethodHandle dispatcher() {
+            Object listener = target();
+            if (listener instanceof ContextualListener) {
+                return contextual(ON_CONTEXTUAL_EVENT.bindTo(listener));
+            }
+            return MethodHandles.filterArguments(ON_EVENT.bindTo(listener), 0, GET_EVENT);
+        }
+
+        @Override
+        ListenerReferenceHolder strong() {
+            if (strength == ReferenceStrength.STRONG) {
+                return this;
+            }
+            Listener listener = (Listener) target();
+            if (listener == null) {
+                return null;
             }
+            return new DefaultListenerHolder(priority, ReferenceStrength.STRONG, listener, null, null);
         }
 
+        /**
+         * @return true if this holds the given listener
+         */
+        boolean wraps(Listener<?> listener) {
+            return listener.equals(target());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DefaultListenerHolder other)) {
+                return false;
+            }
+            Object listener = target();
+            return listener != null && listener.equals(other.target());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(target());
+        }
+
+        @Override
+        public String toString() {
+            return "DefaultListenerHolder[priority=" + priority + ", listener=" + target() + "]";
+        }
+    }
+
+    /**
+     * Holder of an explicitly defined {@link Listener} registered for a key
+     *
+     * @author Andrea Vacondio
+     */
+    private static final class KeyedListenerHolder extends DefaultListenerHolder {
+        private final KeyIndex index;
+        private final Object key;
+
+        private KeyedListenerHolder(int priority, ReferenceStrength strength, Listener<?> listener, Listeners listeners, Class<?> eventClass,
+                KeyIndex index, Object key) {
+            super(priority, strength, listener, listeners, eventClass);
+            this.index = index;
+            this.key = key;
+        }
+
+        @Override
+        public String toString() {
+            return "KeyedListenerHolder[priority=" + priority + ", key=" + key + ", listener=" + target() + "]";
+        }
+    }
+
+    /**
+     * Holder of an explicitly defined {@link Listener} notified through the executor of a {@link Courier}
+     *
+     * @author Andrea Vacondio
+     */
+    private static final class DeliveredListenerHolder extends DefaultListenerHolder {
+        private final Courier courier;
+
+        private DeliveredListenerHolder(int priority, ReferenceStrength strength, Listener<?> listener, Listeners listeners, Class<?> eventClass,
+                Courier courier) {
+            super(priority, strength, listener, listeners, eventClass);
+            this.courier = courier;
+        }
+
+        @Override
+        public void onEvent(Envelope event) {
+            if (target() != null) {
+                courier.post(this, event.getEvent());
+                event.notified();
+            }
+        }
+
+        @Override
+        public MethodHandle dispatcher() {
+            return POST.bindTo(this);
+        }
+
+        @Override
+        ListenerReferenceHolder strong() {
+            if (strength == ReferenceStrength.STRONG) {
+                return this;
+            }
+            Listener<?> listener = (Listener<?>) target();
+            if (listener == null) {
+                return null;
+            }
+            return new DeliveredListenerHolder(priority, ReferenceStrength.STRONG, listener, null, null, courier);
+        }
+
+        @Override
+        public String toString() {
+            return "DeliveredListenerHolder[priority=" + priority + ", executor=" + courier.name() + ", listener=" + target() + "]";
+        }
+    }
+
     /**
-         * Reflective invocation of an annotated listener
-         *
-         * @author Andrea Vacondio
+     * Invocation of an annotated listener through a {@link MethodHandle}, avoiding the arguments array allocated by a reflective invocation. Handles are shared by all the
+     * beans of the same class.
+     *
+     * @author Andrea Vacondio
+     */
+    private static class ReflectiveListenerHolder extends ListenerReferenceHolder {
+        private static final MethodType LISTENER_TYPE = MethodType.methodType(void.class, Object.class, Object.class,
+                BroadcastContext.class);
+        /**
+         * Every processed bean comes with its own copy of the {@link Method}, registrations of the same method share the first one and its handle
          */
-        private record ReflectiveListenerWrapper(Object bean, Method method) implements ListenerWrapper {
-            private ReflectiveListenerWrapper(Object bean, Method method) {
-                this.bean = bean;
-                this.method = method;
-                this.method.setAccessible(true);
+        private static final ClassValue<ConcurrentMap<Method, Invoker>> INVOKERS = new ClassValue<>() {
+            @Override
+            protected ConcurrentMap<Method, Invoker> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
             }
+        };
+
+        private final Method method;
+        private final MethodHandle handle;
+
+        private ReflectiveListenerHolder(int priority, ReferenceStrength strength, Object bean, Listeners listeners, Class<?> eventClass, Method method) {
+            this(priority, strength, bean, listeners, eventClass, INVOKERS.get(method.getDeclaringClass()).computeIfAbsent(method, Invoker::of));
+        }
 
-            public void onEvent(Envelope event) {
+        private ReflectiveListenerHolder(int priority, ReferenceStrength strength, Object bean, Listeners listeners, Class<?> eventClass, Invoker invoker) {
+            super(priority, strength, bean, listeners, eventClass);
+            this.method = invoker.method();
+            this.handle = invoker.handle();
+        }
+
+        private record Invoker(Method method, MethodHandle handle) {
+
+            private static Invoker of(Method method) {
+                method.setAccessible(true);
                 try {
-                    method.invoke(bean, event.getEvent());
-                } catch (IllegalAccessException e) {
-                    throw new EventStudioException("Exception invoking reflective method", e);
-                } catch (InvocationTargetException e) {
-                    if (e.getCause() instanceof BroadcastInterruptionException) {
-                        throw (BroadcastInterruptionException) e.getCause();
+                    MethodHandle unreflected = MethodHandles.lookup().unreflect(method);
+                    if (method.getParameterCount() == 1) {
+                        // the method is not interested in the context
+                        unreflected = MethodHandles.dropArguments(unreflected, 2, BroadcastContext.class);
                     }
-                    throw new EventStudioException("Reflective method invocation exception", e);
+                    return new Invoker(method, unreflected.asType(LISTENER_TYPE));
+                } catch (IllegalAccessException e) {
+                    throw new EventStudioException("Exception accessing reflective method", e);
                 }
+            }
+        }
+
+        public void onEvent(Envelope event) {
+            if (deliver(event.getEvent(), event)) {
                 event.notified();
             }
         }
 
+        @Override
+        boolean deliver(Object event, BroadcastContext context) {
+            Object bean = target();
+            if (bean == null) {
+                return false;
+            }
+            try {
+                handle.invokeExact(bean, event, context);
+            } catch (BroadcastInterruptionException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new EventStudioException("Reflective method invocation exception", e);
+            }
+            return true;
+        }
+
+        public MethodHandle dispatcher() {
+            return MethodHandles.catchException(contextual(handle.bindTo(target())), Throwable.class, INVOCATION_FAILED);
+        }
+
+        @Override
+        ListenerReferenceHolder strong() {
+            if (strength == ReferenceStrength.STRONG) {
+                return this;
+            }
+            Object bean = target();
+            if (bean == null) {
+                return null;
+            }
+            return new ReflectiveListenerHolder(priority, ReferenceStrength.STRONG, bean, null, null, new Invoker(method, handle));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ReflectiveListenerHolder other)) {
+                return false;
+            }
+            Object bean = target();
+            return bean != null && bean.equals(other.target()) && method.equals(other.method);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(target(), method);
+        }
+
+        @Override
+        public String toString() {
+            return "ReflectiveListenerHolder[priority=" + priority + ", bean=" + target() + ", method=" + method + "]";
+        }
+    }
+
     /**
-     * Holder for a {@link ListenerWrapper}
+     * Invocation of an annotated listener through the executor of a {@link Courier}
      *
      * @author Andrea Vacondio
      */
-    static class ListenerReferenceHolder implements Comparable<ListenerReferenceHolder> {
-        int priority = 0;
-        private final Entity<? extends ListenerWrapper> reference;
+    private static final class DeliveredReflectiveListenerHolder extends ReflectiveListenerHolder {
+        private final Courier courier;
 
-        public ListenerReferenceHolder(int priority, Entity<? extends ListenerWrapper> reference) {
-            requireNotNull(reference);
-            this.priority = priority;
-            this.reference = reference;
+        private DeliveredReflectiveListenerHolder(int priority, ReferenceStrength strength, Object bean, Listeners listeners, Class<?> eventClass, Method method,
+                Courier courier) {
+            super(priority, strength, bean, listeners, eventClass, method);
+            this.courier = courier;
         }
 
-        public int compareTo(ListenerReferenceHolder o) {
-            if (this.priority < o.priority) {
-                return -1;
+        @Override
+        public void onEvent(Envelope event) {
+            if (target() != null) {
+                courier.post(this, event.getEvent());
+                event.notified();
             }
-            if (this.priority > o.priority) {
-                return 1;
+        }
+
+        @Override
+        public MethodHandle dispatcher() {
+            return POST.bindTo(this);
+        }
+
+        @Override
+        ListenerReferenceHolder strong() {
+            if (strength == ReferenceStrength.STRONG) {
+                return this;
             }
-            // same priority
-            int retVal = this.hashCode() - o.hashCode();
-            // same hashcode but not equals. This shouldn't happen but according
-            // to hashcode documentation is not required and since we don't want
-            // ListenerReferenceHolder to
-            // disappear from the TreeSet we return an arbitrary integer != from
-            // 0
-            if (retVal == 0 && !this.equals(o)) {
-                retVal = -1;
+            Object bean = target();
+            if (bean == null) {
+                return null;
             }
-            return retVal;
+            return new DeliveredReflectiveListenerHolder(priority, ReferenceStrength.STRONG, bean, null, null, super.method, courier);
         }
 
-        public ListenerWrapper getListenerWrapper() {
-            return reference.get();
+        @Override
+        public String toString() {
+            return "DeliveredReflectiveListenerHolder[priority=" + priority + ", executor=" + courier.name() + ", bean=" + target() + ", method=" + super.method + "]";
         }
     }
+
+    /**
+     * Listeners added to and removed from an event class since its snapshot was last rebuilt. Listeners are removed from a private copy of the snapshot, where their slot is
+     * cleared, added ones are in registration order.
+     *
+     * @author Andrea Vacondio
+     */
+    private static final class Changes {
+        private final List<ListenerReferenceHolder> added = new ArrayList<>();
+        /**
+         * copy of the snapshot with the removed listeners cleared, null if none has been removed
+         */
+        private ListenerReferenceHolder[] kept;
+        /**
+         * slots of the snapshot before this one have all been cleared, so that removing listeners in notification order doesn't scan the cleared ones again
+         */
+        private int head;
+        private int removed;
+
+        /**
+         * @return the listeners of the given snapshot that have not been removed, removed ones are null
+         */
+        private ListenerReferenceHolder[] kept(ListenerReferenceHolder[] snapshot) {
+            return kept == null ? snapshot : kept;
+        }
+
+        /**
+         * Removes the listener of the given snapshot at the given index
+         * 
+         * @return the listeners of the snapshot that have not been removed
+         */
+        private ListenerReferenceHolder[] removeAt(ListenerReferenceHolder[] snapshot, int index) {
+            if (kept == null) {
+                kept = snapshot.clone();
+            }
+            kept[index] = null;
+            removed++;
+            while (head < kept.length && kept[head] == null) {
+                head++;
+            }
+            return kept;
+        }
+
+        /**
+         * @return a new snapshot with the changes applied to the given one
+         */
+        private ListenerReferenceHolder[] applyTo(ListenerReferenceHolder[] snapshot) {
+            ListenerReferenceHolder[] current = snapshot;
+            if (kept != null) {
+                current = new ListenerReferenceHolder[kept.length - removed];
+                int size = 0;
+                for (int i = head; i < kept.length; i++) {
+                    if (kept[i] != null) {
+                        current[size++] = kept[i];
+                    }
+                }
+            }
+            if (added.isEmpty()) {
+                return current;
+            }
+            ListenerReferenceHolder[] sorted = added.toArray(NO_LISTENERS);
+            // stable, the ones with the same priority are kept in registration order
+            Arrays.sort(sorted, BY_PRIORITY);
+            return merge(current, sorted);
+        }
+    }
+
+    /**
+     * Listeners of an event class registered with the same key extractor, indexed by key. Changes must be made holding the write lock of the {@link Listeners}.
+     *
+     * @author Andrea Vacondio
+     */
+    private static final class KeyIndex {
+        private final Function<Object, Object> extractor;
+        private final ConcurrentMap<Object, ListenerReferenceHolder[]> snapshots = new ConcurrentHashMap<>();
+
+        private KeyIndex(Function<Object, Object> extractor) {
+            this.extractor = extractor;
+        }
+
+        private void add(KeyedListenerHolder listener) {
+            snapshots.put(listener.key, insert(snapshots.getOrDefault(listener.key, NO_LISTENERS), listener));
+        }
+
+        private boolean remove(KeyedListenerHolder listener) {
+            ListenerReferenceHolder[] current = snapshots.getOrDefault(listener.key, NO_LISTENERS);
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == listener) {
+                    if (current.length == 1) {
+                        snapshots.remove(listener.key);
+                    } else {
+                        snapshots.put(listener.key, without(current, i));
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private ListenerReferenceHolder[] listeners(Object event) {
+            Object key = extractor.apply(event);
+            if (key == null) {
+                return NO_LISTENERS;
+            }
+            return snapshots.getOrDefault(key, NO_LISTENERS);
+        }
+    }
+
+    /**
+     * Immutable listeners of a frozen station, all of them strongly referenced
+     *
+     * @author Andrea Vacondio
+     */
+    static final class Frozen {
+        private final Map<Class<?>, ListenerReferenceHolder[]> snapshots;
+        private final Map<Class<?>, FrozenKeyIndex[]> keyIndexes;
+
+        private Frozen(Map<Class<?>, ListenerReferenceHolder[]> snapshots, Map<Class<?>, FrozenKeyIndex[]> keyIndexes) {
+            this.snapshots = snapshots;
+            this.keyIndexes = keyIndexes;
+        }
+
+        /**
+         * @see Listeners#listeners(Object)
+         */
+        ListenerReferenceHolder[] listeners(Object event) {
+            ListenerReferenceHolder[] eventListeners = snapshots.getOrDefault(event.getClass(), NO_LISTENERS);
+            FrozenKeyIndex[] indexes = keyIndexes.get(event.getClass());
+            if (indexes != null) {
+                for (FrozenKeyIndex index : indexes) {
+                    Object key = index.extractor().apply(event);
+                    ListenerReferenceHolder[] matching = key == null ? NO_LISTENERS : index.listeners().getOrDefault(key, NO_LISTENERS);
+                    if (matching.length > 0) {
+                        eventListeners = eventListeners.length == 0 ? matching : merge(eventListeners, matching);
+                    }
+                }
+            }
+            return eventListeners;
+        }
+
+        boolean hasListeners(Class<?> eventClass) {
+            return snapshots.containsKey(eventClass) || keyIndexes.containsKey(eventClass);
+        }
+
+        /**
+         * @return the event classes having listeners
+         */
+        Set<Class<?>> eventClasses() {
+            Set<Class<?>> eventClasses = new HashSet<>(snapshots.keySet());
+            eventClasses.addAll(keyIndexes.keySet());
+            return eventClasses;
+        }
+    }
+
+    private record FrozenKeyIndex(Function<Object, Object> extractor, Map<Object, ListenerReferenceHolder[]> listeners) {
+    }
 }
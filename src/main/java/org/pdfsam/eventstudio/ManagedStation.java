@@ -0,0 +1,201 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToLongFunction;
+
+import javax.management.JMException;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import org.pdfsam.eventstudio.StationMetrics.EventMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link StationMXBean} of a {@link Station}, registered on the platform MBean server as
+ * <code>org.pdfsam.eventstudio:type=Station,studio=&lt;studio id&gt;,name=&lt;quoted station name&gt;</code>. The station and its owner are weakly referenced, so that the MBean
+ * server doesn't keep alive a studio no one uses anymore, and the MBean unregisters itself once the station is garbage collected.
+ * 
+ * @author Andrea Vacondio
+ */
+final class ManagedStation implements StationMXBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ManagedStation.class);
+    static final String DOMAIN = "org.pdfsam.eventstudio";
+
+    private final String name;
+    private final ObjectName objectName;
+    private final WeakReference<Station> station;
+    private final WeakReference<Stations> owner;
+    private final AtomicBoolean registered = new AtomicBoolean();
+
+    private ManagedStation(Station station, Stations owner, ObjectName objectName) {
+        this.name = station.name();
+        this.objectName = objectName;
+        this.station = ReferenceCleaner.weak(station, this::unregister);
+        this.owner = new WeakReference<>(owner);
+    }
+
+    static ObjectName objectName(Station station, Stations owner) throws MalformedObjectNameException {
+        return new ObjectName(DOMAIN + ":type=Station,studio=" + owner.id() + ",name=" + ObjectName.quote(station.name()));
+    }
+
+    /**
+     * Registers the given station on the platform MBean server
+     * 
+     * @return the registered MBean or null if the station couldn't be registered
+     */
+    static ManagedStation register(Station station, Stations owner) {
+        try {
+            ManagedStation managed = new ManagedStation(station, owner, objectName(station, owner));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new StandardMBean(managed, StationMXBean.class, true), managed.objectName);
+            managed.registered.set(true);
+            LOG.debug("Registered MBean for {}", station);
+            return managed;
+        } catch (JMException e) {
+            LOG.warn("Unable to register the MBean for " + station, e);
+            return null;
+        }
+    }
+
+    /**
+     * Unregisters the station from the platform MBean server, unless it has already been unregistered
+     */
+    void unregister() {
+        if (registered.compareAndSet(true, false)) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+                LOG.debug("Unregistered MBean for station {}", name);
+            } catch (JMException e) {
+                LOG.warn("Unable to unregister the MBean for station " + name, e);
+            }
+        }
+    }
+
+    private Station station() {
+        Station current = station.get();
+        if (current == null) {
+            unregister();
+            throw new IllegalStateException("Station " + name + " has been garbage collected");
+        }
+        return current;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getListenerCount() {
+        return station().listenerCounts().values().stream().flatMap(counts -> counts.values().stream()).mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public Map<String, Map<Integer, Integer>> getListenerCounts() {
+        return station().listenerCounts();
+    }
+
+    @Override
+    public int getPendingEventCount() {
+        return station().pendingEvents().values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public Map<String, Integer> getPendingEvents() {
+        return station().pendingEvents();
+    }
+
+    @Override
+    public List<String> getSupervisors() {
+        return station().supervisors().stream().map(String::valueOf).toList();
+    }
+
+    @Override
+    public long getSupervisorDrops() {
+        return station().supervisorDrops();
+    }
+
+    @Override
+    public boolean isMetricsEnabled() {
+        return station().metrics() != null;
+    }
+
+    @Override
+    public long getBroadcasts() {
+        return sum(EventMetrics::broadcasts);
+    }
+
+    @Override
+    public long getNotified() {
+        return sum(EventMetrics::notified);
+    }
+
+    @Override
+    public long getUnnotified() {
+        return sum(EventMetrics::unnotified);
+    }
+
+    @Override
+    public long getEnqueued() {
+        return sum(EventMetrics::enqueued);
+    }
+
+    @Override
+    public long getDropped() {
+        return sum(EventMetrics::dropped);
+    }
+
+    @Override
+    public long getReplayed() {
+        return sum(EventMetrics::replayed);
+    }
+
+    private long sum(ToLongFunction<EventMetrics> counter) {
+        StationMetrics metrics = station().metrics();
+        if (metrics == null) {
+            return -1;
+        }
+        return metrics.events().values().stream().mapToLong(counter).sum();
+    }
+
+    @Override
+    public int discardPending() {
+        return station().discardPending();
+    }
+
+    @Override
+    public void clear() {
+        Stations current = owner.get();
+        if (current != null) {
+            current.clear(name);
+        }
+    }
+
+    @Override
+    public String dump() {
+        return station().dump();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Metrics of a station, by event class. Counters are {@link LongAdder}s, so that broadcasting threads don't contend on them.
+ * 
+ * @author Andrea Vacondio
+ */
+final class MetricsRecorder {
+
+    private final ConcurrentMap<Class<?>, EventClassMetrics> events = new ConcurrentHashMap<>();
+
+    /**
+     * @return the metrics of the given event class
+     */
+    EventClassMetrics of(Class<?> eventClass) {
+        EventClassMetrics metrics = events.get(eventClass);
+        if (metrics == null) {
+            return events.computeIfAbsent(eventClass, k -> new EventClassMetrics());
+        }
+        return metrics;
+    }
+
+    /**
+     * @param pending
+     *            the number of pending events of the given event class
+     * @return a snapshot of the metrics of the given station
+     */
+    StationMetrics snapshot(String station, ToLongFunction<Class<?>> pending) {
+        Map<Class<?>, StationMetrics.EventMetrics> snapshot = new HashMap<>();
+        events.forEach((eventClass, metrics) -> snapshot.put(eventClass, metrics.snapshot(pending.applyAsLong(eventClass))));
+        return new StationMetrics(station, Map.copyOf(snapshot));
+    }
+
+    /**
+     * Metrics of an event class
+     * 
+     * @author Andrea Vacondio
+     */
+    static final class EventClassMetrics {
+        final LongAdder broadcasts = new LongAdder();
+        final LongAdder cascaded = new LongAdder();
+        final LongAdder notified = new LongAdder();
+        final LongAdder unnotified = new LongAdder();
+        final LongAdder enqueued = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+        final LongAdder replayed = new LongAdder();
+        final LongAdder invocations = new LongAdder();
+        final LatencyHistogram broadcastTime = new LatencyHistogram();
+        final LatencyHistogram listenerTime = new LatencyHistogram();
+
+        /**
+         * Records the outcome and the duration of the notification of an event to the listeners
+         */
+        void delivered(boolean delivered, long nanos) {
+            if (delivered) {
+                notified.increment();
+            } else {
+                unnotified.increment();
+            }
+            broadcastTime.record(nanos);
+        }
+
+        /**
+         * Records the invocation of a listener
+         */
+        void invoked(long nanos) {
+            invocations.increment();
+            listenerTime.record(nanos);
+        }
+
+        private StationMetrics.EventMetrics snapshot(long pending) {
+            return new StationMetrics.EventMetrics(broadcasts.sum(), cascaded.sum(), notified.sum(), unnotified.sum(), enqueued.sum(), dropped.sum(), replayed.sum(), pending,
+                    invocations.sum(), broadcastTime.snapshot(), listenerTime.snapshot());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.pdfsam.eventstudio.util.RequireUtils.requireNotNull;
+
+import java.util.Arrays;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * A thread-safe, copy on write, holder for the listeners of primitive events sorted by priority. Listeners are stored in an array that is replaced on every change, so that
+ * broadcasting doesn't require any lock or copy.
+ * 
+ * @author Andrea Vacondio
+ * @param <L>
+ *            the type of the listener
+ */
+class PrimitiveChannel<L> {
+
+    private static final Object[] EMPTY = new Object[0];
+
+    private volatile Object[] listeners = EMPTY;
+    private int[] priorities = new int[0];
+
+    /**
+     * Adds the listener with the given priority, after listeners with the same priority
+     */
+    synchronized void add(L listener, int priority) {
+        requireNotNull(listener);
+        int index = 0;
+        while (index < priorities.length && priorities[index] <= priority) {
+            index++;
+        }
+        Object[] newListeners = new Object[listeners.length + 1];
+        int[] newPriorities = new int[priorities.length + 1];
+        System.arraycopy(listeners, 0, newListeners, 0, index);
+        System.arraycopy(priorities, 0, newPriorities, 0, index);
+        newListeners[index] = listener;
+        newPriorities[index] = priority;
+        System.arraycopy(listeners, index, newListeners, index + 1, listeners.length - index);
+        System.arraycopy(priorities, index, newPriorities, index + 1, priorities.length - index);
+        priorities = newPriorities;
+        listeners = newListeners;
+    }
+
+    /**
+     * Removes the first occurrence of the given listener
+     * 
+     * @return true if the listener was present and has been removed
+     */
+    synchronized boolean remove(L listener) {
+        requireNotNull(listener);
+        for (int i = 0; i < listeners.length; i++) {
+            if (listener.equals(listeners[i])) {
+                Object[] newListeners = new Object[listeners.length - 1];
+                int[] newPriorities = new int[priorities.length - 1];
+                System.arraycopy(listeners, 0, newListeners, 0, i);
+                System.arraycopy(priorities, 0, newPriorities, 0, i);
+                System.arraycopy(listeners, i + 1, newListeners, i, newListeners.length - i);
+                System.arraycopy(priorities, i + 1, newPriorities, i, newPriorities.length - i);
+                priorities = newPriorities;
+                listeners = newListeners;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the listeners sorted by priority. The returned array must not be modified.
+     */
+    Object[] listeners() {
+        return listeners;
+    }
+
+    /**
+     * Performs the given action for every listener, in priority order, with its priority
+     */
+    @SuppressWarnings("unchecked")
+    synchronized void forEach(ObjIntConsumer<L> action) {
+        requireNotNull(action);
+        for (int i = 0; i < listeners.length; i++) {
+            action.accept((L) listeners[i], priorities[i]);
+        }
+    }
+
+    boolean isEmpty() {
+        return listeners.length == 0;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(listeners);
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.pdfsam.eventstudio.Listeners.ListenerReferenceHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Removes weakly and softly referenced listeners once they are garbage collected. The garbage collector enqueues their references in a shared {@link ReferenceQueue} that is
+ * drained in batches by a daemon thread, started with the first registration, so that the broadcast path never has to clean up. References are the registrations themselves,
+ * they know where their listener is registered and they are cleared when their listener is removed. Other objects can be tracked with a cleanup to run once they are garbage
+ * collected, see {@link #weak(Object, Runnable)}.
+ * 
+ * @author Andrea Vacondio
+ */
+final class ReferenceCleaner {
+    private static final Logger LOG = LoggerFactory.getLogger(ReferenceCleaner.class);
+    private static final int MAX_BATCH = 256;
+
+    /**
+     * shared by every soft and weak registration
+     */
+    static final ReferenceQueue<Object> QUEUE = new ReferenceQueue<>();
+    private static final AtomicBoolean STARTED = new AtomicBoolean();
+
+    private ReferenceCleaner() {
+        // hide
+    }
+
+    /**
+     * @return a weak reference to the referent that, once the referent is garbage collected, removes the listener holder from the given {@link Listeners}
+     */
+    static Reference<Object> weak(Object referent, Listeners listeners, Class<?> eventClass, ListenerReferenceHolder holder) {
+        start();
+        return new WeakRegistration(referent, listeners, eventClass, holder);
+    }
+
+    /**
+     * @return a soft reference to the referent that, once the referent is garbage collected, removes the listener holder from the given {@link Listeners}
+     */
+    static Reference<Object> soft(Object referent, Listeners listeners, Class<?> eventClass, ListenerReferenceHolder holder) {
+        start();
+        return new SoftRegistration(referent, listeners, eventClass, holder);
+    }
+
+    /**
+     * @return a weak reference to the referent that, once the referent is garbage collected, runs the given cleanup. The cleanup must not reference the referent.
+     */
+    static <T> WeakReference<T> weak(T referent, Runnable cleanup) {
+        start();
+        return new WeakCleanup<>(referent, cleanup);
+    }
+
+    private static void start() {
+        if (!STARTED.get() && STARTED.compareAndSet(false, true)) {
+            Thread cleaner = new Thread(ReferenceCleaner::clean, "eventstudio-reference-cleaner");
+            cleaner.setDaemon(true);
+            cleaner.start();
+        }
+    }
+
+    private static void clean() {
+        try {
+            for (;;) {
+                Reference<?> reference = QUEUE.remove();
+                Map<Listeners, List<Registration>> batch = new IdentityHashMap<>();
+                int size = 0;
+                do {
+                    if (reference instanceof Registration registration && registration.listeners() != null) {
+                        batch.computeIfAbsent(registration.listeners(), k -> new ArrayList<>()).add(registration);
+                    } else if (reference instanceof WeakCleanup<?> cleanup) {
+                        cleanup.clean();
+                    }
+                } while (++size < MAX_BATCH && (reference = QUEUE.poll()) != null);
+                batch.forEach((listeners, registrations) -> {
+                    try {
+                        listeners.collected(registrations);
+                    } catch (RuntimeException e) {
+                        LOG.warn("Unable to remove garbage collected listeners", e);
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            LOG.debug("Reference cleaner stopped");
+        }
+    }
+
+    /**
+     * Where a weakly or softly referenced listener is registered
+     */
+    interface Registration {
+        Listeners listeners();
+
+        Class<?> eventClass();
+
+        ListenerReferenceHolder holder();
+    }
+
+    private static final class WeakRegistration extends WeakReference<Object> implements Registration {
+        private final Listeners listeners;
+        private final Class<?> eventClass;
+        private final ListenerReferenceHolder holder;
+
+        private WeakRegistration(Object referent, Listeners listeners, Class<?> eventClass, ListenerReferenceHolder holder) {
+            super(referent, QUEUE);
+            this.listeners = listeners;
+            this.eventClass = eventClass;
+            this.holder = holder;
+        }
+
+        public Listeners listeners() {
+            return listeners;
+        }
+
+        public Class<?> eventClass() {
+            return eventClass;
+        }
+
+        public ListenerReferenceHolder holder() {
+            return holder;
+        }
+    }
+
+    private static final class SoftRegistration extends SoftReference<Object> implements Registration {
+        private final Listeners listeners;
+        private final Class<?> eventClass;
+        private final ListenerReferenceHolder holder;
+
+        private SoftRegistration(Object referent, Listeners listeners, Class<?> eventClass, ListenerReferenceHolder holder) {
+            super(referent, QUEUE);
+            this.listeners = listeners;
+            this.eventClass = eventClass;
+            this.holder = holder;
+        }
+
+        public Listeners listeners() {
+            return listeners;
+        }
+
+        public Class<?> eventClass() {
+            return eventClass;
+        }
+
+        public ListenerReferenceHolder holder() {
+            return holder;
+        }
+    }
+
+    private static final class WeakCleanup<T> extends WeakReference<T> {
+        private final Runnable cleanup;
+
+        private WeakCleanup(T referent, Runnable cleanup) {
+            super(referent, QUEUE);
+            this.cleanup = cleanup;
+        }
+
+        void clean() {
+            try {
+                cleanup.run();
+            } catch (RuntimeException e) {
+                LOG.warn("Unable to clean up after a garbage collected object", e);
+            }
+        }
+    }
+}
@@ -17,8 +17,9 @@
  */
 package org.pdfsam.eventstudio;
 
-import java.lang.ref.SoftReference;
-import java.lang.ref.WeakReference;
+import java.lang.ref.Reference;
+
+import org.pdfsam.eventstudio.Listeners.ListenerReferenceHolder;
 
 /**
  * Possible reference strengths of the listeners
@@ -29,25 +30,41 @@ import java.lang.ref.WeakReference;
 public enum ReferenceStrength {
     STRONG {
         @Override
-        <T> Entity<T> getReference(T referent) {
-            return new Entity.StrongEntity<>(referent);
+        Object hold(Object referent, Listeners listeners, Class<?> eventClass, ListenerReferenceHolder holder) {
+            return referent;
+        }
+
+        @Override
+        Object get(Object target) {
+            return target;
         }
     },
     SOFT {
         @Override
-        <T> Entity<T> getReference(T referent) {
-            return new Entity.ReferencedEntity<>(new SoftReference<>(referent));
+        Object hold(Object referent, Listeners listeners, Class<?> eventClass, ListenerReferenceHolder holder) {
+            return ReferenceCleaner.soft(referent, listeners, eventClass, holder);
         }
     },
     WEAK {
         @Override
-        <T> Entity<T> getReference(T referent) {
-            return new Entity.ReferencedEntity<>(new WeakReference<>(referent));
+        Object hold(Object referent, Listeners listeners, Class<?> eventClass, ListenerReferenceHolder holder) {
+            return ReferenceCleaner.weak(referent, listeners, eventClass, holder);
         }
     };
 
     /**
-     * @return the referent wrapped with the appropriate {@link Entity} instance.
+     * @return what the given holder of a listener registered with this strength holds: the referent itself or a {@link Reference} to it, removing the holder from the
+     *         given {@link Listeners} once the referent is garbage collected
+     * @see ReferenceCleaner
+     */
+    abstract Object hold(Object referent, Listeners listeners, Class<?> eventClass, ListenerReferenceHolder holder);
+
+    /**
+     * @param target
+     *            what was returned by {@link #hold(Object, Listeners, Class, ListenerReferenceHolder)}
+     * @return the referent or null if it has been garbage collected
      */
-    abstract <T> Entity<T> getReference(T referent);
+    Object get(Object target) {
+        return ((Reference<?>) target).get();
+    }
 }
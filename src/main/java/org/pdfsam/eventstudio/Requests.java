@@ -0,0 +1,78 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.pdfsam.eventstudio.EventStudio.REQUEST_TIMEOUT_PROP;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.pdfsam.eventstudio.exception.EventStudioException;
+
+/**
+ * Requests made to stations. The reply to a request is a {@link CompletableFuture} completed by the {@link Responder} of the station and failed if it times out, timeouts
+ * are timers of the shared {@link TimingWheel}, cancelled as soon as the reply is completed.
+ * 
+ * @author Andrea Vacondio
+ */
+final class Requests {
+
+    /**
+     * timeout of the requests made without one
+     */
+    static final Duration DEFAULT_TIMEOUT = Duration.ofMillis(Long.getLong(REQUEST_TIMEOUT_PROP, 30000));
+
+    private Requests() {
+        // hide
+    }
+
+    /**
+     * @return the reply of the given responder to the given request, failed with an {@link EventStudioException} if the responder is null
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    static <R> CompletableFuture<R> respond(Responder responder, Object request, String station) {
+        CompletableFuture<R> reply = new CompletableFuture<>();
+        if (responder == null) {
+            reply.completeExceptionally(new EventStudioException(
+                    String.format("No responder for %s on station %s", request.getClass().getName(), station)));
+            return reply;
+        }
+        try {
+            responder.respond(request, reply);
+        } catch (RuntimeException e) {
+            reply.completeExceptionally(e);
+        }
+        return reply;
+    }
+
+    /**
+     * Fails the given reply with a {@link TimeoutException} if it's not completed within the given timeout
+     * 
+     * @return the given reply
+     */
+    static <R> CompletableFuture<R> timeout(CompletableFuture<R> reply, Duration timeout) {
+        if (!reply.isDone()) {
+            ScheduledBroadcast timer = TimingWheel.shared().schedule(
+                    () -> reply.completeExceptionally(new TimeoutException("No reply within " + timeout)), timeout.toNanos(), TimeUnit.NANOSECONDS);
+            reply.whenComplete((value, failure) -> timer.cancel());
+        }
+        return reply;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Replies to the requests made to a station with {@link EventStudio#request(Object, String)}. A station has at most one responder for each request class and, as for
+ * {@link Listener}s, the class of the request has to match exactly. The responder completes the reply, right away or later, from any thread, so that requests don't block
+ * threads while they are pending:
+ * 
+ * <pre>
+ * {@code
+ * studio.addResponder(PageCountRequest.class, (request, reply) -> reply.complete(document(request.path()).pages()), "documents");
+ * studio.addResponder(ThumbnailRequest.class, (request, reply) -> renderer.submit(() -> reply.complete(render(request))), "documents");
+ * }
+ * </pre>
+ * 
+ * @author Andrea Vacondio
+ * @param <T>
+ *            type of the requests
+ * @param <R>
+ *            type of the replies
+ */
+@FunctionalInterface
+public interface Responder<T, R> {
+
+    /**
+     * Replies to the given request. An exception thrown by this method completes the reply exceptionally.
+     * 
+     * @param reply
+     *            the reply to complete, normally or exceptionally. Once the request timed out completing it has no effect.
+     */
+    void respond(T request, CompletableFuture<R> reply);
+}
@@ -0,0 +1,44 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+/**
+ * A broadcast scheduled with {@link EventStudio#broadcastAfter(Object, java.time.Duration, String)}, {@link EventStudio#broadcastAt(Object, java.time.Instant, String)} or
+ * {@link EventStudio#broadcastEvery(Object, java.time.Duration, String)} that can be cancelled until it's done.
+ * 
+ * @author Andrea Vacondio
+ */
+public interface ScheduledBroadcast {
+
+    /**
+     * Cancels the broadcast, a periodic one is not repeated anymore. A broadcast already in progress is not interrupted.
+     * 
+     * @return true if the broadcast was cancelled, false if it was already done or cancelled
+     */
+    boolean cancel();
+
+    /**
+     * @return true if the broadcast has been cancelled
+     */
+    boolean isCancelled();
+
+    /**
+     * @return true if the broadcast has been made or cancelled. A periodic broadcast is done only once cancelled.
+     */
+    boolean isDone();
+}
@@ -18,27 +18,41 @@
 package org.pdfsam.eventstudio;
 
 import static org.pdfsam.eventstudio.EventStudio.MAX_QUEUE_SIZE_PROP;
+import static org.pdfsam.eventstudio.EventStudio.METRICS_PROP;
+import static org.pdfsam.eventstudio.EventStudio.TRACE_PROP;
+import static org.pdfsam.eventstudio.EventStudio.TRAMPOLINE_PROP;
 import static org.pdfsam.eventstudio.util.ReflectionUtils.inferParameterClass;
 import static org.pdfsam.eventstudio.util.RequireUtils.requireNotBlank;
 import static org.pdfsam.eventstudio.util.RequireUtils.requireNotNull;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.pdfsam.eventstudio.Annotations.ReflectiveListenerDescriptor;
 import org.pdfsam.eventstudio.Listeners.ListenerReferenceHolder;
-import org.pdfsam.eventstudio.Listeners.ListenerWrapper;
 import org.pdfsam.eventstudio.exception.BroadcastInterruptionException;
 import org.pdfsam.eventstudio.exception.EventStudioException;
 import org.pdfsam.eventstudio.util.ReflectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 /**
- * A {@link Station} is a place where broadcaster events are actually transmitted to the registered {@link Listener}s
+ * A {@link Station} is a place where broadcaster events are actually transmitted to the registered {@link Listener}s.
+ * <p>
+ * A station belonging to a {@link Stations} can be reaped when empty, once reaped every call to the station is forwarded to the station currently registered with the same name,
+ * so references to a reaped station are still safe to use.
+ * </p>
  * 
  * @author Andrea Vacondio
  * 
@@ -48,13 +62,46 @@ class Station {
     private static final Logger LOG = LoggerFactory.getLogger(Station.class);
 
     private final ConcurrentMap<Class<?>, BlockingQueue<Object>> queues = new ConcurrentHashMap<>();
-    private final Listeners listeners = new Listeners();
+    /**
+     * copy on write, replaced when responders change
+     */
+    private volatile Map<Class<?>, Responder<?, ?>> responders = Map.of();
+    private final Listeners listeners = new Listeners(this::collected);
+    private final PrimitiveChannel<IntListener> intListeners = new PrimitiveChannel<>();
+    private final PrimitiveChannel<LongListener> longListeners = new PrimitiveChannel<>();
+    private final PrimitiveChannel<DoubleListener> doubleListeners = new PrimitiveChannel<>();
     private volatile Supervisor supervisor = Supervisor.SLACKER;
+    private final SupervisorTaps taps = new SupervisorTaps();
     private final String name;
+    private final Stations owner;
+    /**
+     * number of operations currently using the station, negative if the station has been reaped
+     */
+    private final AtomicInteger users = new AtomicInteger();
+    private volatile long lastUsed = System.nanoTime();
+    /**
+     * null if metrics are disabled
+     */
+    private final MetricsRecorder metrics;
+    private final boolean tracing;
+    private final boolean trampolined;
 
     Station(String name) {
+        this(name, null);
+    }
+
+    /**
+     * @param owner
+     *            the {@link Stations} this station belongs to, notified when the station starts or stops listening for an event class and when it's released. It can be
+     *            null.
+     */
+    Station(String name, Stations owner) {
         requireNotBlank(name);
         this.name = name;
+        this.owner = owner;
+        this.metrics = Boolean.getBoolean(METRICS_PROP) ? new MetricsRecorder() : null;
+        this.tracing = Boolean.getBoolean(TRACE_PROP);
+        this.trampolined = Boolean.getBoolean(TRAMPOLINE_PROP);
     }
 
     private BlockingQueue<Object> getQueue(Class<?> clazz) {
@@ -71,39 +118,237 @@ class Station {
     }
 
     public void broadcast(Object event) {
-        LOG.debug("{}: Broadcasting {}", this, event);
+        broadcast(event, true);
+    }
+
+    /**
+     * Broadcasts the given event to the station
+     * 
+     * @param enqueue
+     *            if true and no {@link Listener} is notified, the event is enqueued and delivered as soon as a {@link Listener} for it is added
+     */
+    void broadcast(Object event, boolean enqueue) {
         requireNotNull(event);
-        LOG.trace("{}: Supervisor {} about to inspect", this, supervisor);
-        supervisor.inspect(event);
-        LOG.trace("{}: Listeners about to listen", this);
+        if (trampolined) {
+            Trampoline.bounce(() -> transmit(event, enqueue));
+        } else {
+            transmit(event, enqueue);
+        }
+    }
+
+    private void transmit(Object event, boolean enqueue) {
+        if (!enter()) {
+            successor().transmit(event, enqueue);
+            return;
+        }
+        Trace previous = tracing ? Trace.begin() : null;
         try {
-            doBroadcast(event);
+            LOG.debug("{}: Broadcasting {}", this, event);
+            LOG.trace("{}: Supervisor {} about to inspect", this, supervisor);
+            Dispatch.broadcasted(metrics, event.getClass(), tracing);
+            inspect(event);
+            LOG.trace("{}: Listeners about to listen", this);
+            doBroadcast(event, enqueue);
         } catch (BroadcastInterruptionException e) {
             LOG.info("Broadcasting was interrupted.", e);
+        } finally {
+            if (tracing) {
+                Trace.restore(previous);
+            }
+            exit();
         }
     }
 
-    private boolean doBroadcast(Object event) {
-        List<ListenerReferenceHolder> eventListeners = listeners.nullSafeGetListeners(event.getClass());
-        LOG.debug("{}: Found {} listeners", this, eventListeners.size());
-        Envelope enveloped = new Envelope(event);
-        for (ListenerReferenceHolder holder : eventListeners) {
-            ListenerWrapper listener = holder.getListenerWrapper();
-            if (listener != null) {
-                LOG.trace("{}: Notifying event {} to {}", this, event, listener);
-                listener.onEvent(enveloped);
+    /**
+     * Broadcasts the event returned by the given supplier to the station. The supplier is called only if there are {@link Listener}s for the given event class, if the station
+     * has a {@link Supervisor} or if the policy says so.
+     * 
+     * @param policy
+     *            what to do when no {@link Listener} is listening for the given event class
+     */
+    <T> void broadcast(Class<T> eventClass, Supplier<? extends T> supplier, PendingPolicy policy) {
+        requireNotNull(eventClass);
+        requireNotNull(supplier);
+        requireNotNull(policy);
+        if (trampolined) {
+            Trampoline.bounce(() -> transmit(eventClass, supplier, policy));
+        } else {
+            transmit(eventClass, supplier, policy);
+        }
+    }
+
+    private <T> void transmit(Class<T> eventClass, Supplier<? extends T> supplier, PendingPolicy policy) {
+        if (!enter()) {
+            successor().transmit(eventClass, supplier, policy);
+            return;
+        }
+        Trace previous = tracing ? Trace.begin() : null;
+        try {
+            if (listeners.hasListeners(eventClass) || supervisor != Supervisor.SLACKER || !taps.isEmpty()
+                    || policy == PendingPolicy.ENQUEUE) {
+                Object event = supplier.get();
+                requireNotNull(event);
+                LOG.debug("{}: Broadcasting supplied {}", this, event);
+                Dispatch.broadcasted(metrics, event.getClass(), tracing);
+                inspect(event);
+                doBroadcast(event, policy != PendingPolicy.DISCARD);
+            } else if (policy == PendingPolicy.DEFER) {
+                LOG.debug("{}: No one is listening for {}, deferring the event", this, eventClass);
+                BlockingQueue<Object> queue = getQueue(eventClass);
+                boolean enqueued = queue.offer(traced(new Deferred(supplier)));
+                if (!enqueued) {
+                    LOG.warn("{}: Max capacity might be reached, unable to store unlistened event supplier, it's going to be lost {}", this,
+                            eventClass);
+                }
+                enqueued(eventClass, enqueued, queue);
+                if (enqueued && listeners.hasListeners(eventClass)) {
+                    // a listener added in the meantime might have drained the queue before the supplier was in it
+                    broadcastEnqueuedEventsFor(eventClass);
+                }
             } else {
-                LOG.debug("{}: Removing garbage collected listener from the station", this);
-                listeners.remove(event.getClass(), holder);
+                LOG.debug("{}: No one is listening for {}, the event is discarded", this, eventClass);
+            }
+        } catch (BroadcastInterruptionException e) {
+            LOG.info("Broadcasting was interrupted.", e);
+        } finally {
+            if (tracing) {
+                Trace.restore(previous);
             }
+            exit();
         }
-        if (!enveloped.isNotified()) {
-            LOG.debug("{}: No one is listening for {}, enqueuing for future listeners", this, event);
-            if (!getQueue(event.getClass()).offer(event)) {
-                LOG.warn("{}: Max capacity might be reached, unable to store unlistened event, it's going to be lost {}", this, event);
+    }
+
+    /**
+     * Broadcasts the given event to the given stations. Every {@link Supervisor} of the stations inspects the event, then listeners of the stations are notified in priority order
+     * and a listener registered on more than one of the given stations is notified only by the first one. Stations with no listeners for the event enqueue it.
+     */
+    static void broadcast(Object event, Station[] stations) {
+        requireNotNull(event);
+        requireNotNull(stations);
+        boolean trampolined = false;
+        for (Station station : stations) {
+            trampolined |= station.trampolined;
+        }
+        if (trampolined) {
+            Trampoline.bounce(() -> transmit(event, stations));
+        } else {
+            transmit(event, stations);
+        }
+    }
+
+    private static void transmit(Object event, Station[] stations) {
+        int entered = 0;
+        boolean tracing = false;
+        Trace previous = null;
+        try {
+            for (; entered < stations.length; entered++) {
+                while (!stations[entered].enter()) {
+                    stations[entered] = stations[entered].successor();
+                }
+                tracing |= stations[entered].tracing;
             }
+            if (tracing) {
+                previous = Trace.begin();
+            }
+            LOG.debug("Broadcasting {} to {} stations", event, stations.length);
+            ListenerReferenceHolder[][] listeners = new ListenerReferenceHolder[stations.length][];
+            MetricsRecorder[] metrics = new MetricsRecorder[stations.length];
+            for (int i = 0; i < stations.length; i++) {
+                Dispatch.broadcasted(stations[i].metrics, event.getClass(), stations[i].tracing);
+                stations[i].inspect(event);
+                metrics[i] = stations[i].metrics;
+            }
+            for (int i = 0; i < stations.length; i++) {
+                listeners[i] = stations[i].listeners.listeners(event);
+            }
+            if (Dispatch.multicast(event, listeners, metrics)) {
+                for (int i = 0; i < stations.length; i++) {
+                    if (listeners[i].length == 0) {
+                        stations[i].pend(event);
+                    }
+                }
+            }
+        } catch (BroadcastInterruptionException e) {
+            LOG.info("Broadcasting was interrupted.", e);
+        } finally {
+            if (tracing) {
+                Trace.restore(previous);
+            }
+            for (int i = 0; i < entered; i++) {
+                stations[i].exit();
+            }
+        }
+    }
+
+    /**
+     * @return the given event to enqueue, together with the trace of the current broadcast if the station is tracing
+     */
+    private Object traced(Object event) {
+        if (tracing) {
+            return new Trace.Traced(event, Trace.current());
+        }
+        return event;
+    }
+
+    /**
+     * Notifies the event to the listeners, through the specialized dispatcher when available, recording metrics and flight recorder events when enabled. Once the JIT has
+     * warmed up it doesn't allocate when there are listeners for the event.
+     * 
+     * @return true if at least a listener has been notified
+     */
+    private boolean doBroadcast(Object event, boolean enqueue) {
+        boolean notified;
+        if (Dispatch.observing(metrics)) {
+            // one by one, never through the specialized dispatcher, so that each invocation is timed
+            notified = Dispatch.observed(name, event, listeners.listeners(event), metrics);
+        } else {
+            Envelope enveloped = Envelope.acquire(event);
+            try {
+                if (listeners.dispatch(enveloped)) {
+                    LOG.trace("{}: Event dispatched by the specialized dispatcher", this);
+                    return true;
+                }
+                Dispatch.notify(this, enveloped, listeners.listeners(event));
+                notified = enveloped.isNotified();
+            } finally {
+                enveloped.release();
+            }
+        }
+        if (enqueue && !notified) {
+            pend(event);
+        }
+        return notified;
+    }
+
+    /**
+     * Enqueues the event no listener has been notified of, replaying the queue if a listener for it has been added in the meantime: the add might have drained the queue
+     * before the event was in it.
+     */
+    private void pend(Object event) {
+        if (enqueue(event) && listeners.listeners(event).length > 0) {
+            broadcastEnqueuedEventsFor(event.getClass());
+        }
+    }
+
+    private boolean enqueue(Object event) {
+        LOG.debug("{}: No one is listening for {}, enqueuing for future listeners", this, event);
+        BlockingQueue<Object> queue = getQueue(event.getClass());
+        boolean enqueued = queue.offer(traced(event));
+        if (!enqueued) {
+            LOG.warn("{}: Max capacity might be reached, unable to store unlistened event, it's going to be lost {}", this, event);
+        }
+        enqueued(event.getClass(), enqueued, queue);
+        return enqueued;
+    }
+
+    private void enqueued(Class<?> eventClass, boolean enqueued, BlockingQueue<Object> queue) {
+        if (metrics != null) {
+            MetricsRecorder.EventClassMetrics eventMetrics = metrics.of(eventClass);
+            (enqueued ? eventMetrics.enqueued : eventMetrics.dropped).increment();
+        }
+        if (JfrSupport.AVAILABLE) {
+            StudioEvents.enqueued(name, eventClass, !enqueued, queue.size());
         }
-        return enveloped.isNotified();
     }
 
     <T> void add(Listener<T> listener, int priority, ReferenceStrength strength) {
@@ -117,30 +362,146 @@ class Station {
     }
 
     <T> void add(Class<T> eventClass, Listener<T> listener, int priority, ReferenceStrength strength) {
+        add(eventClass, listener, priority, strength, null);
+    }
+
+    /**
+     * @param courier
+     *            delivering the events to the listener through its executor, null to notify the listener on the broadcasting thread
+     */
+    <T> void add(Class<T> eventClass, Listener<T> listener, int priority, ReferenceStrength strength, Courier courier) {
+        requireNotNull(eventClass);
+        requireNotNull(listener);
+        if (!enter()) {
+            successor().add(eventClass, listener, priority, strength, courier);
+            return;
+        }
+        try {
+            LOG.debug("{}: Adding listener {} [priority={} strength={} executor={}]", this, listener, priority, strength, courier);
+            listeners.add(eventClass, listener, priority, strength, courier);
+            if (JfrSupport.AVAILABLE) {
+                StudioEvents.registration(name, eventClass, listener.getClass(), priority, strength, true);
+            }
+            added(eventClass);
+            broadcastEnqueuedEventsFor(eventClass);
+        } finally {
+            exit();
+        }
+    }
+
+    <T, K> void add(Class<T> eventClass, Function<? super T, ? extends K> keyExtractor, K key, Listener<T> listener, int priority,
+            ReferenceStrength strength) {
         requireNotNull(eventClass);
+        requireNotNull(keyExtractor);
+        requireNotNull(key);
         requireNotNull(listener);
-        LOG.debug("{}: Adding listener {} [priority={} strength={}]", this, listener, priority, strength);
-        listeners.add(eventClass, listener, priority, strength);
-        broadcastEnqueuedEventsFor(eventClass);
+        if (!enter()) {
+            successor().add(eventClass, keyExtractor, key, listener, priority, strength);
+            return;
+        }
+        try {
+            LOG.debug("{}: Adding listener {} [key={} priority={} strength={}]", this, listener, key, priority, strength);
+            listeners.add(eventClass, keyExtractor, key, listener, priority, strength);
+            if (JfrSupport.AVAILABLE) {
+                StudioEvents.registration(name, eventClass, listener.getClass(), priority, strength, true);
+            }
+            added(eventClass);
+            broadcastEnqueuedEventsFor(eventClass);
+        } finally {
+            exit();
+        }
     }
 
     void addAll(Object bean, List<ReflectiveListenerDescriptor> descriptors) {
         requireNotNull(descriptors);
-        LOG.debug("{}: Adding {} reflective listeners for {}", this, descriptors.size(), bean);
-        Set<Class<?>> updatedEventClasses = listeners.addAll(bean, descriptors);
-        for (Class<?> updatedClass : updatedEventClasses) {
-            broadcastEnqueuedEventsFor(updatedClass);
+        if (!enter()) {
+            successor().addAll(bean, descriptors);
+            return;
+        }
+        try {
+            LOG.debug("{}: Adding {} reflective listeners for {}", this, descriptors.size(), bean);
+            Set<Class<?>> updatedEventClasses = listeners.addAll(bean, descriptors, this::courier);
+            if (JfrSupport.AVAILABLE) {
+                for (ReflectiveListenerDescriptor descriptor : descriptors) {
+                    StudioEvents.registration(name, descriptor.method().getParameterTypes()[0], bean.getClass(), descriptor.listenerAnnotation().priority(),
+                            descriptor.listenerAnnotation().strength(), true);
+                }
+            }
+            for (Class<?> updatedClass : updatedEventClasses) {
+                added(updatedClass);
+                broadcastEnqueuedEventsFor(updatedClass);
+            }
+        } finally {
+            exit();
         }
     }
 
     private void broadcastEnqueuedEventsFor(Class<?> updatedClass) {
-        BlockingQueue<Object> queue = getQueue(updatedClass);
+        BlockingQueue<Object> queue = queues.get(updatedClass);
+        if (queue == null || queue.isEmpty()) {
+            return;
+        }
+        Object drain = JfrSupport.AVAILABLE ? StudioEvents.beginDrain() : null;
+        int replayed = 0;
         Object event = null;
-        boolean keepBroadcasting = true;
-        while (keepBroadcasting && (event = queue.poll()) != null) {
-            LOG.debug("{}: Found enqueued event {}, now broadcasting it.", this, event);
-            keepBroadcasting = doBroadcast(event);
+        // events no one listens for are enqueued again, keyed listeners might be interested only in some of them
+        for (int pending = queue.size(); pending > 0 && (event = queue.poll()) != null; pending--) {
+            Trace trace = null;
+            if (event instanceof Trace.Traced traced) {
+                trace = traced.trace();
+                event = traced.event();
+            }
+            // the replay is a child of the broadcast that enqueued the event
+            Trace previous = trace != null ? Trace.begin(trace) : null;
+            try {
+                if (event instanceof Deferred deferred) {
+                    event = deferred.supplier().get();
+                    if (event == null) {
+                        LOG.warn("{}: Deferred event supplier returned null, nothing to broadcast", this);
+                        continue;
+                    }
+                }
+                LOG.debug("{}: Found enqueued event {}, now broadcasting it.", this, event);
+                if (metrics != null) {
+                    metrics.of(event.getClass()).replayed.increment();
+                }
+                replayed++;
+                if (!doBroadcast(event, false)) {
+                    enqueue(event);
+                }
+            } finally {
+                if (trace != null) {
+                    Trace.restore(previous);
+                }
+            }
+        }
+        if (drain != null) {
+            StudioEvents.endDrain(drain, name, updatedClass, replayed);
+        }
+    }
+
+    /**
+     * @return the courier of the executor with the given name, added to the owner of the station
+     */
+    private Courier courier(String executor) {
+        if (owner == null) {
+            throw new EventStudioException("Unknown executor " + executor);
         }
+        return owner.courier(executor);
+    }
+
+    /**
+     * @return true if the station has {@link Listener}s for the given event class
+     */
+    boolean hasListeners(Class<?> eventClass) {
+        requireNotNull(eventClass);
+        return listeners.hasListeners(eventClass);
+    }
+
+    /**
+     * An event supplier enqueued in place of the event it supplies
+     */
+    private record Deferred(Supplier<?> supplier) {
     }
 
     <T> boolean remove(Listener<T> listener) {
@@ -156,8 +517,253 @@ class Station {
     <T> boolean remove(Class<T> eventClass, Listener<T> listener) {
         requireNotNull(eventClass);
         requireNotNull(listener);
-        LOG.debug("{}: Removing listener {} [eventClass={}]", this, listener, eventClass);
-        return listeners.remove(eventClass, listener);
+        if (!enter()) {
+            return successor().remove(eventClass, listener);
+        }
+        try {
+            LOG.debug("{}: Removing listener {} [eventClass={}]", this, listener, eventClass);
+            if (listeners.remove(eventClass, listener)) {
+                if (JfrSupport.AVAILABLE) {
+                    StudioEvents.registration(name, eventClass, listener.getClass(), 0, null, false);
+                }
+                removed(eventClass);
+                return true;
+            }
+            return false;
+        } finally {
+            exit();
+        }
+    }
+
+    void addIntListener(IntListener listener, int priority) {
+        requireNotNull(listener);
+        if (!enter()) {
+            successor().addIntListener(listener, priority);
+            return;
+        }
+        try {
+            LOG.debug("{}: Adding int listener {} [priority={}]", this, listener, priority);
+            intListeners.add(listener, priority);
+        } finally {
+            exit();
+        }
+    }
+
+    boolean removeIntListener(IntListener listener) {
+        requireNotNull(listener);
+        if (!enter()) {
+            return successor().removeIntListener(listener);
+        }
+        try {
+            LOG.debug("{}: Removing int listener {}", this, listener);
+            return intListeners.remove(listener);
+        } finally {
+            exit();
+        }
+    }
+
+    /**
+     * Broadcasts the given int event to the {@link IntListener}s of the station, without boxing it. The {@link Supervisor} doesn't inspect primitive events and they are
+     * not enqueued if no one is listening.
+     */
+    void broadcastInt(int event) {
+        if (!enter()) {
+            successor().broadcastInt(event);
+            return;
+        }
+        try {
+            Dispatch.notifyInt(intListeners.listeners(), event);
+        } finally {
+            exit();
+        }
+    }
+
+    void addLongListener(LongListener listener, int priority) {
+        requireNotNull(listener);
+        if (!enter()) {
+            successor().addLongListener(listener, priority);
+            return;
+        }
+        try {
+            LOG.debug("{}: Adding long listener {} [priority={}]", this, listener, priority);
+            longListeners.add(listener, priority);
+        } finally {
+            exit();
+        }
+    }
+
+    boolean removeLongListener(LongListener listener) {
+        requireNotNull(listener);
+        if (!enter()) {
+            return successor().removeLongListener(listener);
+        }
+        try {
+            LOG.debug("{}: Removing long listener {}", this, listener);
+            return longListeners.remove(listener);
+        } finally {
+            exit();
+        }
+    }
+
+    /**
+     * Broadcasts the given long event to the {@link LongListener}s of the station, without boxing it. The {@link Supervisor} doesn't inspect primitive events and they are
+     * not enqueued if no one is listening.
+     */
+    void broadcastLong(long event) {
+        if (!enter()) {
+            successor().broadcastLong(event);
+            return;
+        }
+        try {
+            Dispatch.notifyLong(longListeners.listeners(), event);
+        } finally {
+            exit();
+        }
+    }
+
+    void addDoubleListener(DoubleListener listener, int priority) {
+        requireNotNull(listener);
+        if (!enter()) {
+            successor().addDoubleListener(listener, priority);
+            return;
+        }
+        try {
+            LOG.debug("{}: Adding double listener {} [priority={}]", this, listener, priority);
+            doubleListeners.add(listener, priority);
+        } finally {
+            exit();
+        }
+    }
+
+    boolean removeDoubleListener(DoubleListener listener) {
+        requireNotNull(listener);
+        if (!enter()) {
+            return successor().removeDoubleListener(listener);
+        }
+        try {
+            LOG.debug("{}: Removing double listener {}", this, listener);
+            return doubleListeners.remove(listener);
+        } finally {
+            exit();
+        }
+    }
+
+    /**
+     * Broadcasts the given double event to the {@link DoubleListener}s of the station, without boxing it. The {@link Supervisor} doesn't inspect primitive events and they are
+     * not enqueued if no one is listening.
+     */
+    void broadcastDouble(double event) {
+        if (!enter()) {
+            successor().broadcastDouble(event);
+            return;
+        }
+        try {
+            Dispatch.notifyDouble(doubleListeners.listeners(), event);
+        } finally {
+            exit();
+        }
+    }
+
+    /**
+     * Adds the {@link Responder} replying to the requests of the given class
+     * 
+     * @throws EventStudioException
+     *             if the station already has a responder for the given class
+     */
+    <T, R> void addResponder(Class<T> eventClass, Responder<T, R> responder) {
+        requireNotNull(eventClass);
+        requireNotNull(responder);
+        if (!enter()) {
+            successor().addResponder(eventClass, responder);
+            return;
+        }
+        try {
+            LOG.debug("{}: Adding responder {} for {}", this, responder, eventClass);
+            synchronized (this) {
+                if (responders.containsKey(eventClass)) {
+                    throw new EventStudioException(String.format("%s already has a responder for %s", this, eventClass.getName()));
+                }
+                Map<Class<?>, Responder<?, ?>> current = new HashMap<>(responders);
+                current.put(eventClass, responder);
+                responders = Map.copyOf(current);
+            }
+        } finally {
+            exit();
+        }
+    }
+
+    /**
+     * Removes the given {@link Responder} of the requests of the given class
+     * 
+     * @return true if the responder was successfully removed
+     */
+    <T> boolean removeResponder(Class<T> eventClass, Responder<T, ?> responder) {
+        requireNotNull(eventClass);
+        requireNotNull(responder);
+        if (!enter()) {
+            return successor().removeResponder(eventClass, responder);
+        }
+        try {
+            LOG.debug("{}: Removing responder {} for {}", this, responder, eventClass);
+            synchronized (this) {
+                if (!responder.equals(responders.get(eventClass))) {
+                    return false;
+                }
+                Map<Class<?>, Responder<?, ?>> current = new HashMap<>(responders);
+                current.remove(eventClass);
+                responders = Map.copyOf(current);
+                return true;
+            }
+        } finally {
+            exit();
+        }
+    }
+
+    /**
+     * Hands the given request to the {@link Responder} for its class. The request is not broadcasted to the {@link Listener}s, nor inspected by the {@link Supervisor}s.
+     * 
+     * @return the reply, failed with an {@link EventStudioException} if there's no responder for the request
+     */
+    <R> CompletableFuture<R> request(Object request) {
+        requireNotNull(request);
+        if (!enter()) {
+            return successor().request(request);
+        }
+        try {
+            return Requests.respond(responders.get(request.getClass()), request, name);
+        } finally {
+            exit();
+        }
+    }
+
+    private void added(Class<?> eventClass) {
+        if (owner != null) {
+            owner.listening(this, eventClass);
+        }
+    }
+
+    /**
+     * Garbage collected listeners for the given event class have been removed
+     */
+    private void collected(Class<?> eventClass) {
+        if (!enter()) {
+            return;
+        }
+        try {
+            removed(eventClass);
+        } finally {
+            exit();
+        }
+    }
+
+    private void removed(Class<?> eventClass) {
+        if (owner != null && !listeners.hasListeners(eventClass)) {
+            owner.notListening(this, eventClass);
+            // a listener might have been added in the meantime
+            if (listeners.hasListeners(eventClass)) {
+                owner.listening(this, eventClass);
+            }
+        }
     }
 
     /**
@@ -175,7 +781,291 @@ class Station {
 
     public void supervisor(Supervisor supervisor) {
         requireNotNull(supervisor);
-        this.supervisor = supervisor;
+        if (!enter()) {
+            successor().supervisor(supervisor);
+            return;
+        }
+        try {
+            this.supervisor = supervisor;
+        } finally {
+            exit();
+        }
+    }
+
+    /**
+     * Adds the given {@link Supervisor} to the station, next to the one set with {@link #supervisor(Supervisor)}
+     */
+    void addSupervisor(Supervisor supervisor, SupervisorOptions options) {
+        requireNotNull(supervisor);
+        requireNotNull(options);
+        if (!enter()) {
+            successor().addSupervisor(supervisor, options);
+            return;
+        }
+        try {
+            LOG.debug("{}: Adding supervisor {} {}", this, supervisor, options);
+            taps.add(new SupervisorTap(supervisor, options, name));
+        } finally {
+            exit();
+        }
+    }
+
+    /**
+     * Removes the first occurrence of the given {@link Supervisor} added with {@link #addSupervisor(Supervisor, SupervisorOptions)}
+     * 
+     * @return true if the supervisor was successfully removed
+     */
+    boolean removeSupervisor(Supervisor supervisor) {
+        requireNotNull(supervisor);
+        if (!enter()) {
+            return successor().removeSupervisor(supervisor);
+        }
+        try {
+            LOG.debug("{}: Removing supervisor {}", this, supervisor);
+            SupervisorTap tap = taps.remove(supervisor);
+            if (tap != null) {
+                tap.close();
+                return true;
+            }
+            return false;
+        } finally {
+            exit();
+        }
+    }
+
+    /**
+     * Removes every {@link Supervisor} added with {@link #addSupervisor(Supervisor, SupervisorOptions)}, stopping the threads of the async ones
+     */
+    void removeSupervisors() {
+        for (SupervisorTap tap : taps.clear()) {
+            tap.close();
+        }
+    }
+
+    /**
+     * The event is inspected by the {@link Supervisor} and by the added ones
+     */
+    private void inspect(Object event) {
+        supervisor.inspect(event);
+        for (SupervisorTap tap : taps.taps()) {
+            tap.inspect(event);
+        }
+    }
+
+    /**
+     * @return a snapshot of the metrics of the station or null if metrics are disabled
+     */
+    StationMetrics metrics() {
+        if (metrics == null) {
+            return null;
+        }
+        return metrics.snapshot(name, eventClass -> {
+            BlockingQueue<Object> queue = queues.get(eventClass);
+            return queue == null ? 0 : queue.size();
+        });
+    }
+
+    /**
+     * @return number of listeners by event class name and priority. Primitive listeners are counted under the name of the primitive type.
+     */
+    Map<String, Map<Integer, Integer>> listenerCounts() {
+        Map<String, Map<Integer, Integer>> counts = new TreeMap<>();
+        listeners.forEach((eventClass, listener) -> count(counts, eventClass.getName(), listener.priority));
+        intListeners.forEach((listener, priority) -> count(counts, int.class.getName(), priority));
+        longListeners.forEach((listener, priority) -> count(counts, long.class.getName(), priority));
+        doubleListeners.forEach((listener, priority) -> count(counts, double.class.getName(), priority));
+        return counts;
+    }
+
+    private static void count(Map<String, Map<Integer, Integer>> counts, String eventClass, int priority) {
+        counts.computeIfAbsent(eventClass, k -> new TreeMap<>()).merge(priority, 1, Integer::sum);
+    }
+
+    /**
+     * @return number of events waiting for a listener by event class name, deferred suppliers included
+     */
+    Map<String, Integer> pendingEvents() {
+        Map<String, Integer> pending = new TreeMap<>();
+        queues.forEach((eventClass, queue) -> {
+            int size = queue.size();
+            if (size > 0) {
+                pending.put(eventClass.getName(), size);
+            }
+        });
+        return pending;
+    }
+
+    /**
+     * @return the supervisor set with {@link #supervisor(Supervisor)}, unless it's the default one, followed by the added ones
+     */
+    List<Supervisor> supervisors() {
+        List<Supervisor> supervisors = new ArrayList<>();
+        Supervisor current = supervisor;
+        if (current != Supervisor.SLACKER) {
+            supervisors.add(current);
+        }
+        for (SupervisorTap tap : taps.taps()) {
+            supervisors.add(tap.supervisor());
+        }
+        return supervisors;
+    }
+
+    /**
+     * @return the number of events the async supervisors of the station didn't inspect because their queue was full
+     */
+    long supervisorDrops() {
+        long dropped = 0;
+        for (SupervisorTap tap : taps.taps()) {
+            dropped += tap.dropped();
+        }
+        return dropped;
+    }
+
+    /**
+     * Discards the events waiting for a listener
+     * 
+     * @return the number of discarded events
+     */
+    int discardPending() {
+        if (!enter()) {
+            return successor().discardPending();
+        }
+        try {
+            int discarded = 0;
+            for (BlockingQueue<Object> queue : queues.values()) {
+                while (queue.poll() != null) {
+                    discarded++;
+                }
+            }
+            LOG.debug("{}: Discarded {} pending events", this, discarded);
+            return discarded;
+        } finally {
+            exit();
+        }
+    }
+
+    /**
+     * @return a human readable description of the supervisors, listeners and pending events of the station
+     */
+    String dump() {
+        StringBuilder dump = new StringBuilder(toString()).append(System.lineSeparator());
+        dump.append("Supervisors: ").append(supervisors()).append(System.lineSeparator());
+        dump.append("Listeners:").append(System.lineSeparator());
+        Map<String, List<String>> byClass = new TreeMap<>();
+        listeners.forEach((eventClass, listener) -> byClass.computeIfAbsent(eventClass.getName(), k -> new ArrayList<>())
+                .add(listener + " " + listener.strength));
+        describe(intListeners, int.class, byClass);
+        describe(longListeners, long.class, byClass);
+        describe(doubleListeners, double.class, byClass);
+        byClass.forEach((eventClass, current) -> {
+            dump.append("  ").append(eventClass).append(System.lineSeparator());
+            current.forEach(listener -> dump.append("    ").append(listener).append(System.lineSeparator()));
+        });
+        dump.append("Pending events:").append(System.lineSeparator());
+        pendingEvents().forEach(
+                (eventClass, pending) -> dump.append("  ").append(eventClass).append(": ").append(pending).append(System.lineSeparator()));
+        return dump.toString();
+    }
+
+    private static void describe(PrimitiveChannel<?> channel, Class<?> type, Map<String, List<String>> byClass) {
+        channel.forEach((listener, priority) -> byClass.computeIfAbsent(type.getName(), k -> new ArrayList<>())
+                .add("[priority=" + priority + ", listener=" + listener + "]"));
+    }
+
+    /**
+     * @return an immutable copy of the station, with its listeners, supervisors and responders. Enqueued events are not part of the copy.
+     */
+    FrozenStation freeze() {
+        if (!enter()) {
+            return successor().freeze();
+        }
+        try {
+            // never modified, replaced on change
+            return new FrozenStation(name, supervisor, taps.taps(), listeners.freeze(),
+                    intListeners.listeners(), longListeners.listeners(), doubleListeners.listeners(), responders, metrics, tracing, trampolined);
+        } finally {
+            exit();
+        }
+    }
+
+    /**
+     * Marks the beginning of an operation on the station
+     * 
+     * @return false if the station has been reaped and the operation should be performed on the {@link #successor()}
+     */
+    private boolean enter() {
+        for (;;) {
+            int current = users.get();
+            if (current < 0) {
+                return false;
+            }
+            if (users.compareAndSet(current, current + 1)) {
+                if (owner != null && owner.isReaping()) {
+                    lastUsed = System.nanoTime();
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Marks the end of an operation on the station
+     */
+    private void exit() {
+        if (users.decrementAndGet() == 0 && owner != null) {
+            owner.released(this);
+        }
+    }
+
+    /**
+     * @return the station that replaced this reaped station
+     */
+    private Station successor() {
+        Station successor;
+        while ((successor = owner.getStation(name)) == this && users.get() < 0) {
+            // reaping in progress
+            Thread.onSpinWait();
+        }
+        return successor;
+    }
+
+    /**
+     * Reaps the station if it's not used and it's empty, meaning it has no listeners, no enqueued events and no supervisor. Once reaped the station forwards every call to its
+     * successor.
+     * 
+     * @return true if the station has been reaped
+     */
+    boolean reap() {
+        if (isEmpty() && users.compareAndSet(0, -1)) {
+            if (isEmpty()) {
+                return true;
+            }
+            users.set(0);
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the station has no listeners, primitive listeners included, no enqueued events, no supervisors and no responders
+     */
+    boolean isEmpty() {
+        if (supervisor != Supervisor.SLACKER || !taps.isEmpty() || !listeners.isEmpty() || !intListeners.isEmpty() || !longListeners.isEmpty()
+                || !doubleListeners.isEmpty() || !responders.isEmpty()) {
+            return false;
+        }
+        for (BlockingQueue<Object> queue : queues.values()) {
+            if (!queue.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the value of {@link System#nanoTime()} when the station was last used, if the owner is reaping stations
+     */
+    long lastUsed() {
+        return lastUsed;
     }
 
     @Override
@@ -0,0 +1,118 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Management interface of a station, registered as a platform MBean when the {@link EventStudio#JMX_PROP} system property is true. Event classes are identified by name,
+ * primitive listeners are listed under the name of the primitive type.
+ * 
+ * @author Andrea Vacondio
+ */
+public interface StationMXBean {
+
+    /**
+     * @return name of the station
+     */
+    String getName();
+
+    /**
+     * @return the total number of listeners
+     */
+    int getListenerCount();
+
+    /**
+     * @return number of listeners by event class and priority
+     */
+    Map<String, Map<Integer, Integer>> getListenerCounts();
+
+    /**
+     * @return the total number of events waiting for a listener
+     */
+    int getPendingEventCount();
+
+    /**
+     * @return number of events waiting for a listener by event class
+     */
+    Map<String, Integer> getPendingEvents();
+
+    /**
+     * @return the supervisors of the station
+     */
+    List<String> getSupervisors();
+
+    /**
+     * @return events the async supervisors didn't inspect because their queue was full, collected even if metrics are disabled
+     */
+    long getSupervisorDrops();
+
+    /**
+     * @return true if the station collects metrics and broadcast counters are available
+     * @see EventStudio#METRICS_PROP
+     */
+    boolean isMetricsEnabled();
+
+    /**
+     * @return events broadcasted to the station, -1 if metrics are disabled
+     */
+    long getBroadcasts();
+
+    /**
+     * @return events notified to at least a listener, -1 if metrics are disabled
+     */
+    long getNotified();
+
+    /**
+     * @return events no listener was notified of, -1 if metrics are disabled
+     */
+    long getUnnotified();
+
+    /**
+     * @return events parked waiting for a listener, -1 if metrics are disabled
+     */
+    long getEnqueued();
+
+    /**
+     * @return events lost because the queue was full, -1 if metrics are disabled
+     */
+    long getDropped();
+
+    /**
+     * @return pending events broadcasted again once a listener was added, -1 if metrics are disabled
+     */
+    long getReplayed();
+
+    /**
+     * Discards the events waiting for a listener, they are not broadcasted
+     * 
+     * @return the number of discarded events
+     */
+    int discardPending();
+
+    /**
+     * Clears the station, as {@link EventStudio#clear(String)} does, and unregisters it
+     */
+    void clear();
+
+    /**
+     * @return a human readable description of the supervisors, listeners and pending events of the station
+     */
+    String dump();
+}
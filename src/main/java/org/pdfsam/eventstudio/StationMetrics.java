@@ -0,0 +1,78 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import java.util.Map;
+
+/**
+ * A snapshot of the metrics of a station, by event class, collected when the {@link EventStudio#METRICS_PROP} system property is true.
+ * 
+ * @param station
+ *            name of the station
+ * @param events
+ *            metrics by event class
+ * @author Andrea Vacondio
+ */
+public record StationMetrics(String station, Map<Class<?>, EventMetrics> events) {
+
+    /**
+     * Metrics of an event class
+     * 
+     * @param broadcasts
+     *            events broadcasted to the station
+     * @param cascaded
+     *            events broadcasted while another broadcast was in progress, typically by a listener, counted only when the station is tracing its broadcasts
+     * @param notified
+     *            events notified to at least a listener, replayed pending events included
+     * @param unnotified
+     *            events no listener was notified of, replayed pending events included
+     * @param enqueued
+     *            events parked waiting for a listener, events parked again after a replay included
+     * @param dropped
+     *            events lost because the queue was full
+     * @param replayed
+     *            pending events broadcasted again once a listener was added
+     * @param pending
+     *            events currently waiting for a listener
+     * @param listenerInvocations
+     *            number of times a listener has been notified
+     * @param broadcastTime
+     *            time spent notifying an event to the listeners of the station
+     * @param listenerTime
+     *            time spent by a listener on an event
+     */
+    public record EventMetrics(long broadcasts, long cascaded, long notified, long unnotified, long enqueued, long dropped, long replayed, long pending,
+            long listenerInvocations, Latency broadcastTime, Latency listenerTime) {
+    }
+
+    /**
+     * Durations, in nanoseconds. Percentiles are approximated by the upper bound of a power of two bucket.
+     */
+    public record Latency(long count, long totalNanos, long maxNanos, long p50Nanos, long p99Nanos, long p999Nanos) {
+
+        /**
+         * @return the mean duration in nanoseconds, 0 if nothing has been recorded
+         */
+        public long meanNanos() {
+            if (count == 0) {
+                return 0;
+            }
+            return totalNanos / count;
+        }
+    }
+}
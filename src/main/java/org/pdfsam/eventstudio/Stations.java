@@ -17,17 +17,34 @@
  */
 package org.pdfsam.eventstudio;
 
+import static org.pdfsam.eventstudio.EventStudio.JMX_PROP;
 import static org.pdfsam.eventstudio.util.RequireUtils.requireNotBlank;
+import static org.pdfsam.eventstudio.util.RequireUtils.requireNotNull;
 
+import java.time.Duration;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.pdfsam.eventstudio.exception.EventStudioException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * A thread safe holder for {@link Station}. Provides methods to access to the {@link Station}s of the {@link EventStudio} creating a new one when required.
+ * A thread safe holder for {@link Station}. Provides methods to access to the {@link Station}s of the {@link EventStudio} creating a new one when required. It also keeps an
+ * index of the stations having at least a {@link Listener} for a given event class, kept up to date by the stations themselves when listeners are added or removed.
+ * <p>
+ * Reaping of the empty stations can be enabled, in which case stations with no listeners, no enqueued events and no supervisor are removed once idle for the configured time.
+ * </p>
+ * <p>
+ * When the {@link EventStudio#JMX_PROP} system property is true, stations are registered as platform MBeans when created and unregistered when cleared or reaped.
+ * </p>
  * 
  * @author Andrea Vacondio
  * 
@@ -35,8 +52,21 @@ import org.slf4j.LoggerFactory;
 class Stations {
 
     private static final Logger LOG = LoggerFactory.getLogger(Stations.class);
+    private static final AtomicInteger IDS = new AtomicInteger();
 
     private final ConcurrentMap<String, Station> stations = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, Set<Station>> listening = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Courier> couriers = new ConcurrentHashMap<>();
+    /**
+     * stations registered as MBeans
+     */
+    private final Map<Station, ManagedStation> managed = new ConcurrentHashMap<>();
+    private final int id = IDS.incrementAndGet();
+    /**
+     * idle time in nanoseconds after which an empty station is reaped, negative if reaping is disabled
+     */
+    private volatile long reapAfter = -1;
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
 
     /**
      * @return the station with the given name. It safely creates a new {@link Station} if a station with the given name does not exist.
@@ -45,18 +75,32 @@ class Stations {
      */
     Station getStation(String stationName) {
         requireNotBlank(stationName);
+        if (reapAfter > 0) {
+            sweepIfNeeded();
+        }
         Station station = stations.get(stationName);
         if (station == null) {
-            final Station value = new Station(stationName);
+            final Station value = new Station(stationName, this);
             station = stations.putIfAbsent(stationName, value);
             if (station == null) {
                 station = value;
                 LOG.debug("Created station {}", station);
+                manage(value);
             }
         }
         return station;
     }
     
+    /**
+     * @return the station with the given name or null if a station with the given name does not exist. It never creates a new {@link Station}.
+     * @throws IllegalArgumentException
+     *             if the station name is blank or null
+     */
+    Station findStation(String stationName) {
+        requireNotBlank(stationName);
+        return stations.get(stationName);
+    }
+
     /**
      * @return the collection of the configured stations
      * @see ConcurrentHashMap#values()
@@ -65,8 +109,148 @@ class Stations {
         return stations.values();
     }
 
+    /**
+     * @return the collection of the configured stations having at least a {@link Listener} for the given event class
+     */
+    Collection<Station> getStations(Class<?> eventClass) {
+        return listening.getOrDefault(eventClass, Collections.emptySet());
+    }
+
+    /**
+     * Notifies that the given station has listeners for the given event class
+     */
+    void listening(Station station, Class<?> eventClass) {
+        Set<Station> current = listening.computeIfAbsent(eventClass, k -> ConcurrentHashMap.newKeySet());
+        if (current.add(station) && stations.get(station.name()) != station) {
+            // the station has been cleared in the meantime
+            current.remove(station);
+        }
+    }
+
+    /**
+     * Notifies that the given station has no more listeners for the given event class
+     */
+    void notListening(Station station, Class<?> eventClass) {
+        Set<Station> current = listening.get(eventClass);
+        if (current != null) {
+            current.remove(station);
+        }
+    }
+
+    /**
+     * Enables reaping of the empty stations, meaning stations with no listeners, no enqueued events and no supervisor.
+     * 
+     * @param idle
+     *            the time a station has to be empty and unused before it's reaped. {@link Duration#ZERO} reaps stations as soon as they become empty, when their last listener
+     *            is removed for example.
+     */
+    void reapEmptyStations(Duration idle) {
+        requireNotNull(idle);
+        if (idle.isNegative()) {
+            throw new IllegalArgumentException("Idle time cannot be negative");
+        }
+        LOG.debug("Reaping empty stations idle for {}", idle);
+        this.reapAfter = idle.toNanos();
+    }
+
+    /**
+     * @return true if reaping of empty stations is enabled
+     */
+    boolean isReaping() {
+        return reapAfter >= 0;
+    }
+
+    /**
+     * Notifies that no operation is currently using the given station
+     */
+    void released(Station station) {
+        if (reapAfter == 0) {
+            reap(station);
+        }
+    }
+
+    private void sweepIfNeeded() {
+        long now = System.nanoTime();
+        long last = lastSweep.get();
+        if (now - last > reapAfter && lastSweep.compareAndSet(last, now)) {
+            for (Station station : stations.values()) {
+                if (now - station.lastUsed() > reapAfter) {
+                    reap(station);
+                }
+            }
+        }
+    }
+
+    private void reap(Station station) {
+        if (station.reap() && stations.remove(station.name(), station)) {
+            LOG.debug("Reaped empty station {}", station);
+            unmanage(station);
+        }
+    }
+
+    private void manage(Station station) {
+        ManagedStation managedStation = JmxSupport.AVAILABLE && Boolean.getBoolean(JMX_PROP) ? ManagedStation.register(station, this) : null;
+        if (managedStation != null) {
+            managed.put(station, managedStation);
+            if (stations.get(station.name()) != station) {
+                // the station has been cleared in the meantime
+                unmanage(station);
+            }
+        }
+    }
+
+    private void unmanage(Station station) {
+        ManagedStation managedStation = managed.remove(station);
+        if (managedStation != null) {
+            managedStation.unregister();
+        }
+    }
+
+    /**
+     * @return the identifier of this holder, unique in the JVM, used to tell apart stations with the same name belonging to different studios
+     */
+    int id() {
+        return id;
+    }
+
+    /**
+     * Adds an executor listeners can be notified through
+     * 
+     * @throws EventStudioException
+     *             if an executor with the given name has already been added
+     */
+    void addExecutor(String name, Executor executor) {
+        requireNotBlank(name);
+        requireNotNull(executor);
+        if (couriers.putIfAbsent(name, new Courier(name, executor)) != null) {
+            throw new EventStudioException("Executor " + name + " already added");
+        }
+        LOG.debug("Added executor {}", name);
+    }
+
+    /**
+     * @return the courier delivering events through the executor with the given name
+     * @throws EventStudioException
+     *             if no executor with the given name has been added
+     */
+    Courier courier(String executor) {
+        requireNotBlank(executor);
+        Courier courier = couriers.get(executor);
+        if (courier == null) {
+            throw new EventStudioException("Unknown executor " + executor);
+        }
+        return courier;
+    }
+
     void clear(String station) {
         LOG.debug("Clearing station {}", station);
-        stations.remove(station);
+        Station removed = stations.remove(station);
+        if (removed != null) {
+            removed.removeSupervisors();
+            unmanage(removed);
+            for (Set<Station> current : listening.values()) {
+                current.remove(removed);
+            }
+        }
     }
 }
@@ -0,0 +1,267 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import org.pdfsam.eventstudio.Listeners.ListenerReferenceHolder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Java Flight Recorder events of the stations. Events are allocated only when their type is enabled in a recording, broadcast and listener events are recorded only when
+ * slower than their threshold, 1 ms by default. Callers must check {@link JfrSupport#AVAILABLE} first and the JFR events are passed around as {@link Object}, so that
+ * nothing outside this class links to jdk.jfr. Broadcast, listener and enqueue events record the {@link Trace} of the broadcast, when traced.
+ * 
+ * @author Andrea Vacondio
+ */
+final class StudioEvents {
+
+    private static final BroadcastEvent BROADCAST = new BroadcastEvent();
+    private static final ListenerEvent LISTENER = new ListenerEvent();
+    private static final EnqueueEvent ENQUEUE = new EnqueueEvent();
+    private static final DrainEvent DRAIN = new DrainEvent();
+    private static final RegistrationEvent REGISTRATION = new RegistrationEvent();
+
+    private StudioEvents() {
+        // hide
+    }
+
+    /**
+     * @return true if broadcast or listener events are enabled and the broadcast should be timed
+     */
+    static boolean timing() {
+        return BROADCAST.isEnabled() || LISTENER.isEnabled();
+    }
+
+    /**
+     * @return a started broadcast event or null if broadcast events are not enabled
+     */
+    static Object beginBroadcast() {
+        if (!BROADCAST.isEnabled()) {
+            return null;
+        }
+        BroadcastEvent event = new BroadcastEvent();
+        event.begin();
+        return event;
+    }
+
+    static void endBroadcast(Object started, String station, Class<?> eventClass, int listeners, boolean notified) {
+        if (started instanceof BroadcastEvent event) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.station = station;
+                event.eventClass = eventClass;
+                event.listeners = listeners;
+                event.notified = notified;
+                event.traced();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * @return a started listener event or null if listener events are not enabled
+     */
+    static Object beginListener() {
+        if (!LISTENER.isEnabled()) {
+            return null;
+        }
+        ListenerEvent event = new ListenerEvent();
+        event.begin();
+        return event;
+    }
+
+    static void endListener(Object started, String station, Class<?> eventClass, ListenerReferenceHolder listener) {
+        if (started instanceof ListenerEvent event) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.station = station;
+                event.eventClass = eventClass;
+                Object target = listener.target();
+                event.listenerClass = target == null ? null : target.getClass();
+                event.priority = listener.priority;
+                event.traced();
+                event.commit();
+            }
+        }
+    }
+
+    static void enqueued(String station, Class<?> eventClass, boolean dropped, int pending) {
+        if (ENQUEUE.isEnabled()) {
+            EnqueueEvent event = new EnqueueEvent();
+            if (event.shouldCommit()) {
+                event.station = station;
+                event.eventClass = eventClass;
+                event.dropped = dropped;
+                event.pending = pending;
+                event.traced();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * @return a started drain event or null if drain events are not enabled
+     */
+    static Object beginDrain() {
+        if (!DRAIN.isEnabled()) {
+            return null;
+        }
+        DrainEvent event = new DrainEvent();
+        event.begin();
+        return event;
+    }
+
+    static void endDrain(Object started, String station, Class<?> eventClass, int replayed) {
+        if (started instanceof DrainEvent event) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.station = station;
+                event.eventClass = eventClass;
+                event.replayed = replayed;
+                event.commit();
+            }
+        }
+    }
+
+    static void registration(String station, Class<?> eventClass, Class<?> listenerClass, int priority, ReferenceStrength strength, boolean added) {
+        if (REGISTRATION.isEnabled()) {
+            RegistrationEvent event = new RegistrationEvent();
+            if (event.shouldCommit()) {
+                event.station = station;
+                event.eventClass = eventClass;
+                event.listenerClass = listenerClass;
+                event.priority = priority;
+                event.strength = strength == null ? null : strength.name();
+                event.added = added;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * An event recording the {@link Trace} of the broadcast in progress, if any
+     */
+    abstract static class TracedEvent extends Event {
+        @Label("Trace Id")
+        @Description("Identifier of the trace, 0 if the broadcast is not traced")
+        long traceId;
+        @Label("Broadcast Id")
+        long broadcastId;
+        @Label("Parent Id")
+        @Description("Identifier of the broadcast that caused this one, 0 if it started the trace")
+        long parentId;
+
+        void traced() {
+            Trace trace = Trace.current();
+            if (trace != null) {
+                traceId = trace.traceId();
+                broadcastId = trace.id();
+                parentId = trace.parentId();
+            }
+        }
+    }
+
+    @Name("org.pdfsam.eventstudio.Broadcast")
+    @Label("Broadcast")
+    @Description("Notification of an event to the listeners of a station")
+    @Category("EventStudio")
+    @Threshold("1 ms")
+    @StackTrace(false)
+    static final class BroadcastEvent extends TracedEvent {
+        @Label("Station")
+        String station;
+        @Label("Event Class")
+        Class<?> eventClass;
+        @Label("Listeners")
+        int listeners;
+        @Label("Notified")
+        boolean notified;
+    }
+
+    @Name("org.pdfsam.eventstudio.ListenerInvocation")
+    @Label("Listener Invocation")
+    @Description("Notification of an event to a listener")
+    @Category("EventStudio")
+    @Threshold("1 ms")
+    @StackTrace(false)
+    static final class ListenerEvent extends TracedEvent {
+        @Label("Station")
+        String station;
+        @Label("Event Class")
+        Class<?> eventClass;
+        @Label("Listener Class")
+        Class<?> listenerClass;
+        @Label("Priority")
+        int priority;
+    }
+
+    @Name("org.pdfsam.eventstudio.Enqueue")
+    @Label("Enqueue")
+    @Description("An event no one is listening for is parked, or dropped if the queue is full")
+    @Category("EventStudio")
+    @StackTrace(false)
+    static final class EnqueueEvent extends TracedEvent {
+        @Label("Station")
+        String station;
+        @Label("Event Class")
+        Class<?> eventClass;
+        @Label("Dropped")
+        boolean dropped;
+        @Label("Pending")
+        int pending;
+    }
+
+    @Name("org.pdfsam.eventstudio.Drain")
+    @Label("Drain")
+    @Description("Pending events broadcasted again once a listener is added")
+    @Category("EventStudio")
+    @StackTrace(false)
+    static final class DrainEvent extends Event {
+        @Label("Station")
+        String station;
+        @Label("Event Class")
+        Class<?> eventClass;
+        @Label("Replayed")
+        int replayed;
+    }
+
+    @Name("org.pdfsam.eventstudio.Registration")
+    @Label("Listener Registration")
+    @Description("A listener is added to or removed from a station, priority and strength are known only when it is added")
+    @Category("EventStudio")
+    static final class RegistrationEvent extends Event {
+        @Label("Station")
+        String station;
+        @Label("Event Class")
+        Class<?> eventClass;
+        @Label("Listener Class")
+        Class<?> listenerClass;
+        @Label("Priority")
+        int priority;
+        @Label("Strength")
+        String strength;
+        @Label("Added")
+        boolean added;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.pdfsam.eventstudio.util.RequireUtils.requireNotNull;
+
+import java.util.Arrays;
+
+/**
+ * Immutable options of a {@link Supervisor} added to a station with {@link EventStudio#addSupervisor(Supervisor, String, SupervisorOptions)}:
+ * 
+ * <pre>
+ * {@code
+ * studio.addSupervisor(auditor, "mystation", SupervisorOptions.async(1024).sampling(0.1).filter(ChildEvent.class));
+ * }
+ * </pre>
+ * 
+ * @author Andrea Vacondio
+ */
+public final class SupervisorOptions {
+
+    private static final Class<?>[] ALL = new Class<?>[0];
+
+    private final int capacity;
+    private final double sampling;
+    private final Class<?>[] eventClasses;
+
+    private SupervisorOptions(int capacity, double sampling, Class<?>[] eventClasses) {
+        this.capacity = capacity;
+        this.sampling = sampling;
+        this.eventClasses = eventClasses;
+    }
+
+    /**
+     * @return options for a {@link Supervisor} inspecting the events on the broadcasting thread, before they are handed over to the {@link Listener}s
+     */
+    public static SupervisorOptions inline() {
+        return new SupervisorOptions(0, 1, ALL);
+    }
+
+    /**
+     * @param capacity
+     *            max number of events waiting to be inspected, events broadcasted when the queue is full are not inspected
+     * @return options for a {@link Supervisor} inspecting the events on its own thread, fed by a bounded queue
+     * @throws IllegalArgumentException
+     *             if the capacity is not positive
+     */
+    public static SupervisorOptions async(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        return new SupervisorOptions(capacity, 1, ALL);
+    }
+
+    /**
+     * @param rate
+     *            the fraction of the events to inspect, in the (0, 1] range
+     * @return a copy of this options where the {@link Supervisor} inspects a random sample of the events
+     * @throws IllegalArgumentException
+     *             if the rate is not in the (0, 1] range
+     */
+    public SupervisorOptions sampling(double rate) {
+        if (!(rate > 0 && rate <= 1)) {
+            throw new IllegalArgumentException("Sampling rate must be in the (0, 1] range");
+        }
+        return new SupervisorOptions(capacity, rate, eventClasses);
+    }
+
+    /**
+     * @param eventClasses
+     *            the only event classes to inspect, using strict class matching. No classes means every event.
+     * @return a copy of this options where the {@link Supervisor} inspects only events of the given classes
+     */
+    public SupervisorOptions filter(Class<?>... eventClasses) {
+        requireNotNull(eventClasses);
+        for (Class<?> eventClass : eventClasses) {
+            requireNotNull(eventClass);
+        }
+        return new SupervisorOptions(capacity, sampling, eventClasses.clone());
+    }
+
+    boolean isAsync() {
+        return capacity > 0;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    double sampling() {
+        return sampling;
+    }
+
+    Class<?>[] eventClasses() {
+        return eventClasses;
+    }
+
+    @Override
+    public String toString() {
+        return "SupervisorOptions [capacity=" + capacity + ", sampling=" + sampling + ", eventClasses=" + Arrays.toString(eventClasses) + "]";
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.pdfsam.eventstudio.util.RequireUtils.requireNotNull;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link Supervisor} added to a {@link Station} with its {@link SupervisorOptions}. Events are filtered and sampled on the broadcasting thread, then inspected either inline or
+ * by a dedicated daemon thread fed by a bounded queue that drops the events it can't hold. Neither path allocates, unless the broadcast is traced.
+ * 
+ * @author Andrea Vacondio
+ */
+class SupervisorTap {
+    private static final Logger LOG = LoggerFactory.getLogger(SupervisorTap.class);
+
+    private final Supervisor supervisor;
+    private final SupervisorOptions options;
+    private final BlockingQueue<Object> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread worker;
+
+    SupervisorTap(Supervisor supervisor, SupervisorOptions options, String name) {
+        requireNotNull(supervisor);
+        requireNotNull(options);
+        this.supervisor = supervisor;
+        this.options = options;
+        if (options.isAsync()) {
+            this.queue = new ArrayBlockingQueue<>(options.capacity());
+            this.worker = new Thread(this::drain, "eventstudio-supervisor-" + name);
+            this.worker.setDaemon(true);
+            this.worker.start();
+        } else {
+            this.queue = null;
+            this.worker = null;
+        }
+    }
+
+    /**
+     * Hands the event over to the supervisor, if it passes the filter and the sampling
+     */
+    void inspect(Object event) {
+        if (!accepts(event.getClass())) {
+            return;
+        }
+        if (options.sampling() < 1 && ThreadLocalRandom.current().nextDouble() >= options.sampling()) {
+            return;
+        }
+        if (queue == null) {
+            supervisor.inspect(event);
+        } else {
+            Trace trace = Trace.current();
+            if (!queue.offer(trace == null ? event : new Trace.Traced(event, trace))) {
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    private boolean accepts(Class<?> eventClass) {
+        Class<?>[] eventClasses = options.eventClasses();
+        if (eventClasses.length == 0) {
+            return true;
+        }
+        for (Class<?> current : eventClasses) {
+            if (current == eventClass) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void drain() {
+        try {
+            for (;;) {
+                Object event = queue.take();
+                Trace trace = null;
+                if (event instanceof Trace.Traced traced) {
+                    trace = traced.trace();
+                    event = traced.event();
+                }
+                // the supervisor sees the trace of the broadcast
+                Trace previous = trace != null ? Trace.resume(trace) : null;
+                try {
+                    supervisor.inspect(event);
+                } catch (Throwable e) {
+                    // the thread is the only consumer of the queue, if it dies every following event is dropped
+                    LOG.error("Supervisor {} failed inspecting {}", supervisor, event, e);
+                } finally {
+                    if (trace != null) {
+                        Trace.restore(previous);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            LOG.debug("Supervisor {} stopped", supervisor);
+        }
+    }
+
+    /**
+     * Stops the thread of an async supervisor, events waiting in the queue are not inspected
+     */
+    void close() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    Supervisor supervisor() {
+        return supervisor;
+    }
+
+    /**
+     * @return the number of events an async supervisor didn't inspect because its queue was full
+     */
+    long dropped() {
+        return dropped.get();
+    }
+
+    @Override
+    public String toString() {
+        return supervisor + " " + options;
+    }
+}
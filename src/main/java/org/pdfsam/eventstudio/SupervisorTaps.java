@@ -0,0 +1,89 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.pdfsam.eventstudio.util.RequireUtils.requireNotNull;
+
+import java.util.Arrays;
+
+/**
+ * A thread-safe, copy on write, holder for the {@link SupervisorTap}s of a station, in the order they have been added. Taps are stored in an array that is replaced on every
+ * change, so that inspecting an event doesn't require any lock or copy.
+ * 
+ * @author Andrea Vacondio
+ */
+class SupervisorTaps {
+
+    static final SupervisorTap[] NO_TAPS = new SupervisorTap[0];
+
+    private volatile SupervisorTap[] taps = NO_TAPS;
+
+    synchronized void add(SupervisorTap tap) {
+        requireNotNull(tap);
+        SupervisorTap[] newTaps = Arrays.copyOf(taps, taps.length + 1);
+        newTaps[taps.length] = tap;
+        taps = newTaps;
+    }
+
+    /**
+     * Removes the first tap of the given supervisor
+     * 
+     * @return the removed tap or null if the supervisor has no tap
+     */
+    synchronized SupervisorTap remove(Supervisor supervisor) {
+        requireNotNull(supervisor);
+        for (int i = 0; i < taps.length; i++) {
+            SupervisorTap tap = taps[i];
+            if (tap.supervisor().equals(supervisor)) {
+                SupervisorTap[] newTaps = new SupervisorTap[taps.length - 1];
+                System.arraycopy(taps, 0, newTaps, 0, i);
+                System.arraycopy(taps, i + 1, newTaps, i, newTaps.length - i);
+                taps = newTaps;
+                return tap;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes every tap
+     * 
+     * @return the removed taps
+     */
+    synchronized SupervisorTap[] clear() {
+        SupervisorTap[] removed = taps;
+        taps = NO_TAPS;
+        return removed;
+    }
+
+    /**
+     * @return the taps in the order they have been added. The returned array must not be modified.
+     */
+    SupervisorTap[] taps() {
+        return taps;
+    }
+
+    boolean isEmpty() {
+        return taps.length == 0;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(taps);
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.pdfsam.eventstudio.EventStudio.TIMER_TICK_PROP;
+import static org.pdfsam.eventstudio.util.RequireUtils.requireNotNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hashed timing wheel running timed tasks on a single daemon thread, started with the first timer. Time is split in ticks and a timer goes in the bucket of the tick it's due,
+ * modulo the number of buckets, together with the number of whole turns of the wheel it has to wait. Scheduling and cancelling are O(1) and never block: new and cancelled
+ * timers are queued and moved in, or out of, their buckets by the wheel thread once per tick, when it also runs the due timers of the current bucket. Timers are run at the end
+ * of the tick they are due, so they're late by at most one tick. The thread parks while there are no timers. A failing task, even with an {@link Error}, is logged and
+ * doesn't stop the thread.
+ * 
+ * @author Andrea Vacondio
+ * @see EventStudio#TIMER_TICK_PROP
+ */
+final class TimingWheel {
+    private static final Logger LOG = LoggerFactory.getLogger(TimingWheel.class);
+    static final int BUCKETS = 512;
+
+    private final long tickNanos;
+    private final Bucket[] wheel = new Bucket[BUCKETS];
+    private final Queue<Timer> added = new ConcurrentLinkedQueue<>();
+    private final Queue<Timer> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final long origin = System.nanoTime();
+    private volatile Thread worker;
+    private volatile boolean stopped = false;
+    // accessed by the wheel thread only
+    private long tick = 0;
+
+    TimingWheel(long tick, TimeUnit unit) {
+        requireNotNull(unit);
+        if (tick <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        this.tickNanos = unit.toNanos(tick);
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+    }
+
+    /**
+     * @return the wheel shared by every studio, ticking every {@link EventStudio#TIMER_TICK_PROP} milliseconds
+     */
+    static TimingWheel shared() {
+        return Shared.WHEEL;
+    }
+
+    /**
+     * Schedules the given task to run once after the given delay, or right away if the delay is not positive
+     */
+    Timer schedule(Runnable task, long delay, TimeUnit unit) {
+        return schedule(task, unit.toNanos(delay), 0);
+    }
+
+    /**
+     * Schedules the given task to run after the given delay and then every period, at a fixed rate. Runs that are late because of a busy wheel thread are not skipped.
+     */
+    Timer schedule(Runnable task, long delay, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+        return schedule(task, unit.toNanos(delay), unit.toNanos(period));
+    }
+
+    private Timer schedule(Runnable task, long delayNanos, long periodNanos) {
+        requireNotNull(task);
+        if (stopped) {
+            throw new IllegalStateException("The timing wheel has been stopped");
+        }
+        start();
+        Timer timer = new Timer(this, task, elapsed() + Math.max(0, delayNanos), periodNanos);
+        // counted before it's queued so the wheel never parks, and jumps ahead, with a timer in a bucket
+        boolean idle = pending.getAndIncrement() == 0;
+        added.add(timer);
+        if (idle) {
+            LockSupport.unpark(worker);
+        }
+        return timer;
+    }
+
+    private void start() {
+        if (!started.get() && started.compareAndSet(false, true)) {
+            Thread thread = new Thread(this::work, "eventstudio-timer");
+            thread.setDaemon(true);
+            worker = thread;
+            thread.start();
+        }
+    }
+
+    /**
+     * Stops the wheel thread, timers not run yet are discarded
+     */
+    void stop() {
+        stopped = true;
+        LockSupport.unpark(worker);
+    }
+
+    /**
+     * @return the number of timers waiting to run, periodic ones included
+     */
+    int pending() {
+        return pending.get();
+    }
+
+    private long elapsed() {
+        return System.nanoTime() - origin;
+    }
+
+    private void work() {
+        while (!stopped) {
+            transfer();
+            purge();
+            if (pending.get() == 0) {
+                LockSupport.park(this);
+                // buckets are empty, the wheel can jump to the current tick
+                tick = elapsed() / tickNanos;
+                continue;
+            }
+            long deadline = (tick + 1) * tickNanos;
+            for (long sleep; (sleep = deadline - elapsed()) > 0 && !stopped;) {
+                LockSupport.parkNanos(this, sleep);
+            }
+            if (!stopped) {
+                transfer();
+                purge();
+                expire(wheel[(int) (tick & (wheel.length - 1))]);
+                tick++;
+            }
+        }
+        LOG.debug("Timing wheel stopped");
+    }
+
+    /**
+     * moves the timers scheduled since the last tick to their bucket
+     */
+    private void transfer() {
+        Timer timer;
+        while ((timer = added.poll()) != null) {
+            if (!timer.isCancelled()) {
+                long due = timer.deadline / tickNanos;
+                timer.rounds = (due - tick) / wheel.length;
+                wheel[(int) (Math.max(due, tick) & (wheel.length - 1))].add(timer);
+            }
+        }
+    }
+
+    /**
+     * removes cancelled timers from their bucket
+     */
+    private void purge() {
+        Timer timer;
+        while ((timer = cancelled.poll()) != null) {
+            if (timer.bucket != null) {
+                timer.bucket.remove(timer);
+            }
+        }
+    }
+
+    private void expire(Bucket bucket) {
+        Timer timer = bucket.head;
+        while (timer != null) {
+            Timer next = timer.next;
+            if (timer.rounds <= 0) {
+                bucket.remove(timer);
+                timer.run();
+            } else {
+                timer.rounds--;
+            }
+            timer = next;
+        }
+    }
+
+    private void cancelled(Timer timer) {
+        cancelled.add(timer);
+        if (pending.decrementAndGet() == 0) {
+            // the wheel thread purges before parking
+            LockSupport.unpark(worker);
+        }
+    }
+
+    /**
+     * A task scheduled on the wheel
+     */
+    static final class Timer implements ScheduledBroadcast {
+        private static final int WAITING = 0;
+        private static final int CANCELLED = 1;
+        private static final int DONE = 2;
+        private static final AtomicIntegerFieldUpdater<Timer> STATE = AtomicIntegerFieldUpdater.newUpdater(Timer.class, "state");
+
+        private final TimingWheel wheel;
+        private final Runnable task;
+        private final long period;
+        private volatile int state = WAITING;
+        // accessed by the wheel thread only
+        private long deadline;
+        private long rounds;
+        private Bucket bucket;
+        private Timer next;
+        private Timer previous;
+
+        private Timer(TimingWheel wheel, Runnable task, long deadline, long period) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        private void run() {
+            if (period == 0) {
+                if (!STATE.compareAndSet(this, WAITING, DONE)) {
+                    return;
+                }
+                wheel.pending.decrementAndGet();
+            } else if (state != WAITING) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Throwable e) {
+                // the wheel thread runs every timer, it must survive whatever a task throws
+                LOG.error("Timed task {} failed", task, e);
+            }
+            if (period > 0 && state == WAITING) {
+                deadline += period;
+                wheel.added.add(this);
+            }
+        }
+
+        public boolean cancel() {
+            if (STATE.compareAndSet(this, WAITING, CANCELLED)) {
+                wheel.cancelled(this);
+                return true;
+            }
+            return false;
+        }
+
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        public boolean isDone() {
+            return state != WAITING;
+        }
+    }
+
+    /**
+     * Doubly linked list of the timers due in the same tick of any turn of the wheel
+     */
+    private static final class Bucket {
+        private Timer head;
+        private Timer tail;
+
+        void add(Timer timer) {
+            timer.bucket = this;
+            if (head == null) {
+                head = tail = timer;
+            } else {
+                tail.next = timer;
+                timer.previous = tail;
+                tail = timer;
+            }
+        }
+
+        void remove(Timer timer) {
+            if (timer.previous == null) {
+                head = timer.next;
+            } else {
+                timer.previous.next = timer.next;
+            }
+            if (timer.next == null) {
+                tail = timer.previous;
+            } else {
+                timer.next.previous = timer.previous;
+            }
+            timer.next = null;
+            timer.previous = null;
+            timer.bucket = null;
+        }
+    }
+
+    private static final class Shared {
+        static final TimingWheel WHEEL = new TimingWheel(Long.getLong(TIMER_TICK_PROP, 10), TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.pdfsam.eventstudio.util.RequireUtils.requireNotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Causality of a broadcast, collected by stations created while the {@link EventStudio#TRACE_PROP} system property is true. A broadcast made while another one is in progress on
+ * the same thread, typically by a {@link Listener}, is its child and belongs to the same trace, so a cascade of events can be followed back to the broadcast that started it.
+ * Pending events replayed once a listener is added are children of the broadcast that enqueued them and async {@link Supervisor}s inspect an event within the trace of its
+ * broadcast.
+ * <p>
+ * The trace of the broadcast in progress is available to {@link Listener}s and {@link Supervisor}s with {@link #current()} and it's recorded in the Java Flight Recorder events
+ * of the stations.
+ * </p>
+ * 
+ * @author Andrea Vacondio
+ */
+public final class Trace {
+
+    private static final ThreadLocal<Trace> CURRENT = new ThreadLocal<>();
+    private static final AtomicLong IDS = new AtomicLong();
+
+    private final long traceId;
+    private final long id;
+    private final long parentId;
+    private final long sequence;
+    private final long timestamp;
+    /**
+     * shared by every broadcast of the trace
+     */
+    private final AtomicLong sequences;
+
+    private Trace(Trace parent) {
+        this.id = IDS.incrementAndGet();
+        this.timestamp = System.currentTimeMillis();
+        if (parent == null) {
+            this.traceId = id;
+            this.parentId = 0;
+            this.sequences = new AtomicLong();
+            this.sequence = 0;
+        } else {
+            this.traceId = parent.traceId;
+            this.parentId = parent.id;
+            this.sequences = parent.sequences;
+            this.sequence = sequences.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return the trace of the broadcast in progress on the current thread, null if there's none or it's not traced
+     */
+    public static Trace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return a task running the given one within the trace of the broadcast in progress, if any, so that broadcasts made by the task on another thread are children of it
+     */
+    public static Runnable wrap(Runnable task) {
+        requireNotNull(task);
+        Trace trace = CURRENT.get();
+        if (trace == null) {
+            return task;
+        }
+        return () -> {
+            Trace previous = resume(trace);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Starts the trace of a broadcast, child of the one in progress on the current thread, if any
+     * 
+     * @return the trace in progress before, to be given back to {@link #restore(Trace)} once the broadcast is done
+     */
+    static Trace begin() {
+        return begin(CURRENT.get());
+    }
+
+    /**
+     * Starts the trace of a broadcast, child of the given one
+     * 
+     * @return the trace in progress before, to be given back to {@link #restore(Trace)} once the broadcast is done
+     */
+    static Trace begin(Trace parent) {
+        Trace previous = CURRENT.get();
+        CURRENT.set(new Trace(parent));
+        return previous;
+    }
+
+    /**
+     * Sets the given trace as the one in progress on the current thread, to continue it after a hop between threads
+     * 
+     * @return the trace in progress before, to be given back to {@link #restore(Trace)}
+     */
+    static Trace resume(Trace trace) {
+        Trace previous = CURRENT.get();
+        CURRENT.set(trace);
+        return previous;
+    }
+
+    static void restore(Trace previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * @return the identifier of the trace, the {@link #id()} of the broadcast that started it
+     */
+    public long traceId() {
+        return traceId;
+    }
+
+    /**
+     * @return the identifier of the broadcast, unique in the JVM
+     */
+    public long id() {
+        return id;
+    }
+
+    /**
+     * @return the identifier of the broadcast that caused this one, 0 if this broadcast started the trace
+     */
+    public long parentId() {
+        return parentId;
+    }
+
+    /**
+     * @return true if this broadcast started the trace
+     */
+    public boolean isRoot() {
+        return parentId == 0;
+    }
+
+    /**
+     * @return the position of the broadcast in the trace, in the order broadcasts started, 0 for the one that started it
+     */
+    public long sequence() {
+        return sequence;
+    }
+
+    /**
+     * @return the time the broadcast started, in milliseconds since the epoch
+     */
+    public long timestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "Trace[traceId=" + traceId + ", id=" + id + ", parentId=" + parentId + ", sequence=" + sequence + ", timestamp=" + timestamp + "]";
+    }
+
+    /**
+     * An event handed over to another thread, or parked, together with the trace of its broadcast
+     */
+    record Traced(Object event, Trace trace) {
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import java.util.ArrayDeque;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per thread queue of the broadcasts made while a broadcast of a trampolined station is in progress. They are dispatched one after the other, in the order they were made, once
+ * the broadcast in progress completes, so a cascade of events doesn't grow the stack.
+ * 
+ * @author Andrea Vacondio
+ * @see EventStudio#TRAMPOLINE_PROP
+ */
+final class Trampoline {
+    private static final Logger LOG = LoggerFactory.getLogger(Trampoline.class);
+    private static final ThreadLocal<Trampoline> CURRENT = ThreadLocal.withInitial(Trampoline::new);
+
+    private final ArrayDeque<Bounce> deferred = new ArrayDeque<>();
+    private boolean dispatching = false;
+
+    private Trampoline() {
+        // per thread
+    }
+
+    /**
+     * @return the trampoline of the current thread
+     */
+    static Trampoline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Makes the given broadcast on the trampoline of the current thread. It's deferred if a trampolined broadcast is in progress, otherwise it's run right away followed by the
+     * broadcasts it defers. If it fails the deferred broadcasts are discarded and the failure is rethrown as is.
+     */
+    static void bounce(Runnable broadcast) {
+        Trampoline trampoline = current();
+        if (trampoline.dispatching) {
+            LOG.trace("Deferring broadcast");
+            trampoline.defer(broadcast);
+            return;
+        }
+        trampoline.jump();
+        try {
+            broadcast.run();
+        } catch (RuntimeException | Error e) {
+            trampoline.abort();
+            throw e;
+        }
+        trampoline.land();
+    }
+
+    /**
+     * @return true if a trampolined broadcast is in progress on the current thread and new broadcasts have to be deferred
+     */
+    boolean isDispatching() {
+        return dispatching;
+    }
+
+    /**
+     * Defers the given broadcast until the one in progress completes, it will be dispatched within the current {@link Trace}, if any
+     */
+    void defer(Runnable broadcast) {
+        deferred.add(new Bounce(broadcast, Trace.current()));
+    }
+
+    /**
+     * Marks the beginning of a trampolined broadcast, it has to be followed by a call to {@link #land()} once the broadcast is done, or to {@link #abort()} if it fails
+     */
+    void jump() {
+        dispatching = true;
+    }
+
+    /**
+     * Dispatches the deferred broadcasts, the ones they defer included, until there are none. If a broadcast fails the remaining ones are discarded.
+     */
+    void land() {
+        try {
+            Bounce bounce;
+            while ((bounce = deferred.poll()) != null) {
+                Trace previous = bounce.trace() != null ? Trace.resume(bounce.trace()) : null;
+                try {
+                    bounce.broadcast().run();
+                } finally {
+                    if (bounce.trace() != null) {
+                        Trace.restore(previous);
+                    }
+                }
+            }
+        } finally {
+            abort();
+        }
+    }
+
+    /**
+     * Ends a failed trampolined broadcast discarding the deferred broadcasts, so that they don't run after the failure and it reaches the caller untouched
+     */
+    void abort() {
+        dispatching = false;
+        if (!deferred.isEmpty()) {
+            LOG.warn("Broadcast failed, {} deferred broadcasts discarded", deferred.size());
+            deferred.clear();
+        }
+    }
+
+    /**
+     * @return the number of deferred broadcasts
+     */
+    int deferred() {
+        return deferred.size();
+    }
+
+    /**
+     * A deferred broadcast with the trace it was made in
+     */
+    private record Bounce(Runnable broadcast, Trace trace) {
+    }
+}
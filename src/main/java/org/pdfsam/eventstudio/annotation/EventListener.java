@@ -26,8 +26,8 @@ import java.lang.annotation.Target;
 import org.pdfsam.eventstudio.ReferenceStrength;
 
 /**
- * Annotated methods will be registered as Listener for the event in the method signature. Method signature must have a single parameter from which the event class will be
- * inferred. Multiple methods on the same pojo can be annotated.
+ * Annotated methods will be registered as Listener for the event in the method signature. Method signature must have a first parameter from which the event class will be
+ * inferred and an optional second {@link org.pdfsam.eventstudio.BroadcastContext} parameter that can be used to stop the broadcast. Multiple methods on the same pojo can be annotated.
  * 
  * @author Andrea Vacondio
  * 
@@ -51,4 +51,10 @@ public @interface EventListener {
      * @return the reference strength for this listener.
      */
     ReferenceStrength strength() default ReferenceStrength.STRONG;
+
+    /**
+     * @return the name of the executor, added to the studio with {@link org.pdfsam.eventstudio.EventStudio#addExecutor(String, java.util.concurrent.Executor)}, notifying
+     *         this listener. If nothing is specified the listener is notified on the broadcasting thread.
+     */
+    String executor() default "";
 }
@@ -18,7 +18,8 @@
 package org.pdfsam.eventstudio.exception;
 
 /**
- * Exception thrown by listeners to interrupt broadcast of an event.
+ * Exception thrown by listeners to interrupt broadcast of an event. It's a control flow exception so it doesn't capture the stack trace, listeners receiving a
+ * {@link org.pdfsam.eventstudio.BroadcastContext} can stop the broadcast without throwing any exception.
  * 
  * @author Andrea Vacondio
  * 
@@ -26,7 +27,7 @@ package org.pdfsam.eventstudio.exception;
 public class BroadcastInterruptionException extends EventStudioException {
 
     public BroadcastInterruptionException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
 }
@@ -37,4 +37,8 @@ public class EventStudioException extends RuntimeException {
         super(cause);
     }
 
+    protected EventStudioException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+
 }
@@ -69,6 +69,12 @@ public class AnnotationsTest {
         Annotations.process(new WrongListener());
     }
 
+    @Test
+    public void contextualListener() throws IllegalAccessException, InvocationTargetException {
+        ReflectiveMetadata metadata = Annotations.process(new ContextListener());
+        assertEquals(1, metadata.getDescriptors().get("").size());
+    }
+
     @Test(expected = EventStudioException.class)
     public void wrongStation() throws IllegalAccessException, InvocationTargetException {
         Annotations.process(new WrongStation());
@@ -162,6 +168,13 @@ public class AnnotationsTest {
         }
     }
 
+    public static class ContextListener {
+        @EventListener
+        public void listen(Object event, BroadcastContext context) {
+            // nothing
+        }
+    }
+
     public static class StationField {
         @EventStation
         private String station = "StationField";
@@ -0,0 +1,376 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.pdfsam.eventstudio.annotation.EventListener;
+import org.pdfsam.eventstudio.exception.BroadcastInterruptionException;
+import org.pdfsam.eventstudio.exception.EventStudioException;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class CourierTest {
+
+    private ManualExecutor executor;
+    private Stations stations;
+    private Station station;
+    private List<String> notified;
+
+    @Before
+    public void setUp() {
+        executor = new ManualExecutor();
+        stations = new Stations();
+        stations.addExecutor("manual", executor);
+        station = stations.getStation("victim");
+        notified = new ArrayList<>();
+    }
+
+    @Test
+    public void deliveredByTheExecutor() {
+        station.add(String.class, e -> notified.add(e), 0, ReferenceStrength.STRONG, stations.courier("manual"));
+        station.broadcast("event");
+        assertTrue(notified.isEmpty());
+        // notified, so it's not enqueued
+        assertTrue(station.pendingEvents().isEmpty());
+        executor.runAll();
+        assertEquals(List.of("event"), notified);
+    }
+
+    @Test
+    public void singleHop() {
+        station.add(String.class, e -> notified.add("first " + e), 1, ReferenceStrength.STRONG, stations.courier("manual"));
+        station.add(String.class, e -> notified.add("second " + e), 2, ReferenceStrength.STRONG, stations.courier("manual"));
+        station.add(String.class, e -> notified.add("inline " + e), 0, ReferenceStrength.STRONG);
+        station.broadcast("event");
+        station.broadcast("another");
+        assertEquals(List.of("inline event", "inline another"), notified);
+        assertEquals(1, executor.tasks.size());
+        executor.runAll();
+        assertEquals(List.of("inline event", "inline another", "first event", "second event", "first another", "second another"), notified);
+    }
+
+    @Test
+    public void newHopAfterDrain() {
+        station.add(String.class, e -> notified.add(e), 0, ReferenceStrength.STRONG, stations.courier("manual"));
+        station.broadcast("event");
+        executor.runAll();
+        station.broadcast("another");
+        assertEquals(1, executor.tasks.size());
+        executor.runAll();
+        assertEquals(List.of("event", "another"), notified);
+    }
+
+    @Test
+    public void batches() {
+        station.add(Integer.class, e -> notified.add(e.toString()), 0, ReferenceStrength.STRONG, stations.courier("manual"));
+        for (int i = 0; i < Courier.MAX_BATCH + 1; i++) {
+            station.broadcast(i);
+        }
+        executor.runNext();
+        assertEquals(Courier.MAX_BATCH, notified.size());
+        assertEquals(1, executor.tasks.size());
+        executor.runNext();
+        assertEquals(Courier.MAX_BATCH + 1, notified.size());
+    }
+
+    @Test
+    public void noHopWhileDraining() {
+        List<Integer> tasks = new ArrayList<>();
+        station.add(String.class, e -> {
+            notified.add(e);
+            if (e.equals("event")) {
+                station.broadcast("another");
+                tasks.add(executor.tasks.size());
+            }
+        }, 0, ReferenceStrength.STRONG, stations.courier("manual"));
+        station.broadcast("event");
+        executor.runNext();
+        // the task draining the queue delivers what's posted meanwhile, no other task can drain it concurrently
+        assertEquals(List.of(0), tasks);
+        assertEquals(List.of("event", "another"), notified);
+        assertTrue(executor.tasks.isEmpty());
+    }
+
+    @Test
+    public void newHopAfterBatch() {
+        station.add(Integer.class, e -> {
+            notified.add(e.toString());
+            if (e == 0) {
+                for (int i = 1; i <= Courier.MAX_BATCH; i++) {
+                    station.broadcast(i);
+                }
+            }
+        }, 0, ReferenceStrength.STRONG, stations.courier("manual"));
+        station.broadcast(0);
+        executor.runNext();
+        assertEquals(Courier.MAX_BATCH, notified.size());
+        assertEquals(1, executor.tasks.size());
+        executor.runAll();
+        assertEquals(Courier.MAX_BATCH + 1, notified.size());
+    }
+
+    @Test
+    public void newHopAfterError() {
+        station.add(String.class, e -> {
+            if (e.equals("event")) {
+                throw new AssertionError();
+            }
+            notified.add(e);
+        }, 0, ReferenceStrength.STRONG, stations.courier("manual"));
+        station.broadcast("event");
+        try {
+            executor.runNext();
+        } catch (AssertionError e) {
+            // expected
+        }
+        station.broadcast("another");
+        assertEquals(1, executor.tasks.size());
+        executor.runAll();
+        assertEquals(List.of("another"), notified);
+    }
+
+    @Test(timeout = 30000)
+    public void orderedOnManyThreads() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            stations.addExecutor("pool", pool);
+            int events = 100_000;
+            List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+            AtomicInteger draining = new AtomicInteger();
+            AtomicBoolean overlapped = new AtomicBoolean();
+            CountDownLatch done = new CountDownLatch(1);
+            station.add(Integer.class, e -> {
+                if (draining.incrementAndGet() > 1) {
+                    overlapped.set(true);
+                }
+                delivered.add(e);
+                if (e == events - 1) {
+                    done.countDown();
+                }
+                draining.decrementAndGet();
+            }, 0, ReferenceStrength.STRONG, stations.courier("pool"));
+            for (int i = 0; i < events; i++) {
+                station.broadcast(i);
+                if (i % 100 == 0) {
+                    // gives the pool threads the chance to drain while events are posted
+                    Thread.yield();
+                }
+            }
+            assertTrue(done.await(20, TimeUnit.SECONDS));
+            assertFalse(overlapped.get());
+            assertEquals(events, delivered.size());
+            for (int i = 0; i < events; i++) {
+                assertEquals(i, delivered.get(i).intValue());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void failingListener() {
+        station.add(String.class, e -> {
+            throw new IllegalStateException();
+        }, 0, ReferenceStrength.STRONG, stations.courier("manual"));
+        station.add(String.class, e -> {
+            throw new BroadcastInterruptionException("stop");
+        }, 1, ReferenceStrength.STRONG, stations.courier("manual"));
+        station.add(String.class, e -> notified.add(e), 2, ReferenceStrength.STRONG, stations.courier("manual"));
+        station.broadcast("event");
+        executor.runAll();
+        assertEquals(List.of("event"), notified);
+    }
+
+    @Test
+    public void contextual() {
+        List<BroadcastContext> contexts = new ArrayList<>();
+        ContextualListener<String> listener = (e, context) -> contexts.add(context);
+        station.add(String.class, listener, 0, ReferenceStrength.STRONG, stations.courier("manual"));
+        station.broadcast("event");
+        executor.runAll();
+        assertEquals(List.of(BroadcastContext.UNSTOPPABLE), contexts);
+    }
+
+    @Test
+    public void annotated() throws IllegalAccessException, InvocationTargetException {
+        ExecutorBean bean = new ExecutorBean(notified);
+        stations.getStation("victim").addAll(bean, Annotations.process(bean).getDescriptors().get(""));
+        station.broadcast("event");
+        assertEquals(List.of("inline event"), notified);
+        executor.runAll();
+        assertEquals(List.of("inline event", "delivered event"), notified);
+    }
+
+    @Test(expected = EventStudioException.class)
+    public void annotatedUnknownExecutor() throws IllegalAccessException, InvocationTargetException {
+        UnknownExecutorBean bean = new UnknownExecutorBean();
+        station.addAll(bean, Annotations.process(bean).getDescriptors().get(""));
+    }
+
+    @Test(expected = EventStudioException.class)
+    public void unknownExecutor() {
+        stations.courier("unknown");
+    }
+
+    @Test(expected = EventStudioException.class)
+    public void alreadyAdded() {
+        stations.addExecutor("manual", executor);
+    }
+
+    @Test
+    public void removed() {
+        Listener<String> listener = e -> notified.add(e);
+        station.add(String.class, listener, 0, ReferenceStrength.STRONG, stations.courier("manual"));
+        assertTrue(station.remove(String.class, listener));
+        station.broadcast("event");
+        executor.runAll();
+        assertTrue(notified.isEmpty());
+    }
+
+    @Test
+    public void frozen() {
+        station.add(String.class, e -> notified.add(e), 0, ReferenceStrength.WEAK, stations.courier("manual"));
+        Listener<String> strong = e -> notified.add("strong " + e);
+        station.add(String.class, strong, 1, ReferenceStrength.STRONG, stations.courier("manual"));
+        station.freeze().broadcast("event");
+        executor.runAll();
+        assertTrue(notified.contains("strong event"));
+    }
+
+    @Test
+    public void specialized() {
+        System.setProperty(EventStudio.SPECIALIZED_DISPATCH_PROP, "true");
+        try {
+            station = new Station("specialized", stations);
+        } finally {
+            System.clearProperty(EventStudio.SPECIALIZED_DISPATCH_PROP);
+        }
+        station.add(String.class, e -> notified.add("delivered " + e), 0, ReferenceStrength.STRONG, stations.courier("manual"));
+        station.add(String.class, e -> notified.add("inline " + e), 1, ReferenceStrength.STRONG);
+        station.broadcast("event");
+        assertEquals(List.of("inline event"), notified);
+        executor.runAll();
+        assertEquals(List.of("inline event", "delivered event"), notified);
+    }
+
+    @Test
+    public void traced() {
+        System.setProperty(EventStudio.TRACE_PROP, "true");
+        try {
+            station = new Station("traced", stations);
+        } finally {
+            System.clearProperty(EventStudio.TRACE_PROP);
+        }
+        List<Trace> traces = new ArrayList<>();
+        station.supervisor(e -> traces.add(Trace.current()));
+        station.add(String.class, e -> traces.add(Trace.current()), 0, ReferenceStrength.STRONG, stations.courier("manual"));
+        station.broadcast("event");
+        executor.runAll();
+        assertEquals(2, traces.size());
+        assertSame(traces.get(0), traces.get(1));
+    }
+
+    @Test
+    public void rejected() {
+        stations.addExecutor("rejecting", new Executor() {
+            private boolean reject = true;
+
+            @Override
+            public void execute(Runnable command) {
+                if (reject) {
+                    reject = false;
+                    throw new RejectedExecutionException();
+                }
+                executor.execute(command);
+            }
+        });
+        station.add(String.class, e -> notified.add(e), 0, ReferenceStrength.STRONG, stations.courier("rejecting"));
+        station.broadcast("event");
+        assertTrue(executor.tasks.isEmpty());
+        station.broadcast("another");
+        executor.runAll();
+        assertEquals(List.of("event", "another"), notified);
+    }
+
+    private static class ManualExecutor implements Executor {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runNext() {
+            tasks.poll().run();
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                runNext();
+            }
+        }
+    }
+
+    public static class ExecutorBean {
+        private final List<String> notified;
+
+        ExecutorBean(List<String> notified) {
+            this.notified = notified;
+        }
+
+        @EventListener(executor = "manual")
+        public void delivered(String event) {
+            notified.add("delivered " + event);
+        }
+
+        @EventListener(priority = 1)
+        public void inline(String event) {
+            notified.add("inline " + event);
+        }
+    }
+
+    public static class UnknownExecutorBean {
+        @EventListener(executor = "unknown")
+        public void delivered(String event) {
+            // nothing
+        }
+    }
+}
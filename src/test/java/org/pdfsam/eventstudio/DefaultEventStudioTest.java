@@ -17,13 +17,34 @@
  */
 package org.pdfsam.eventstudio;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -63,6 +84,63 @@ public class DefaultEventStudioTest {
         when(stations.getStations()).thenReturn(stationsCollection);
     }
 
+    @Test
+    public void broadcastSupplier() {
+        Supplier<Object> supplier = () -> event;
+        victim.broadcast(Object.class, supplier, STATION);
+        verify(station).broadcast(Object.class, supplier, PendingPolicy.DEFER);
+        victim.broadcast(Object.class, supplier, STATION, PendingPolicy.DISCARD);
+        verify(station).broadcast(Object.class, supplier, PendingPolicy.DISCARD);
+        victim.broadcast(Object.class, supplier);
+        verify(hidden).broadcast(Object.class, supplier, PendingPolicy.DEFER);
+    }
+
+    @Test
+    public void metrics() {
+        StationMetrics metrics = new StationMetrics(STATION, Map.of());
+        when(stations.findStation(STATION)).thenReturn(station);
+        when(station.metrics()).thenReturn(metrics);
+        assertEquals(metrics, victim.metrics(STATION));
+        assertNull(victim.metrics("anotherStation"));
+        assertEquals(List.of(metrics), victim.metrics());
+    }
+
+    @Test
+    public void hasListeners() {
+        when(stations.findStation(STATION)).thenReturn(station);
+        when(station.hasListeners(Object.class)).thenReturn(true);
+        assertTrue(victim.hasListeners(Object.class, STATION));
+        assertFalse(victim.hasListeners(Object.class, "anotherStation"));
+        assertFalse(victim.hasListeners(Object.class));
+        verify(stations, never()).getStation(any());
+    }
+
+    @Test
+    public void addSupervisor() {
+        SupervisorOptions options = SupervisorOptions.inline();
+        victim.addSupervisor(supervisor, STATION, options);
+        verify(station).addSupervisor(supervisor, options);
+        victim.addSupervisor(supervisor, options);
+        verify(hidden).addSupervisor(supervisor, options);
+    }
+
+    @Test
+    public void removeSupervisor() {
+        victim.removeSupervisor(supervisor, STATION);
+        verify(station).removeSupervisor(supervisor);
+        victim.removeSupervisor(supervisor);
+        verify(hidden).removeSupervisor(supervisor);
+    }
+
+    @Test
+    public void addKeyed() {
+        Function<Object, Object> extractor = Object::toString;
+        victim.add(Object.class, extractor, "key", listener, STATION);
+        verify(station).add(Object.class, extractor, "key", listener, 0, ReferenceStrength.STRONG);
+        victim.add(Object.class, extractor, "key", listener);
+        verify(hidden).add(Object.class, extractor, "key", listener, 0, ReferenceStrength.STRONG);
+    }
+
     @Test
     public void addHiddenStation() {
         victim.add(listener);
@@ -194,11 +272,79 @@ public class DefaultEventStudioTest {
 
     @Test
     public void broadcastAll() {
+        when(stations.getStations(event.getClass())).thenReturn(List.of(station));
         victim.broadcastToEveryStation(event);
+        verify(station).broadcast(event, false);
+        verify(hidden, never()).broadcast(any(), anyBoolean());
+        verify(hidden, never()).broadcast(any());
+    }
+
+    @Test
+    public void broadcastAllEnqueuing() {
+        victim.broadcastToEveryStation(event, true);
         verify(hidden).broadcast(event);
         verify(station).broadcast(event);
     }
 
+    @Test
+    public void multicast() {
+        DefaultEventStudio studio = new DefaultEventStudio();
+        studio.add(Object.class, listener, STATION);
+        studio.add(Object.class, listener, "anotherStation");
+        studio.broadcast(event, STATION, "anotherStation", STATION);
+        verify(listener).onEvent(event);
+    }
+
+    @Test
+    public void primitiveListeners() {
+        IntListener intListener = mock(IntListener.class);
+        LongListener longListener = mock(LongListener.class);
+        DoubleListener doubleListener = mock(DoubleListener.class);
+        victim.addIntListener(intListener, STATION);
+        victim.addLongListener(longListener);
+        victim.addDoubleListener(doubleListener, STATION, 1);
+        verify(station).addIntListener(intListener, 0);
+        verify(hidden).addLongListener(longListener, 0);
+        verify(station).addDoubleListener(doubleListener, 1);
+        victim.removeIntListener(intListener);
+        victim.removeLongListener(longListener, STATION);
+        victim.removeDoubleListener(doubleListener);
+        verify(hidden).removeIntListener(intListener);
+        verify(station).removeLongListener(longListener);
+        verify(hidden).removeDoubleListener(doubleListener);
+    }
+
+    @Test
+    public void primitiveBroadcast() {
+        victim.broadcastInt(1);
+        victim.broadcastLong(2L, STATION);
+        victim.broadcastDouble(3d, STATION);
+        verify(hidden).broadcastInt(1);
+        verify(station).broadcastLong(2L);
+        verify(station).broadcastDouble(3d);
+    }
+
+    @Test
+    public void addWithExecutor() {
+        Courier courier = new Courier("fx", Runnable::run);
+        when(stations.courier("fx")).thenReturn(courier);
+        victim.add(Object.class, listener, STATION, 1, ReferenceStrength.WEAK, "fx");
+        verify(station).add(Object.class, listener, 1, ReferenceStrength.WEAK, courier);
+    }
+
+    @Test
+    public void addExecutor() {
+        Executor executor = Runnable::run;
+        victim.addExecutor("fx", executor);
+        verify(stations).addExecutor("fx", executor);
+    }
+
+    @Test
+    public void reapEmptyStations() {
+        victim.reapEmptyStations(Duration.ofSeconds(1));
+        verify(stations).reapEmptyStations(Duration.ofSeconds(1));
+    }
+
     @Test
     public void addAnnotatedListeners() {
         TestAnnotatedBean bean = new TestAnnotatedBean();
@@ -208,4 +354,91 @@ public class DefaultEventStudioTest {
         verify(station).addAll(eq(bean), anyList());
         verify(anotherStation).addAll(eq(bean), anyList());
     }
+
+    @Test
+    public void broadcastAfter() {
+        ScheduledBroadcast scheduled = victim.broadcastAfter(event, Duration.ofMillis(20), STATION);
+        verify(station, timeout(5000)).broadcast(event);
+        assertTrue(scheduled.isDone());
+        assertFalse(scheduled.cancel());
+    }
+
+    @Test
+    public void broadcastAfterHidden() {
+        victim.broadcastAfter(event, Duration.ofMillis(20));
+        verify(hidden, timeout(5000)).broadcast(event);
+    }
+
+    @Test
+    public void broadcastAt() {
+        victim.broadcastAt(event, Instant.now().plusMillis(20), STATION);
+        victim.broadcastAt(event, Instant.now().minusSeconds(1));
+        verify(station, timeout(5000)).broadcast(event);
+        verify(hidden, timeout(5000)).broadcast(event);
+    }
+
+    @Test
+    public void broadcastEvery() {
+        ScheduledBroadcast scheduled = victim.broadcastEvery(event, Duration.ofMillis(10), STATION);
+        verify(station, timeout(5000).atLeast(3)).broadcast(event);
+        assertFalse(scheduled.isDone());
+        assertTrue(scheduled.cancel());
+        assertTrue(scheduled.isDone());
+    }
+
+    @Test
+    public void cancelScheduled() throws InterruptedException {
+        ScheduledBroadcast scheduled = victim.broadcastAfter(event, Duration.ofMillis(50), STATION);
+        assertTrue(scheduled.cancel());
+        assertTrue(scheduled.isCancelled());
+        victim.broadcastAfter("later", Duration.ofMillis(100), STATION);
+        verify(station, timeout(5000)).broadcast("later");
+        verify(station, never()).broadcast(event);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void broadcastEveryNegativePeriod() {
+        victim.broadcastEvery(event, Duration.ofMillis(-1), STATION);
+    }
+
+    @Test
+    public void addResponder() {
+        Responder<String, String> responder = (request, reply) -> reply.complete(request);
+        victim.addResponder(String.class, responder, STATION);
+        verify(station).addResponder(String.class, responder);
+        victim.addResponder(String.class, responder);
+        verify(hidden).addResponder(String.class, responder);
+    }
+
+    @Test
+    public void removeResponder() {
+        Responder<String, String> responder = (request, reply) -> reply.complete(request);
+        when(station.removeResponder(String.class, responder)).thenReturn(true);
+        assertTrue(victim.removeResponder(String.class, responder, STATION));
+        assertFalse(victim.removeResponder(String.class, responder));
+        verify(hidden).removeResponder(String.class, responder);
+    }
+
+    @Test
+    public void request() {
+        CompletableFuture<Object> reply = CompletableFuture.completedFuture("reply");
+        when(station.request(event)).thenReturn(reply);
+        when(hidden.request(event)).thenReturn(reply);
+        assertSame(reply, victim.request(event, STATION));
+        assertSame(reply, victim.request(event));
+    }
+
+    @Test
+    public void requestTimeout() throws InterruptedException {
+        when(station.request(event)).thenReturn(new CompletableFuture<>());
+        CompletableFuture<Object> reply = victim.request(event, STATION, Duration.ofMillis(10));
+        try {
+            reply.get(5, TimeUnit.SECONDS);
+            fail("Timeout expected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        } catch (TimeoutException e) {
+            fail("The request didn't time out");
+        }
+    }
 }
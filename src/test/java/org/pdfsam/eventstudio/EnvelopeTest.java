@@ -19,6 +19,7 @@ package org.pdfsam.eventstudio;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
@@ -49,4 +50,17 @@ public class EnvelopeTest {
         victim.notified();
         assertTrue(victim.isNotified());
     }
+
+    @Test
+    public void stop() {
+        Envelope victim = Envelope.acquire(new Object());
+        assertFalse(victim.isStopped());
+        victim.stop();
+        assertTrue(victim.isStopped());
+        victim.release();
+        Envelope reused = Envelope.acquire(new Object());
+        assertSame(victim, reused);
+        assertFalse(reused.isStopped());
+        reused.release();
+    }
 }
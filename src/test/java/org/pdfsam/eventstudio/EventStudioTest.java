@@ -0,0 +1,97 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class EventStudioTest {
+
+    private EventStudio victim;
+
+    @Before
+    public void setUp() {
+        victim = mock(EventStudio.class, CALLS_REAL_METHODS);
+        doAnswer(i -> null).when(victim).broadcast(any(), anyString());
+    }
+
+    @Test
+    public void delegating() {
+        doAnswer(i -> null).when(victim).broadcast(any(), any(Supplier.class), anyString(), any());
+        doAnswer(i -> null).when(victim).addIntListener(any(), anyString(), anyInt());
+        Supplier<String> supplier = () -> "event";
+        IntListener listener = e -> {
+            // nothing
+        };
+        victim.broadcast(String.class, supplier, "station");
+        victim.addIntListener(listener, "station");
+        verify(victim).broadcast(String.class, supplier, "station", PendingPolicy.DEFER);
+        verify(victim).addIntListener(listener, "station", 0);
+    }
+
+    @Test
+    public void broadcastToStations() {
+        victim.broadcast("event", "station", "another");
+        verify(victim).broadcast("event", "station");
+        verify(victim).broadcast("event", "another");
+    }
+
+    @Test
+    public void broadcastSupplied() {
+        victim.broadcast(String.class, () -> "event", "station", PendingPolicy.DISCARD);
+        verify(victim).broadcast("event", "station");
+    }
+
+    @Test
+    public void broadcastSuppliedNull() {
+        assertThrows(IllegalArgumentException.class, () -> victim.broadcast(String.class, () -> null, "station", PendingPolicy.ENQUEUE));
+        verify(victim, never()).broadcast(any(), anyString());
+    }
+
+    @Test
+    public void noMetrics() {
+        assertTrue(victim.metrics().isEmpty());
+        assertNull(victim.metrics("station"));
+    }
+
+    @Test
+    public void broadcastAfter() {
+        victim.broadcastAfter("event", Duration.ofMillis(10), "station");
+        verify(victim, timeout(5000)).broadcast("event", "station");
+    }
+}
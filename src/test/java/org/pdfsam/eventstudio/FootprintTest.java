@@ -0,0 +1,202 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+import org.openjdk.jol.info.GraphLayout;
+import org.pdfsam.eventstudio.Annotations.ReflectiveListenerDescriptor;
+import org.pdfsam.eventstudio.annotation.EventListener;
+
+/**
+ * Upper bounds of the retained size, in bytes, of stations, registered listeners and pending events. Sizes are measured walking the object graph, with JOL, and they are
+ * marginal: the cost of one more entity, averaged over {@value #ENTITIES} of them, so that shared objects like classes, method handles and the first slot of a map don't count.
+ * Objects owned by the user, like listeners and events, are not part of the footprint.
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public class FootprintTest {
+
+    private static final int ENTITIES = 100;
+    /**
+     * Reachable from the registrations but shared by all of them. The graph of a class changes as reflection data is cached, the reference queue leads to the thread waiting
+     * on it and from there to the whole JVM.
+     */
+    private static final Object[] SHARED = { String.class, FootprintListener.class, AnnotatedBean.class, ReferenceCleaner.QUEUE };
+
+    @Test
+    public void station() {
+        String name = "victim";
+        long footprint = footprint(new Station(name), name);
+        assertFootprint("Station", footprint, 768);
+    }
+
+    @Test
+    public void registeredStation() {
+        Stations stations = new Stations();
+        String[] names = new String[ENTITIES + 1];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "station" + i;
+        }
+        stations.getStation(names[0]);
+        long first = footprint(stations, (Object[]) names);
+        for (int i = 1; i < names.length; i++) {
+            stations.getStation(names[i]);
+        }
+        long footprint = (footprint(stations, (Object[]) names) - first) / ENTITIES;
+        assertFootprint("Registered station", footprint, 768);
+    }
+
+    @Test
+    public void strongListener() {
+        assertFootprint("Strong listener", listener(ReferenceStrength.STRONG), 32);
+    }
+
+    @Test
+    public void softListener() {
+        assertFootprint("Soft listener", listener(ReferenceStrength.SOFT), 80);
+    }
+
+    @Test
+    public void weakListener() {
+        assertFootprint("Weak listener", listener(ReferenceStrength.WEAK), 72);
+    }
+
+    @Test
+    public void keyedListener() {
+        Station station = new Station("victim");
+        FootprintListener[] listeners = listeners();
+        Function<String, String> extractor = Function.identity();
+        station.add(String.class, extractor, "key", listeners[0], 0, ReferenceStrength.STRONG);
+        long first = footprint(station, listeners, "victim", "key", extractor);
+        for (int i = 1; i < listeners.length; i++) {
+            station.add(String.class, extractor, "key", listeners[i], 0, ReferenceStrength.STRONG);
+        }
+        long footprint = (footprint(station, listeners, "victim", "key", extractor) - first) / ENTITIES;
+        assertFootprint("Keyed listener", footprint, 40);
+    }
+
+    @Test
+    public void annotatedBean() throws IllegalAccessException, InvocationTargetException {
+        Station station = new Station("victim");
+        AnnotatedBean[] beans = new AnnotatedBean[ENTITIES + 1];
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = new AnnotatedBean();
+        }
+        station.addAll(beans[0], descriptors(beans[0]));
+        long first = footprint(station, beans, "victim");
+        for (int i = 1; i < beans.length; i++) {
+            station.addAll(beans[i], descriptors(beans[i]));
+        }
+        long footprint = (footprint(station, beans, "victim") - first) / ENTITIES;
+        assertFootprint("Annotated bean", footprint, 40);
+    }
+
+    @Test
+    public void pendingEvent() {
+        Station station = new Station("victim");
+        String event = "event";
+        station.broadcast(event);
+        long first = footprint(station, "victim", event);
+        for (int i = 0; i < ENTITIES; i++) {
+            station.broadcast(event);
+        }
+        long footprint = (footprint(station, "victim", event) - first) / ENTITIES;
+        assertFootprint("Pending event", footprint, 32);
+    }
+
+    @Test
+    public void deferredEvent() {
+        Station station = new Station("victim");
+        String event = "event";
+        Supplier<String> supplier = () -> event;
+        station.broadcast(String.class, supplier, PendingPolicy.DEFER);
+        long first = footprint(station, "victim", supplier);
+        for (int i = 0; i < ENTITIES; i++) {
+            station.broadcast(String.class, supplier, PendingPolicy.DEFER);
+        }
+        long footprint = (footprint(station, "victim", supplier) - first) / ENTITIES;
+        assertFootprint("Deferred event", footprint, 48);
+    }
+
+    private static long listener(ReferenceStrength strength) {
+        Station station = new Station("victim");
+        FootprintListener[] listeners = listeners();
+        station.add(String.class, listeners[0], 0, strength);
+        long first = footprint(station, listeners, "victim");
+        for (int i = 1; i < listeners.length; i++) {
+            station.add(String.class, listeners[i], 0, strength);
+        }
+        return (footprint(station, listeners, "victim") - first) / ENTITIES;
+    }
+
+    private static void assertFootprint(String entity, long footprint, long bound) {
+        assertTrue(entity + " footprint " + footprint + " bytes, expected at most " + bound, footprint <= bound);
+    }
+
+    private static FootprintListener[] listeners() {
+        FootprintListener[] listeners = new FootprintListener[ENTITIES + 1];
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i] = new FootprintListener();
+        }
+        return listeners;
+    }
+
+    private static List<ReflectiveListenerDescriptor> descriptors(Object bean) throws IllegalAccessException, InvocationTargetException {
+        return Annotations.process(bean).getDescriptors().values().iterator().next();
+    }
+
+    /**
+     * @return the size of the graph of objects reachable from the given root, minus the graph of objects reachable from the excluded ones and from the {@link #SHARED} ones.
+     *         The shared graph is live and other threads can change it while we walk, we retry until it's the same before and after the walk.
+     */
+    private static long footprint(Object root, Object... excluded) {
+        Object[] shared = { excluded, SHARED };
+        long before = GraphLayout.parseInstance((Object) shared).totalSize();
+        for (int i = 0; i < 10; i++) {
+            long total = GraphLayout.parseInstance(root, shared).totalSize();
+            long after = GraphLayout.parseInstance((Object) shared).totalSize();
+            if (before == after) {
+                return total - after;
+            }
+            before = after;
+        }
+        throw new IllegalStateException("Unable to get a stable measure of the shared objects");
+    }
+
+    private static class FootprintListener implements Listener<String> {
+        @Override
+        public void onEvent(String event) {
+            // nothing
+        }
+    }
+
+    public static class AnnotatedBean {
+        @EventListener
+        public void onEvent(String event) {
+            // nothing
+        }
+    }
+}
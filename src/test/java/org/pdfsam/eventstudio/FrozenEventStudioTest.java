@@ -0,0 +1,315 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.pdfsam.eventstudio.exception.EventStudioException;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class FrozenEventStudioTest {
+
+    private static final String STATION = "station";
+    private DefaultEventStudio studio;
+    private Listener<Object> listener = mock(Listener.class);
+    private Listener<Object> anotherListener = mock(Listener.class);
+
+    @Before
+    public void setUp() {
+        studio = new DefaultEventStudio();
+    }
+
+    @Test
+    public void broadcast() {
+        Object event = new Object();
+        Supervisor supervisor = mock(Supervisor.class);
+        InOrder inOrder = Mockito.inOrder(anotherListener, listener);
+        studio.add(Object.class, listener, STATION, 1, ReferenceStrength.WEAK);
+        studio.add(Object.class, anotherListener, STATION, 0, ReferenceStrength.STRONG);
+        studio.supervisor(supervisor, STATION);
+        EventStudio victim = studio.freeze();
+        victim.broadcast(event, STATION);
+        verify(supervisor).inspect(event);
+        inOrder.verify(anotherListener).onEvent(event);
+        inOrder.verify(listener).onEvent(event);
+    }
+
+    @Test
+    public void metrics() {
+        System.setProperty(EventStudio.METRICS_PROP, "true");
+        try {
+            // stations collect metrics if the property is set when they are created
+            studio.add(Object.class, listener, STATION);
+        } finally {
+            System.clearProperty(EventStudio.METRICS_PROP);
+        }
+        studio.broadcast(new Object(), STATION);
+        EventStudio victim = studio.freeze();
+        victim.broadcast(new Object(), STATION);
+        // shared with the original station
+        assertEquals(2, victim.metrics(STATION).events().get(Object.class).notified());
+        assertEquals(2, studio.metrics(STATION).events().get(Object.class).listenerInvocations());
+        assertEquals(1, victim.metrics().size());
+        assertNull(victim.metrics("anotherStation"));
+    }
+
+    @Test
+    public void metricsMulticast() {
+        System.setProperty(EventStudio.METRICS_PROP, "true");
+        try {
+            studio.add(Object.class, listener, STATION);
+            studio.add(String.class, e -> {
+                // nothing
+            }, "anotherStation");
+        } finally {
+            System.clearProperty(EventStudio.METRICS_PROP);
+        }
+        EventStudio victim = studio.freeze();
+        victim.broadcast(new Object(), STATION, "anotherStation");
+        assertEquals(1, victim.metrics(STATION).events().get(Object.class).broadcasts());
+        assertEquals(1, victim.metrics(STATION).events().get(Object.class).notified());
+        assertEquals(1, victim.metrics("anotherStation").events().get(Object.class).unnotified());
+    }
+
+    @Test
+    public void traced() {
+        List<Trace> traces = new ArrayList<>();
+        System.setProperty(EventStudio.TRACE_PROP, "true");
+        try {
+            studio.add(String.class, e -> traces.add(Trace.current()), STATION);
+        } finally {
+            System.clearProperty(EventStudio.TRACE_PROP);
+        }
+        EventStudio victim = studio.freeze();
+        studio.add(Integer.class, e -> victim.broadcast("event", STATION), STATION);
+        victim.broadcast("event", STATION);
+        studio.freeze().broadcast(1, STATION);
+        assertEquals(2, traces.size());
+        assertTrue(traces.get(0).isRoot());
+        assertEquals(traces.get(1).traceId(), traces.get(1).parentId());
+        assertNull(Trace.current());
+    }
+
+    @Test
+    public void trampolined() {
+        List<String> notified = new ArrayList<>();
+        System.setProperty(EventStudio.TRAMPOLINE_PROP, "true");
+        try {
+            studio.add(String.class, e -> notified.add("first " + e), STATION, 0, ReferenceStrength.STRONG);
+        } finally {
+            System.clearProperty(EventStudio.TRAMPOLINE_PROP);
+        }
+        EventStudio[] victim = new EventStudio[1];
+        studio.add(String.class, e -> {
+            if (e.equals("event")) {
+                victim[0].broadcast("child", STATION);
+            }
+        }, STATION, 1, ReferenceStrength.STRONG);
+        studio.add(String.class, e -> notified.add("last " + e), STATION, 2, ReferenceStrength.STRONG);
+        victim[0] = studio.freeze();
+        victim[0].broadcast("event", STATION);
+        assertEquals(List.of("first event", "last event", "first child", "last child"), notified);
+    }
+
+    @Test
+    public void trampolinedFailure() {
+        List<String> notified = new ArrayList<>();
+        System.setProperty(EventStudio.TRAMPOLINE_PROP, "true");
+        try {
+            studio.add(String.class, e -> notified.add(e), STATION, 0, ReferenceStrength.STRONG);
+        } finally {
+            System.clearProperty(EventStudio.TRAMPOLINE_PROP);
+        }
+        IllegalStateException failure = new IllegalStateException();
+        EventStudio[] victim = new EventStudio[1];
+        studio.add(String.class, e -> {
+            if (e.equals("event")) {
+                victim[0].broadcast("discarded", STATION);
+                throw failure;
+            }
+        }, STATION, 1, ReferenceStrength.STRONG);
+        victim[0] = studio.freeze();
+        assertSame(failure, assertThrows(IllegalStateException.class, () -> victim[0].broadcast("event", STATION)));
+        assertEquals(List.of("event"), notified);
+        assertEquals(0, Trampoline.current().deferred());
+    }
+
+    @Test
+    public void broadcastAfter() {
+        Object event = new Object();
+        studio.add(Object.class, listener, STATION);
+        EventStudio victim = studio.freeze();
+        victim.broadcastAfter(event, Duration.ofMillis(10), STATION);
+        verify(listener, timeout(5000)).onEvent(event);
+    }
+
+    @Test
+    public void broadcastEvery() {
+        Object event = new Object();
+        studio.add(Object.class, listener, STATION);
+        ScheduledBroadcast scheduled = studio.freeze().broadcastEvery(event, Duration.ofMillis(10), STATION);
+        verify(listener, timeout(5000).atLeast(2)).onEvent(event);
+        assertTrue(scheduled.cancel());
+    }
+
+    @Test
+    public void noMetrics() {
+        studio.add(Object.class, listener, STATION);
+        assertNull(studio.freeze().metrics(STATION));
+        assertTrue(studio.freeze().metrics().isEmpty());
+    }
+
+    @Test
+    public void notAffectedByLaterChanges() {
+        Object event = new Object();
+        EventStudio victim = studio.freeze();
+        studio.add(Object.class, listener, STATION);
+        victim.broadcast(event, STATION);
+        verify(listener, never()).onEvent(any());
+        assertFalse(victim.hasListeners(Object.class, STATION));
+        assertTrue(studio.hasListeners(Object.class, STATION));
+    }
+
+    @Test
+    public void stopped() {
+        Object event = new Object();
+        ContextualListener<Object> stopping = (e, context) -> context.stop();
+        studio.add(Object.class, listener, STATION, 1, ReferenceStrength.STRONG);
+        studio.add(Object.class, stopping, STATION, 0, ReferenceStrength.STRONG);
+        studio.freeze().broadcast(event, STATION);
+        verify(listener, never()).onEvent(any());
+    }
+
+    @Test
+    public void keyed() {
+        Function<Object, Object> extractor = Object::toString;
+        Object event = new Object();
+        studio.add(Object.class, extractor, event.toString(), listener, STATION);
+        studio.add(Object.class, extractor, "another", anotherListener, STATION);
+        studio.freeze().broadcast(event, STATION);
+        verify(listener).onEvent(event);
+        verify(anotherListener, never()).onEvent(any());
+    }
+
+    @Test
+    public void multicastAndEveryStation() {
+        Object event = new Object();
+        studio.add(Object.class, listener, STATION);
+        studio.add(Object.class, listener, "another");
+        studio.add(Object.class, anotherListener, "another");
+        EventStudio victim = studio.freeze();
+        victim.broadcast(event, STATION, "another", "missing");
+        verify(listener).onEvent(event);
+        verify(anotherListener).onEvent(event);
+        victim.broadcastToEveryStation(event);
+        verify(listener, Mockito.times(3)).onEvent(event);
+        verify(anotherListener, Mockito.times(2)).onEvent(event);
+    }
+
+    @Test
+    public void supplier() {
+        Supplier<Object> supplier = mock(Supplier.class);
+        studio.add(String.class, s -> {
+        }, STATION);
+        EventStudio victim = studio.freeze();
+        victim.broadcast(Object.class, supplier, STATION, PendingPolicy.ENQUEUE);
+        victim.broadcast(Object.class, supplier, "missing");
+        verify(supplier, never()).get();
+    }
+
+    @Test
+    public void primitive() {
+        IntListener intListener = mock(IntListener.class);
+        LongListener longListener = mock(LongListener.class);
+        DoubleListener doubleListener = mock(DoubleListener.class);
+        studio.addIntListener(intListener, STATION);
+        studio.addLongListener(longListener, STATION);
+        studio.addDoubleListener(doubleListener, STATION);
+        EventStudio victim = studio.freeze();
+        victim.broadcastInt(1, STATION);
+        victim.broadcastLong(2, STATION);
+        victim.broadcastDouble(3, STATION);
+        verify(intListener).onEvent(1);
+        verify(longListener).onEvent(2);
+        verify(doubleListener).onEvent(3);
+    }
+
+    @Test
+    public void missingStation() {
+        EventStudio victim = studio.freeze();
+        victim.broadcast(new Object(), STATION);
+        assertFalse(victim.hasListeners(Object.class, STATION));
+    }
+
+    @Test(expected = EventStudioException.class)
+    public void add() {
+        studio.freeze().add(listener, STATION);
+    }
+
+    @Test(expected = EventStudioException.class)
+    public void remove() {
+        studio.add(Object.class, listener, STATION);
+        studio.freeze().remove(Object.class, listener, STATION);
+    }
+
+    @Test(expected = EventStudioException.class)
+    public void supervisor() {
+        studio.freeze().supervisor(Supervisor.SLACKER, STATION);
+    }
+
+    @Test(expected = EventStudioException.class)
+    public void clear() {
+        studio.freeze().clear(STATION);
+    }
+
+    @Test
+    public void request() {
+        studio.addResponder(String.class, (request, reply) -> reply.complete(request.length()), STATION);
+        EventStudio victim = studio.freeze();
+        assertEquals(Integer.valueOf(3), victim.<Integer> request("abc", STATION).join());
+        assertTrue(victim.request("abc", "missing").isCompletedExceptionally());
+    }
+
+    @Test(expected = EventStudioException.class)
+    public void addResponder() {
+        studio.freeze().addResponder(String.class, (request, reply) -> reply.complete(request), STATION);
+    }
+}
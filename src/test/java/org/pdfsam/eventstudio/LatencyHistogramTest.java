@@ -0,0 +1,66 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void empty() {
+        StationMetrics.Latency snapshot = new LatencyHistogram().snapshot();
+        assertEquals(0, snapshot.count());
+        assertEquals(0, snapshot.meanNanos());
+        assertEquals(0, snapshot.p50Nanos());
+        assertEquals(0, snapshot.p999Nanos());
+    }
+
+    @Test
+    public void percentiles() {
+        LatencyHistogram victim = new LatencyHistogram();
+        for (int i = 0; i < 98; i++) {
+            victim.record(100);
+        }
+        victim.record(1000);
+        victim.record(5000);
+        StationMetrics.Latency snapshot = victim.snapshot();
+        assertEquals(100, snapshot.count());
+        assertEquals(15800, snapshot.totalNanos());
+        assertEquals(158, snapshot.meanNanos());
+        assertEquals(5000, snapshot.maxNanos());
+        // upper bound of the [64, 128) bucket
+        assertEquals(127, snapshot.p50Nanos());
+        assertEquals(1023, snapshot.p99Nanos());
+        assertEquals(5000, snapshot.p999Nanos());
+    }
+
+    @Test
+    public void negative() {
+        LatencyHistogram victim = new LatencyHistogram();
+        victim.record(-10);
+        StationMetrics.Latency snapshot = victim.snapshot();
+        assertEquals(1, snapshot.count());
+        assertEquals(0, snapshot.maxNanos());
+    }
+}
@@ -20,16 +20,25 @@ package org.pdfsam.eventstudio;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
 
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.InvocationTargetException;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
 
+import com.sun.management.ThreadMXBean;
 import org.junit.Before;
 import org.junit.Test;
 import org.pdfsam.eventstudio.Annotations.ReflectiveListenerDescriptor;
 import org.pdfsam.eventstudio.Annotations.ReflectiveMetadata;
 import org.pdfsam.eventstudio.Listeners.ListenerReferenceHolder;
 import org.pdfsam.eventstudio.annotation.EventListener;
+import org.pdfsam.eventstudio.exception.EventStudioException;
 
 /**
  * @author Andrea Vacondio
@@ -114,6 +123,206 @@ public class ListenersTest {
         assertFalse(victim.remove(AnotherTestEvent.class, anotherListener));
     }
 
+    @Test
+    public void keyed() {
+        KeyedTestListener listener = new KeyedTestListener();
+        victim.add(KeyedTestEvent.class, KeyedTestEvent::key, "chuck", listener, 0, ReferenceStrength.STRONG);
+        assertTrue(victim.hasListeners(KeyedTestEvent.class));
+        assertFalse(victim.isEmpty());
+        assertTrue(victim.nullSafeGetListeners(KeyedTestEvent.class).isEmpty());
+        assertEquals(1, victim.listeners(new KeyedTestEvent("chuck")).length);
+        assertEquals(0, victim.listeners(new KeyedTestEvent("norris")).length);
+        assertEquals(0, victim.listeners(new KeyedTestEvent(null)).length);
+    }
+
+    @Test
+    public void keyedPriorityOrder() {
+        Function<KeyedTestEvent, String> extractor = KeyedTestEvent::key;
+        victim.add(KeyedTestEvent.class, new KeyedTestListener(), 2, ReferenceStrength.STRONG);
+        victim.add(KeyedTestEvent.class, new KeyedTestListener(), 0, ReferenceStrength.STRONG);
+        victim.add(KeyedTestEvent.class, extractor, "chuck", new KeyedTestListener(), 3, ReferenceStrength.STRONG);
+        victim.add(KeyedTestEvent.class, extractor, "chuck", new KeyedTestListener(), 1, ReferenceStrength.STRONG);
+        victim.add(KeyedTestEvent.class, extractor, "norris", new KeyedTestListener(), -1, ReferenceStrength.STRONG);
+        ListenerReferenceHolder[] listeners = victim.listeners(new KeyedTestEvent("chuck"));
+        assertEquals(4, listeners.length);
+        assertEquals(0, listeners[0].priority);
+        assertEquals(1, listeners[1].priority);
+        assertEquals(2, listeners[2].priority);
+        assertEquals(3, listeners[3].priority);
+    }
+
+    @Test
+    public void removeKeyed() {
+        Function<KeyedTestEvent, String> extractor = KeyedTestEvent::key;
+        KeyedTestListener listener = new KeyedTestListener();
+        KeyedTestListener another = new KeyedTestListener();
+        victim.add(KeyedTestEvent.class, extractor, "chuck", listener, 0, ReferenceStrength.STRONG);
+        victim.add(KeyedTestEvent.class, extractor, "norris", another, 0, ReferenceStrength.STRONG);
+        assertTrue(victim.remove(KeyedTestEvent.class, listener));
+        assertFalse(victim.remove(KeyedTestEvent.class, listener));
+        assertEquals(0, victim.listeners(new KeyedTestEvent("chuck")).length);
+        for (ListenerReferenceHolder holder : victim.listeners(new KeyedTestEvent("norris"))) {
+            assertTrue(victim.remove(KeyedTestEvent.class, holder));
+        }
+        assertFalse(victim.hasListeners(KeyedTestEvent.class));
+        assertTrue(victim.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullKey() {
+        victim.add(KeyedTestEvent.class, KeyedTestEvent::key, null, new KeyedTestListener(), 0, ReferenceStrength.STRONG);
+    }
+
+    @Test
+    public void specializedDispatch() {
+        List<String> notified = new ArrayList<>();
+        Listener<TestEvent> stopping = (ContextualListener<TestEvent>) (e, context) -> {
+            notified.add("stopping");
+            context.stop();
+        };
+        Listener<TestEvent> first = e -> notified.add("first");
+        Listener<TestEvent> last = e -> notified.add("last");
+        Listeners specialized = new Listeners(true);
+        specialized.add(TestEvent.class, last, 2, ReferenceStrength.STRONG);
+        specialized.add(TestEvent.class, first, 0, ReferenceStrength.STRONG);
+        Envelope envelope = new Envelope(new TestEvent());
+        assertTrue(specialized.dispatch(envelope));
+        assertTrue(envelope.isNotified());
+        assertEquals(List.of("first", "last"), notified);
+        specialized.add(TestEvent.class, stopping, 1, ReferenceStrength.STRONG);
+        notified.clear();
+        assertTrue(specialized.dispatch(new Envelope(new TestEvent())));
+        assertEquals(List.of("first", "stopping"), notified);
+    }
+
+    @Test
+    public void specializedDispatchReflective() throws IllegalAccessException, InvocationTargetException {
+        Listeners specialized = new Listeners(true);
+        FailingListener bean = new FailingListener();
+        specialized.addAll(bean, Annotations.process(bean).getDescriptors().get(""));
+        try {
+            specialized.dispatch(new Envelope(new TestEvent()));
+            fail();
+        } catch (EventStudioException e) {
+            assertEquals(IOException.class, e.getCause().getClass());
+        }
+    }
+
+    @Test
+    public void notSpecializedDispatch() {
+        Listeners specialized = new Listeners(true);
+        assertFalse(specialized.dispatch(new Envelope(new TestEvent())));
+        specialized.add(TestEvent.class, new TestListener(), 0, ReferenceStrength.WEAK);
+        assertFalse(specialized.dispatch(new Envelope(new TestEvent())));
+        victim.add(TestEvent.class, new TestListener(), 0, ReferenceStrength.STRONG);
+        assertFalse(victim.dispatch(new Envelope(new TestEvent())));
+        specialized = new Listeners(true);
+        for (int i = 0; i <= Listeners.MAX_SPECIALIZED_LISTENERS; i++) {
+            specialized.add(TestEvent.class, new TestListener(), 0, ReferenceStrength.STRONG);
+        }
+        assertFalse(specialized.dispatch(new Envelope(new TestEvent())));
+        specialized = new Listeners(true);
+        specialized.add(KeyedTestEvent.class, new KeyedTestListener(), 0, ReferenceStrength.STRONG);
+        assertTrue(specialized.dispatch(new Envelope(new KeyedTestEvent("chuck"))));
+        specialized.add(KeyedTestEvent.class, KeyedTestEvent::key, "chuck", new KeyedTestListener(), 0, ReferenceStrength.STRONG);
+        assertFalse(specialized.dispatch(new Envelope(new KeyedTestEvent("chuck"))));
+    }
+
+    @Test
+    public void collectedListenersAreRemoved() throws InterruptedException {
+        List<Class<?>> collected = new CopyOnWriteArrayList<>();
+        Listeners listeners = new Listeners(collected::add);
+        TestListener strong = new TestListener();
+        listeners.add(TestEvent.class, strong, 0, ReferenceStrength.STRONG);
+        listeners.add(TestEvent.class, new TestListener(), 0, ReferenceStrength.WEAK);
+        listeners.add(AnotherTestEvent.class, new AnotherTestListener(), 0, ReferenceStrength.WEAK);
+        listeners.add(KeyedTestEvent.class, KeyedTestEvent::key, "chuck", new KeyedTestListener(), 0, ReferenceStrength.WEAK);
+        for (int i = 0; i < 50 && collected.size() < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        assertEquals(3, collected.size());
+        assertTrue(collected.containsAll(List.of(TestEvent.class, AnotherTestEvent.class, KeyedTestEvent.class)));
+        assertEquals(1, listeners.nullSafeGetListeners(TestEvent.class).size());
+        assertFalse(listeners.hasListeners(AnotherTestEvent.class));
+        assertFalse(listeners.hasListeners(KeyedTestEvent.class));
+        listeners.remove(TestEvent.class, strong);
+        assertTrue(listeners.isEmpty());
+    }
+
+    @Test
+    public void removedListenersAreNotCollected() throws InterruptedException {
+        List<Class<?>> collected = new CopyOnWriteArrayList<>();
+        Listeners listeners = new Listeners(collected::add);
+        TestListener listener = new TestListener();
+        listeners.add(TestEvent.class, listener, 0, ReferenceStrength.WEAK);
+        assertTrue(listeners.remove(TestEvent.class, listener));
+        listener = null;
+        System.gc();
+        Thread.sleep(200);
+        assertTrue(collected.isEmpty());
+    }
+
+    @Test
+    public void samePriorityRegistrationOrder() {
+        TestListener first = new TestListener();
+        TestListener second = new TestListener();
+        TestListener third = new TestListener();
+        victim.add(TestEvent.class, second, 1, ReferenceStrength.STRONG);
+        victim.add(TestEvent.class, third, 1, ReferenceStrength.WEAK);
+        victim.add(TestEvent.class, first, 0, ReferenceStrength.STRONG);
+        ListenerReferenceHolder[] listeners = victim.listeners(TestEvent.class);
+        assertEquals(first, listeners[0].target());
+        assertEquals(second, listeners[1].target());
+        assertEquals(third, listeners[2].target());
+    }
+
+    @Test
+    public void footprint() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        Listeners listeners = new Listeners(false);
+        Listeners weakListeners = new Listeners(false);
+        TestListener[] strong = new TestListener[100];
+        TestListener[] weak = new TestListener[100];
+        for (int i = 0; i < strong.length; i++) {
+            strong[i] = new TestListener();
+            weak[i] = new TestListener();
+        }
+        // warm up
+        for (int i = 0; i < 50; i++) {
+            listeners.add(TestEvent.class, strong[i], 0, ReferenceStrength.STRONG);
+            weakListeners.add(TestEvent.class, weak[i], 0, ReferenceStrength.WEAK);
+        }
+        listeners.listeners(TestEvent.class);
+        weakListeners.listeners(TestEvent.class);
+        int measured = strong.length - 50;
+        // registrations in a row cost their holders, the change log and a single rebuild of the array, retrieving the listeners
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 50; i < strong.length; i++) {
+            listeners.add(TestEvent.class, strong[i], 0, ReferenceStrength.STRONG);
+        }
+        listeners.listeners(TestEvent.class);
+        long strongFootprint = threads.getCurrentThreadAllocatedBytes() - before - arrayCost(threads, strong.length);
+        before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 50; i < weak.length; i++) {
+            weakListeners.add(TestEvent.class, weak[i], 0, ReferenceStrength.WEAK);
+        }
+        weakListeners.listeners(TestEvent.class);
+        long weakFootprint = threads.getCurrentThreadAllocatedBytes() - before - arrayCost(threads, weak.length);
+        assertTrue("Strong listener footprint " + strongFootprint / measured, strongFootprint / measured <= 64);
+        assertTrue("Weak listener footprint " + weakFootprint / measured, weakFootprint / measured <= 112);
+    }
+
+    private static ListenerReferenceHolder[] sink;
+
+    private static long arrayCost(ThreadMXBean threads, int size) {
+        long before = threads.getCurrentThreadAllocatedBytes();
+        sink = new ListenerReferenceHolder[size];
+        return threads.getCurrentThreadAllocatedBytes() - before;
+    }
+
     @Test
     public void priorityOrder() throws IllegalAccessException, InvocationTargetException {
 
@@ -172,6 +381,71 @@ public class ListenersTest {
         }
     }
 
+    @Test
+    public void changesMergedInPriorityOrder() {
+        TestListener first = new TestListener();
+        TestListener second = new TestListener();
+        TestListener third = new TestListener();
+        TestListener removed = new TestListener();
+        victim.add(TestEvent.class, first, 1, ReferenceStrength.STRONG);
+        victim.add(TestEvent.class, removed, 0, ReferenceStrength.STRONG);
+        assertEquals(2, victim.listeners(TestEvent.class).length);
+        victim.add(TestEvent.class, third, 2, ReferenceStrength.STRONG);
+        victim.add(TestEvent.class, second, 1, ReferenceStrength.STRONG);
+        assertTrue(victim.remove(TestEvent.class, removed));
+        assertFalse(victim.remove(TestEvent.class, removed));
+        ListenerReferenceHolder[] listeners = victim.listeners(TestEvent.class);
+        assertEquals(3, listeners.length);
+        assertEquals(first, listeners[0].target());
+        assertEquals(second, listeners[1].target());
+        assertEquals(third, listeners[2].target());
+    }
+
+    @Test
+    public void removeNotMerged() {
+        TestListener listener = new TestListener();
+        victim.add(TestEvent.class, listener, 0, ReferenceStrength.STRONG);
+        assertTrue(victim.hasListeners(TestEvent.class));
+        assertTrue(victim.remove(TestEvent.class, listener));
+        assertFalse(victim.hasListeners(TestEvent.class));
+        assertTrue(victim.isEmpty());
+        assertEquals(0, victim.listeners(TestEvent.class).length);
+    }
+
+    @Test
+    public void removeHolderNotMerged() {
+        victim.add(TestEvent.class, new TestListener(), 0, ReferenceStrength.STRONG);
+        ListenerReferenceHolder merged = victim.listeners(TestEvent.class)[0];
+        victim.add(TestEvent.class, new TestListener(), 0, ReferenceStrength.STRONG);
+        assertTrue(victim.remove(TestEvent.class, merged));
+        assertFalse(victim.remove(TestEvent.class, merged));
+        assertTrue(victim.hasListeners(TestEvent.class));
+        ListenerReferenceHolder[] listeners = victim.listeners(TestEvent.class);
+        assertEquals(1, listeners.length);
+        assertTrue(victim.remove(TestEvent.class, listeners[0]));
+        assertFalse(victim.hasListeners(TestEvent.class));
+    }
+
+    @Test(timeout = 30000)
+    public void manyListeners() {
+        // registrations don't copy the listeners, 100k of them used to take seconds
+        TestListener[] listeners = new TestListener[100_000];
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i] = new TestListener();
+            victim.add(TestEvent.class, listeners[i], i % 10, ReferenceStrength.STRONG);
+        }
+        ListenerReferenceHolder[] snapshot = victim.listeners(TestEvent.class);
+        assertEquals(listeners.length, snapshot.length);
+        for (int i = 1; i < snapshot.length; i++) {
+            assertTrue(snapshot[i - 1].priority <= snapshot[i].priority);
+        }
+        // looking up a listener is linear, removing them in notification order keeps it short
+        for (ListenerReferenceHolder listener : snapshot) {
+            assertTrue(victim.remove(TestEvent.class, (TestListener) listener.target()));
+        }
+        assertTrue(victim.isEmpty());
+    }
+
     private static class TestListener implements Listener<TestEvent> {
         @Override
         public void onEvent(TestEvent event) {
@@ -197,6 +471,23 @@ public class ListenersTest {
         }
     }
 
+    private static class KeyedTestListener implements Listener<KeyedTestEvent> {
+        @Override
+        public void onEvent(KeyedTestEvent event) {
+            // nothing
+        }
+    }
+
+    private record KeyedTestEvent(String key) {
+    }
+
+    public static class FailingListener {
+        @EventListener
+        public void fail(TestEvent event) throws IOException {
+            throw new IOException();
+        }
+    }
+
     private static class TestEvent {
         // nothing
     }
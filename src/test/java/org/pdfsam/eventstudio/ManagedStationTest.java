@@ -0,0 +1,197 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class ManagedStationTest {
+
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    private Stations stations;
+    private Station station;
+    private ObjectName name;
+    private StationMXBean victim;
+
+    @Before
+    public void setUp() throws MalformedObjectNameException {
+        System.setProperty(EventStudio.JMX_PROP, "true");
+        stations = new Stations();
+        station = stations.getStation("victim");
+        name = ManagedStation.objectName(station, stations);
+        victim = JMX.newMXBeanProxy(server, name, StationMXBean.class);
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(EventStudio.JMX_PROP);
+        System.clearProperty(EventStudio.METRICS_PROP);
+        stations.clear("victim");
+    }
+
+    @Test
+    public void attributes() {
+        Supervisor supervisor = new Supervisor() {
+            @Override
+            public void inspect(Object event) {
+                // nothing
+            }
+
+            @Override
+            public String toString() {
+                return "ChuckNorris";
+            }
+        };
+        station.supervisor(supervisor);
+        station.add(Object.class, e -> {
+        }, 1, ReferenceStrength.STRONG);
+        station.add(Object.class, e -> {
+        }, 1, ReferenceStrength.STRONG);
+        station.addLongListener(e -> {
+        }, 0);
+        station.broadcast("event");
+        assertEquals("victim", victim.getName());
+        assertEquals(3, victim.getListenerCount());
+        assertEquals(Map.of(Object.class.getName(), Map.of(1, 2), "long", Map.of(0, 1)), victim.getListenerCounts());
+        assertEquals(1, victim.getPendingEventCount());
+        assertEquals(Map.of(String.class.getName(), 1), victim.getPendingEvents());
+        assertEquals(List.of("ChuckNorris"), victim.getSupervisors());
+    }
+
+    @Test
+    public void supervisorDrops() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        station.addSupervisor(e -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }, SupervisorOptions.async(1));
+        try {
+            station.broadcast("event");
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+            station.broadcast("event");
+            station.broadcast("event");
+            assertEquals(1, victim.getSupervisorDrops());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void noMetrics() {
+        station.broadcast("event");
+        assertFalse(victim.isMetricsEnabled());
+        assertEquals(-1, victim.getBroadcasts());
+        assertEquals(-1, victim.getDropped());
+    }
+
+    @Test
+    public void metrics() throws MalformedObjectNameException {
+        System.setProperty(EventStudio.METRICS_PROP, "true");
+        station = stations.getStation("metrics");
+        try {
+            victim = JMX.newMXBeanProxy(server, ManagedStation.objectName(station, stations), StationMXBean.class);
+            station.broadcast("event");
+            station.broadcast(new Object());
+            station.add(String.class, e -> {
+            }, 0, ReferenceStrength.STRONG);
+            assertTrue(victim.isMetricsEnabled());
+            assertEquals(2, victim.getBroadcasts());
+            assertEquals(2, victim.getEnqueued());
+            assertEquals(1, victim.getReplayed());
+            assertEquals(1, victim.getNotified());
+            assertEquals(2, victim.getUnnotified());
+            assertEquals(0, victim.getDropped());
+        } finally {
+            stations.clear("metrics");
+        }
+    }
+
+    @Test
+    public void discardPending() {
+        station.broadcast("event");
+        station.broadcast(new Object());
+        assertEquals(2, victim.discardPending());
+        assertEquals(0, victim.getPendingEventCount());
+    }
+
+    @Test
+    public void dump() {
+        station.add(Object.class, e -> {
+        }, 7, ReferenceStrength.WEAK);
+        String dump = victim.dump();
+        assertTrue(dump.contains("priority=7"));
+        assertTrue(dump.contains("WEAK"));
+    }
+
+    @Test
+    public void clear() {
+        assertTrue(server.isRegistered(name));
+        victim.clear();
+        assertFalse(server.isRegistered(name));
+        assertTrue(stations.getStations().isEmpty());
+    }
+
+    @Test
+    public void reaped() {
+        stations.reapEmptyStations(Duration.ZERO);
+        Listener<String> listener = e -> {
+        };
+        station.add(String.class, listener, 0, ReferenceStrength.STRONG);
+        assertTrue(server.isRegistered(name));
+        station.remove(String.class, listener);
+        assertFalse(server.isRegistered(name));
+    }
+
+    @Test(timeout = 30000)
+    public void garbageCollected() throws MalformedObjectNameException, InterruptedException {
+        Stations abandoned = new Stations();
+        ObjectName abandonedName = ManagedStation.objectName(abandoned.getStation("abandoned"), abandoned);
+        assertTrue(server.isRegistered(abandonedName));
+        abandoned = null;
+        while (server.isRegistered(abandonedName)) {
+            System.gc();
+            Thread.sleep(10);
+        }
+    }
+}
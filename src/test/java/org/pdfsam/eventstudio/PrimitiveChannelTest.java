@@ -0,0 +1,103 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class PrimitiveChannelTest {
+
+    private PrimitiveChannel<IntListener> victim;
+    private IntListener first = e -> {
+    };
+    private IntListener second = e -> {
+    };
+    private IntListener third = e -> {
+    };
+
+    @Before
+    public void setUp() {
+        victim = new PrimitiveChannel<>();
+    }
+
+    @Test
+    public void add() {
+        assertTrue(victim.isEmpty());
+        victim.add(first, 0);
+        assertFalse(victim.isEmpty());
+        assertArrayEquals(new Object[] { first }, victim.listeners());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addNull() {
+        victim.add(null, 0);
+    }
+
+    @Test
+    public void forEach() {
+        victim.add(first, 2);
+        victim.add(second, 1);
+        List<Object> visited = new ArrayList<>();
+        victim.forEach((listener, priority) -> {
+            visited.add(listener);
+            visited.add(priority);
+        });
+        assertEquals(List.of(second, 1, first, 2), visited);
+    }
+
+    @Test
+    public void priorityOrder() {
+        victim.add(first, 1);
+        victim.add(second, -1);
+        victim.add(third, 1);
+        assertArrayEquals(new Object[] { second, first, third }, victim.listeners());
+    }
+
+    @Test
+    public void remove() {
+        victim.add(first, 1);
+        victim.add(second, -1);
+        victim.add(first, 2);
+        assertTrue(victim.remove(first));
+        assertArrayEquals(new Object[] { second, first }, victim.listeners());
+        assertFalse(victim.remove(third));
+        assertTrue(victim.remove(first));
+        assertTrue(victim.remove(second));
+        assertTrue(victim.isEmpty());
+    }
+
+    @Test
+    public void snapshot() {
+        victim.add(first, 0);
+        Object[] snapshot = victim.listeners();
+        victim.add(second, 0);
+        assertArrayEquals(new Object[] { first }, snapshot);
+    }
+}
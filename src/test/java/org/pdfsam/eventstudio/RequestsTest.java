@@ -0,0 +1,98 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Test;
+import org.pdfsam.eventstudio.exception.EventStudioException;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class RequestsTest {
+
+    @Test
+    public void respond() {
+        CompletableFuture<Integer> reply = Requests.respond((Responder<String, Integer>) (request, r) -> r.complete(request.length()), "abc", "station");
+        assertEquals(Integer.valueOf(3), reply.join());
+    }
+
+    @Test
+    public void noResponder() {
+        CompletableFuture<Object> reply = Requests.respond(null, "abc", "station");
+        assertTrue(reply.handle((value, failure) -> failure).join() instanceof EventStudioException);
+    }
+
+    @Test
+    public void timeout() {
+        CompletableFuture<Object> reply = Requests.timeout(new CompletableFuture<>(), Duration.ofMillis(10));
+        assertTrue(reply.handle((value, failure) -> failure).join() instanceof TimeoutException);
+    }
+
+    @Test
+    public void timeoutAfterTimedTaskError() throws InterruptedException {
+        CountDownLatch failed = new CountDownLatch(1);
+        TimingWheel.shared().schedule(() -> {
+            failed.countDown();
+            throw new AssertionError();
+        }, 1, TimeUnit.MILLISECONDS);
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+        // the shared wheel thread survived the Error
+        CompletableFuture<Object> reply = Requests.timeout(new CompletableFuture<>(), Duration.ofMillis(10));
+        assertTrue(reply.handle((value, failure) -> failure).orTimeout(5, TimeUnit.SECONDS).join() instanceof TimeoutException);
+    }
+
+    @Test
+    public void repliedInTime() throws InterruptedException {
+        CompletableFuture<Object> reply = Requests.timeout(new CompletableFuture<>(), Duration.ofMillis(20));
+        assertTrue(reply.complete("reply"));
+        CountDownLatch latch = new CountDownLatch(1);
+        TimingWheel.shared().schedule(latch::countDown, 40, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals("reply", reply.join());
+    }
+
+    @Test
+    public void alreadyReplied() {
+        CompletableFuture<Object> replied = CompletableFuture.completedFuture("reply");
+        assertSame(replied, Requests.timeout(replied, Duration.ZERO));
+        assertEquals("reply", replied.join());
+    }
+
+    @Test
+    public void manyPending() {
+        CompletableFuture<?>[] replies = new CompletableFuture<?>[10_000];
+        for (int i = 0; i < replies.length; i++) {
+            replies[i] = Requests.timeout(new CompletableFuture<>(), Duration.ofMillis(i % 50));
+        }
+        CompletableFuture.allOf(replies).handle((value, failure) -> failure).join();
+        for (CompletableFuture<?> reply : replies) {
+            assertTrue(reply.isCompletedExceptionally());
+        }
+    }
+}
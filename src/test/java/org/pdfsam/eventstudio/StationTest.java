@@ -18,6 +18,12 @@
 package org.pdfsam.eventstudio;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -25,8 +31,17 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.junit.After;
 import org.junit.Before;
@@ -36,6 +51,8 @@ import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
+
+import com.sun.management.ThreadMXBean;
 import org.pdfsam.eventstudio.Annotations.ReflectiveMetadata;
 import org.pdfsam.eventstudio.annotation.EventListener;
 import org.pdfsam.eventstudio.exception.BroadcastInterruptionException;
@@ -152,6 +169,305 @@ public class StationTest {
         verify(mockListener, never()).onEvent(event);
     }
 
+    @Test
+    public void multicast() {
+        Object event = new Object();
+        Station another = new Station("another");
+        Supervisor supervisor = mock(Supervisor.class);
+        Supervisor anotherSupervisor = mock(Supervisor.class);
+        InOrder inOrder = Mockito.inOrder(anotherMockListener, mockListener);
+        victim.supervisor(supervisor);
+        another.supervisor(anotherSupervisor);
+        victim.add(Object.class, mockListener, 0, ReferenceStrength.STRONG);
+        another.add(Object.class, mockListener, 0, ReferenceStrength.STRONG);
+        another.add(Object.class, anotherMockListener, -1, ReferenceStrength.STRONG);
+        Station.broadcast(event, new Station[] { victim, another });
+        verify(supervisor).inspect(event);
+        verify(anotherSupervisor).inspect(event);
+        inOrder.verify(anotherMockListener).onEvent(event);
+        inOrder.verify(mockListener).onEvent(event);
+        verify(mockListener).onEvent(event);
+    }
+
+    @Test
+    public void multicastAddedTwice() {
+        Object event = new Object();
+        Station another = new Station("another");
+        victim.add(Object.class, mockListener, 0, ReferenceStrength.STRONG);
+        victim.add(Object.class, mockListener, 0, ReferenceStrength.STRONG);
+        another.add(Object.class, mockListener, 0, ReferenceStrength.STRONG);
+        Station.broadcast(event, new Station[] { victim, another });
+        verify(mockListener, times(2)).onEvent(event);
+    }
+
+    @Test
+    public void multicastEnqueue() {
+        Object event = new Object();
+        Station another = new Station("another");
+        another.add(Object.class, anotherMockListener, 0, ReferenceStrength.STRONG);
+        Station.broadcast(event, new Station[] { victim, another });
+        verify(anotherMockListener).onEvent(event);
+        victim.add(Object.class, mockListener, 0, ReferenceStrength.STRONG);
+        verify(mockListener).onEvent(event);
+    }
+
+    @Test
+    public void multicastInterrupted() {
+        Object event = new Object();
+        Station another = new Station("another");
+        doThrow(BroadcastInterruptionException.class).when(anotherMockListener).onEvent(any());
+        victim.add(Object.class, mockListener, 0, ReferenceStrength.STRONG);
+        another.add(Object.class, anotherMockListener, -1, ReferenceStrength.STRONG);
+        Station.broadcast(event, new Station[] { victim, another });
+        verify(anotherMockListener).onEvent(event);
+        verify(mockListener, never()).onEvent(event);
+    }
+
+    @Test
+    public void primitiveBroadcast() {
+        IntListener intListener = mock(IntListener.class);
+        LongListener longListener = mock(LongListener.class);
+        DoubleListener doubleListener = mock(DoubleListener.class);
+        Supervisor supervisor = mock(Supervisor.class);
+        victim.supervisor(supervisor);
+        victim.addIntListener(intListener, 0);
+        victim.addLongListener(longListener, 0);
+        victim.addDoubleListener(doubleListener, 0);
+        victim.broadcastInt(3);
+        victim.broadcastLong(4L);
+        victim.broadcastDouble(5.5d);
+        verify(intListener).onEvent(3);
+        verify(longListener).onEvent(4L);
+        verify(doubleListener).onEvent(5.5d);
+        verify(supervisor, never()).inspect(any());
+    }
+
+    @Test
+    public void primitivePriorityAndInterruption() {
+        IntListener first = mock(IntListener.class);
+        IntListener second = mock(IntListener.class);
+        IntListener third = mock(IntListener.class);
+        doThrow(BroadcastInterruptionException.class).when(second).onEvent(2);
+        victim.addIntListener(third, 2);
+        victim.addIntListener(first, 0);
+        victim.addIntListener(second, 1);
+        victim.broadcastInt(1);
+        victim.broadcastInt(2);
+        InOrder inOrder = Mockito.inOrder(first, second, third);
+        inOrder.verify(first).onEvent(1);
+        inOrder.verify(second).onEvent(1);
+        inOrder.verify(third).onEvent(1);
+        verify(first).onEvent(2);
+        verify(second).onEvent(2);
+        verify(third, never()).onEvent(2);
+    }
+
+    @Test
+    public void primitiveRemove() {
+        LongListener listener = mock(LongListener.class);
+        victim.addLongListener(listener, 0);
+        assertTrue(victim.removeLongListener(listener));
+        assertFalse(victim.removeLongListener(listener));
+        victim.broadcastLong(1L);
+        verify(listener, never()).onEvent(1L);
+    }
+
+    @Test
+    public void primitiveNotEnqueued() {
+        DoubleListener listener = mock(DoubleListener.class);
+        victim.broadcastDouble(1);
+        victim.addDoubleListener(listener, 0);
+        verify(listener, never()).onEvent(1);
+        assertTrue(victim.removeDoubleListener(listener));
+        assertTrue(victim.isEmpty());
+    }
+
+    @Test
+    public void collectedListenersAreRemoved() throws InterruptedException, IllegalAccessException, InvocationTargetException {
+        Stations stations = new Stations();
+        Station station = stations.getStation("collected");
+        station.add(Object.class, new CountingListener(new AtomicLong()), 0, ReferenceStrength.WEAK);
+        WeakAnnotatedBean bean = new WeakAnnotatedBean();
+        station.addAll(bean, Annotations.process(bean).getDescriptors().get(""));
+        bean = null;
+        assertFalse(station.isEmpty());
+        assertFalse(stations.getStations(Object.class).isEmpty());
+        for (int i = 0; i < 50 && !station.isEmpty(); i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        assertTrue(station.isEmpty());
+        assertTrue(stations.getStations(Object.class).isEmpty());
+    }
+
+    @Test
+    public void allocationFreeBroadcast() throws IllegalAccessException, InvocationTargetException {
+        Object event = new Object();
+        AtomicLong counter = new AtomicLong();
+        victim.add(Object.class, e -> counter.incrementAndGet(), 0, ReferenceStrength.STRONG);
+        victim.add(Object.class, e -> counter.incrementAndGet(), 1, ReferenceStrength.WEAK);
+        CountingAnnotatedBean bean = new CountingAnnotatedBean(counter);
+        victim.addAll(bean, Annotations.process(bean).getDescriptors().get(""));
+        IntListener intListener = e -> counter.incrementAndGet();
+        victim.addIntListener(intListener, 0);
+        assertAllocationFree(event);
+    }
+
+    @Test
+    public void allocationFreeSpecializedBroadcast() throws IllegalAccessException, InvocationTargetException {
+        victim = station(EventStudio.SPECIALIZED_DISPATCH_PROP);
+        Object event = new Object();
+        AtomicLong counter = new AtomicLong();
+        victim.add(Object.class, e -> counter.incrementAndGet(), 0, ReferenceStrength.STRONG);
+        CountingAnnotatedBean bean = new CountingAnnotatedBean(counter);
+        victim.addAll(bean, Annotations.process(bean).getDescriptors().get(""));
+        assertAllocationFree(event);
+    }
+
+    @Test
+    public void specializedBroadcast() throws IllegalAccessException, InvocationTargetException {
+        victim = station(EventStudio.SPECIALIZED_DISPATCH_PROP);
+        Object event = new Object();
+        InOrder inOrder = Mockito.inOrder(anotherMockListener, mockListener);
+        victim.add(Object.class, mockListener, 2, ReferenceStrength.STRONG);
+        victim.add(Object.class, anotherMockListener, 0, ReferenceStrength.STRONG);
+        victim.broadcast(event);
+        inOrder.verify(anotherMockListener).onEvent(event);
+        inOrder.verify(mockListener).onEvent(event);
+        TestStoppingPrioritizedAnnotatedBean bean = new TestStoppingPrioritizedAnnotatedBean();
+        TestStoppingPrioritizedAnnotatedBean spy = spy(bean);
+        victim.addAll(spy, Annotations.process(bean).getDescriptors().get(""));
+        victim.broadcast(event);
+        verify(anotherMockListener, times(2)).onEvent(event);
+        verify(spy).first(any(), any());
+        verify(mockListener).onEvent(event);
+        verify(spy, never()).second(event);
+    }
+
+    @Test
+    public void noMetrics() {
+        assertNull(victim.metrics());
+    }
+
+    @Test
+    public void metrics() {
+        victim = station(EventStudio.METRICS_PROP);
+        Object event = new Object();
+        victim.broadcast(event);
+        StationMetrics.EventMetrics metrics = victim.metrics().events().get(Object.class);
+        assertEquals(1, metrics.broadcasts());
+        assertEquals(1, metrics.unnotified());
+        assertEquals(1, metrics.enqueued());
+        assertEquals(1, metrics.pending());
+        victim.add(Object.class, mockListener, 0, ReferenceStrength.STRONG);
+        victim.add(Object.class, anotherMockListener, 1, ReferenceStrength.STRONG);
+        victim.broadcast(event);
+        metrics = victim.metrics().events().get(Object.class);
+        assertEquals("victim", victim.metrics().station());
+        assertEquals(2, metrics.broadcasts());
+        assertEquals(2, metrics.notified());
+        assertEquals(1, metrics.unnotified());
+        assertEquals(1, metrics.replayed());
+        assertEquals(0, metrics.pending());
+        assertEquals(0, metrics.dropped());
+        // the replayed event reached the first listener only
+        assertEquals(3, metrics.listenerInvocations());
+        assertEquals(3, metrics.listenerTime().count());
+        assertEquals(3, metrics.broadcastTime().count());
+    }
+
+    @Test
+    public void metricsDropped() {
+        System.setProperty(EventStudio.MAX_QUEUE_SIZE_PROP, "1");
+        try {
+            victim = station(EventStudio.METRICS_PROP);
+            victim.broadcast(new Object());
+            victim.broadcast(new Object());
+            victim.broadcast(Object.class, Object::new, PendingPolicy.DEFER);
+        } finally {
+            System.clearProperty(EventStudio.MAX_QUEUE_SIZE_PROP);
+        }
+        StationMetrics.EventMetrics metrics = victim.metrics().events().get(Object.class);
+        assertEquals(1, metrics.enqueued());
+        assertEquals(2, metrics.dropped());
+        assertEquals(1, metrics.pending());
+    }
+
+    @Test
+    public void metricsMulticast() {
+        victim = station(EventStudio.METRICS_PROP);
+        Station another = station(EventStudio.METRICS_PROP);
+        Object event = new Object();
+        victim.add(Object.class, mockListener, 0, ReferenceStrength.STRONG);
+        Station.broadcast(event, new Station[] { victim, another });
+        assertEquals(1, victim.metrics().events().get(Object.class).notified());
+        assertEquals(1, another.metrics().events().get(Object.class).unnotified());
+        assertEquals(1, another.metrics().events().get(Object.class).enqueued());
+    }
+
+    @Test
+    public void metricsMulticastStopped() {
+        victim = station(EventStudio.METRICS_PROP);
+        Station another = station(EventStudio.METRICS_PROP);
+        Object event = new Object();
+        ContextualListener<Object> stopping = (e, context) -> context.stop();
+        victim.add(Object.class, stopping, -1, ReferenceStrength.STRONG);
+        another.add(Object.class, mockListener, 0, ReferenceStrength.STRONG);
+        Station.broadcast(event, new Station[] { victim, another });
+        assertEquals(1, victim.metrics().events().get(Object.class).notified());
+        assertEquals(1, another.metrics().events().get(Object.class).unnotified());
+    }
+
+    @Test
+    public void allocationFreeMetricsBroadcast() {
+        victim = station(EventStudio.METRICS_PROP);
+        Object event = new Object();
+        AtomicLong counter = new AtomicLong();
+        victim.add(Object.class, new CountingListener(counter), 0, ReferenceStrength.STRONG);
+        assertAllocationFree(event);
+    }
+
+    /**
+     * @return a new station created while the given boolean system properties are true
+     */
+    private static Station station(String... properties) {
+        for (String property : properties) {
+            System.setProperty(property, "true");
+        }
+        try {
+            return new Station("victim");
+        } finally {
+            for (String property : properties) {
+                System.clearProperty(property);
+            }
+        }
+    }
+
+    /**
+     * Broadcasts the event to the victim until the JIT has warmed up and asserts that broadcasting doesn't allocate
+     */
+    private void assertAllocationFree(Object event) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        broadcast(event, 100_000);
+        long allocated = Long.MAX_VALUE;
+        // the JIT might still be compiling, steady state is expected within a few rounds
+        for (int i = 0; i < 10 && allocated > 0; i++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            broadcast(event, 10_000);
+            allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        }
+        assertEquals(0, allocated);
+    }
+
+    private void broadcast(Object event, int times) {
+        for (int i = 0; i < times; i++) {
+            victim.broadcast(event);
+            victim.broadcastInt(i);
+        }
+    }
+
     @Test
     public void broadcastAndAdd() {
         Object event = new Object();
@@ -161,6 +477,14 @@ public class StationTest {
         verify(mockListener, times(2)).onEvent(event);
     }
 
+    @Test
+    public void broadcastNoEnqueueAndAdd() {
+        Object event = new Object();
+        victim.broadcast(event, false);
+        victim.add(Object.class, mockListener, 0, ReferenceStrength.STRONG);
+        verify(mockListener, never()).onEvent(event);
+    }
+
     @Test
     public void broadcastAndAddAnnotated() throws IllegalAccessException, InvocationTargetException {
         Object event = new Object();
@@ -185,6 +509,178 @@ public class StationTest {
         verify(spy, never()).second(event);
     }
 
+    @Test
+    public void broadcastStopped() {
+        Object event = new Object();
+        ContextualListener<Object> stopping = (e, context) -> context.stop();
+        victim.add(Object.class, mockListener, 0, ReferenceStrength.STRONG);
+        victim.add(Object.class, stopping, -1, ReferenceStrength.STRONG);
+        victim.broadcast(event);
+        verify(mockListener, never()).onEvent(event);
+        victim.broadcast(event);
+        verify(mockListener, never()).onEvent(event);
+    }
+
+    @Test
+    public void broadcastStoppedAnnotated() throws IllegalAccessException, InvocationTargetException {
+        Object event = new Object();
+        TestStoppingPrioritizedAnnotatedBean bean = new TestStoppingPrioritizedAnnotatedBean();
+        ReflectiveMetadata metadata = Annotations.process(bean);
+        TestStoppingPrioritizedAnnotatedBean spy = spy(bean);
+        victim.addAll(spy, metadata.getDescriptors().get(""));
+        victim.broadcast(event);
+        verify(spy).first(any(), any());
+        verify(spy, never()).second(event);
+    }
+
+    @Test
+    public void multicastStopped() {
+        Object event = new Object();
+        Station another = new Station("another");
+        Station empty = new Station("empty");
+        Listener<Object> emptyListener = mock(Listener.class);
+        ContextualListener<Object> stopping = (e, context) -> context.stop();
+        victim.add(Object.class, mockListener, 0, ReferenceStrength.STRONG);
+        another.add(Object.class, stopping, -1, ReferenceStrength.STRONG);
+        Station.broadcast(event, new Station[] { victim, another, empty });
+        verify(mockListener, never()).onEvent(event);
+        empty.add(Object.class, emptyListener, 0, ReferenceStrength.STRONG);
+        verify(emptyListener, never()).onEvent(event);
+    }
+
+    @Test
+    public void supplierNotCalled() {
+        Supplier<Object> supplier = mock(Supplier.class);
+        victim.broadcast(Object.class, supplier, PendingPolicy.DISCARD);
+        victim.broadcast(Object.class, supplier, PendingPolicy.DEFER);
+        verify(supplier, never()).get();
+    }
+
+    @Test
+    public void supplierWithListeners() {
+        Object event = new Object();
+        victim.add(Object.class, mockListener, 0, ReferenceStrength.STRONG);
+        victim.broadcast(Object.class, () -> event, PendingPolicy.DISCARD);
+        verify(mockListener).onEvent(event);
+    }
+
+    @Test
+    public void supplierWithSupervisor() {
+        Object event = new Object();
+        Supervisor supervisor = mock(Supervisor.class);
+        victim.supervisor(supervisor);
+        victim.broadcast(Object.class, () -> event, PendingPolicy.DISCARD);
+        verify(supervisor).inspect(event);
+        victim.add(Object.class, mockListener, 0, ReferenceStrength.STRONG);
+        verify(mockListener, never()).onEvent(event);
+    }
+
+    @Test
+    public void supplierDiscard() {
+        Object event = new Object();
+        victim.broadcast(Object.class, () -> event, PendingPolicy.DISCARD);
+        victim.add(Object.class, mockListener, 0, ReferenceStrength.STRONG);
+        verify(mockListener, never()).onEvent(event);
+    }
+
+    @Test
+    public void supplierEnqueue() {
+        Object event = new Object();
+        Supplier<Object> supplier = mock(Supplier.class);
+        when(supplier.get()).thenReturn(event);
+        victim.broadcast(Object.class, supplier, PendingPolicy.ENQUEUE);
+        verify(supplier).get();
+        victim.add(Object.class, mockListener, 0, ReferenceStrength.STRONG);
+        verify(mockListener).onEvent(event);
+    }
+
+    @Test
+    public void supplierDefer() {
+        Object event = new Object();
+        Supplier<Object> supplier = mock(Supplier.class);
+        when(supplier.get()).thenReturn(event);
+        victim.broadcast(Object.class, supplier, PendingPolicy.DEFER);
+        verify(supplier, never()).get();
+        victim.add(Object.class, mockListener, 0, ReferenceStrength.STRONG);
+        verify(supplier).get();
+        verify(mockListener).onEvent(event);
+    }
+
+    @Test
+    public void hasListeners() {
+        assertFalse(victim.hasListeners(Object.class));
+        victim.add(Object.class, mockListener, 0, ReferenceStrength.STRONG);
+        assertTrue(victim.hasListeners(Object.class));
+        assertFalse(victim.hasListeners(String.class));
+    }
+
+    @Test
+    public void addedSupervisors() {
+        Object event = new Object();
+        Supervisor supervisor = mock(Supervisor.class);
+        Supervisor another = mock(Supervisor.class);
+        Supervisor filtered = mock(Supervisor.class);
+        victim.supervisor(supervisor);
+        victim.addSupervisor(another, SupervisorOptions.inline());
+        victim.addSupervisor(filtered, SupervisorOptions.inline().filter(String.class));
+        victim.broadcast(event);
+        verify(supervisor).inspect(event);
+        verify(another).inspect(event);
+        verify(filtered, never()).inspect(any());
+        assertTrue(victim.removeSupervisor(another));
+        assertFalse(victim.removeSupervisor(another));
+        victim.broadcast(event);
+        verify(supervisor, times(2)).inspect(event);
+        verify(another).inspect(event);
+    }
+
+    @Test
+    public void addedSupervisorNotEmpty() {
+        Supervisor supervisor = mock(Supervisor.class);
+        assertTrue(victim.isEmpty());
+        victim.addSupervisor(supervisor, SupervisorOptions.inline());
+        assertFalse(victim.isEmpty());
+        victim.removeSupervisors();
+        assertTrue(victim.isEmpty());
+    }
+
+    @Test
+    public void supplierWithAddedSupervisor() {
+        Object event = new Object();
+        Supervisor supervisor = mock(Supervisor.class);
+        victim.addSupervisor(supervisor, SupervisorOptions.inline());
+        victim.broadcast(Object.class, () -> event, PendingPolicy.DISCARD);
+        verify(supervisor).inspect(event);
+    }
+
+    @Test
+    public void keyedBroadcast() {
+        Function<Object, Object> extractor = Object::toString;
+        Object event = new Object();
+        victim.add(Object.class, extractor, event.toString(), mockListener, 0, ReferenceStrength.STRONG);
+        victim.add(Object.class, extractor, "another", anotherMockListener, 0, ReferenceStrength.STRONG);
+        victim.broadcast(event);
+        verify(mockListener).onEvent(event);
+        verify(anotherMockListener, never()).onEvent(any());
+        assertTrue(victim.remove(Object.class, mockListener));
+        assertFalse(victim.isEmpty());
+    }
+
+    @Test
+    public void keyedEnqueued() {
+        Function<Object, Object> extractor = Object::toString;
+        Object event = new Object();
+        Object another = new Object();
+        victim.broadcast(event);
+        victim.broadcast(another);
+        victim.add(Object.class, extractor, another.toString(), anotherMockListener, 0, ReferenceStrength.STRONG);
+        verify(anotherMockListener).onEvent(another);
+        verify(anotherMockListener, never()).onEvent(event);
+        victim.add(Object.class, mockListener, 0, ReferenceStrength.STRONG);
+        verify(mockListener).onEvent(event);
+        verify(mockListener, never()).onEvent(another);
+    }
+
     @Test
     public void removeAndBroadcast() {
         Object event = new Object();
@@ -215,6 +711,291 @@ public class StationTest {
         victim.remove(listener);
     }
 
+    @Test
+    public void listenerCounts() {
+        victim.add(Object.class, mockListener, 0, ReferenceStrength.STRONG);
+        victim.add(Object.class, anotherMockListener, 0, ReferenceStrength.WEAK);
+        victim.add(String.class, Function.identity(), "key", e -> {
+        }, 2, ReferenceStrength.STRONG);
+        victim.addIntListener(e -> {
+        }, 1);
+        Map<String, Map<Integer, Integer>> counts = victim.listenerCounts();
+        assertEquals(Map.of(0, 2), counts.get(Object.class.getName()));
+        assertEquals(Map.of(2, 1), counts.get(String.class.getName()));
+        assertEquals(Map.of(1, 1), counts.get("int"));
+        assertEquals(3, counts.size());
+    }
+
+    @Test
+    public void pendingEvents() {
+        assertTrue(victim.pendingEvents().isEmpty());
+        victim.broadcast(new Object());
+        victim.broadcast(new Object());
+        victim.broadcast("event");
+        assertEquals(Map.of(Object.class.getName(), 2, String.class.getName(), 1), victim.pendingEvents());
+    }
+
+    @Test
+    public void discardPending() {
+        victim.broadcast(new Object());
+        victim.broadcast("event");
+        assertEquals(2, victim.discardPending());
+        assertTrue(victim.pendingEvents().isEmpty());
+        victim.add(Object.class, mockListener, 0, ReferenceStrength.STRONG);
+        verify(mockListener, never()).onEvent(any());
+    }
+
+    @Test
+    public void supervisors() {
+        assertTrue(victim.supervisors().isEmpty());
+        Supervisor supervisor = mock(Supervisor.class);
+        Supervisor added = mock(Supervisor.class);
+        victim.supervisor(supervisor);
+        victim.addSupervisor(added, SupervisorOptions.inline());
+        assertEquals(List.of(supervisor, added), victim.supervisors());
+    }
+
+    @Test
+    public void dump() {
+        victim.add(Object.class, mockListener, 3, ReferenceStrength.SOFT);
+        victim.broadcast("event");
+        String dump = victim.dump();
+        assertTrue(dump.startsWith("Station[victim]"));
+        assertTrue(dump.contains(Object.class.getName()));
+        assertTrue(dump.contains("priority=3"));
+        assertTrue(dump.contains("SOFT"));
+        assertTrue(dump.contains(String.class.getName() + ": 1"));
+    }
+
+    @Test
+    public void notTraced() {
+        List<Trace> traces = new ArrayList<>();
+        victim.add(String.class, e -> traces.add(Trace.current()), 0, ReferenceStrength.STRONG);
+        victim.broadcast("event");
+        assertEquals(1, traces.size());
+        assertNull(traces.get(0));
+    }
+
+    @Test
+    public void tracedCascade() {
+        victim = station(EventStudio.TRACE_PROP);
+        List<Trace> traces = new ArrayList<>();
+        victim.add(String.class, e -> {
+            traces.add(Trace.current());
+            victim.broadcast(1);
+            victim.broadcast(2);
+        }, 0, ReferenceStrength.STRONG);
+        victim.add(Integer.class, e -> traces.add(Trace.current()), 0, ReferenceStrength.STRONG);
+        victim.broadcast("event");
+        assertEquals(3, traces.size());
+        Trace root = traces.get(0);
+        assertTrue(root.isRoot());
+        for (Trace child : traces.subList(1, 3)) {
+            assertEquals(root.traceId(), child.traceId());
+            assertEquals(root.id(), child.parentId());
+        }
+        assertEquals(1, traces.get(1).sequence());
+        assertEquals(2, traces.get(2).sequence());
+        assertNull(Trace.current());
+    }
+
+    @Test
+    public void tracedSupplier() {
+        victim = station(EventStudio.TRACE_PROP);
+        List<Trace> traces = new ArrayList<>();
+        victim.add(String.class, e -> traces.add(Trace.current()), 0, ReferenceStrength.STRONG);
+        victim.broadcast(String.class, () -> "event", PendingPolicy.DISCARD);
+        assertEquals(1, traces.size());
+        assertTrue(traces.get(0).isRoot());
+        assertNull(Trace.current());
+    }
+
+    @Test
+    public void tracedReplay() {
+        victim = station(EventStudio.TRACE_PROP);
+        List<Trace> traces = new ArrayList<>();
+        victim.supervisor(e -> traces.add(Trace.current()));
+        victim.broadcast("event");
+        victim.broadcast(String.class, () -> "deferred", PendingPolicy.DEFER);
+        victim.add(String.class, e -> traces.add(Trace.current()), 0, ReferenceStrength.STRONG);
+        assertEquals(4, traces.size());
+        // replays are children of the broadcasts that enqueued the events
+        assertEquals(traces.get(0).id(), traces.get(2).parentId());
+        assertEquals(traces.get(1).id(), traces.get(3).parentId());
+        assertNull(Trace.current());
+    }
+
+    @Test
+    public void tracedEveryStation() {
+        victim = station(EventStudio.TRACE_PROP);
+        Station other = station(EventStudio.TRACE_PROP);
+        List<Trace> traces = new ArrayList<>();
+        victim.add(String.class, e -> traces.add(Trace.current()), 0, ReferenceStrength.STRONG);
+        other.add(String.class, e -> traces.add(Trace.current()), 0, ReferenceStrength.STRONG);
+        Station.broadcast("event", new Station[] { victim, other });
+        assertEquals(2, traces.size());
+        assertSame(traces.get(0), traces.get(1));
+        assertNull(Trace.current());
+    }
+
+    @Test
+    public void cascadedMetrics() {
+        victim = station(EventStudio.TRACE_PROP, EventStudio.METRICS_PROP);
+        victim.add(String.class, e -> victim.broadcast(1), 0, ReferenceStrength.STRONG);
+        victim.add(Integer.class, e -> {
+            // nothing
+        }, 0, ReferenceStrength.STRONG);
+        victim.broadcast("event");
+        victim.broadcast("event");
+        Map<Class<?>, StationMetrics.EventMetrics> events = victim.metrics().events();
+        assertEquals(0, events.get(String.class).cascaded());
+        assertEquals(2, events.get(Integer.class).broadcasts());
+        assertEquals(2, events.get(Integer.class).cascaded());
+    }
+
+    @Test
+    public void trampolinedOrder() {
+        victim = station(EventStudio.TRAMPOLINE_PROP);
+        List<String> notified = new ArrayList<>();
+        victim.add(String.class, e -> {
+            notified.add("first " + e);
+            if (e.equals("event")) {
+                victim.broadcast("child1");
+                victim.broadcast("child2");
+            }
+        }, 0, ReferenceStrength.STRONG);
+        victim.add(String.class, e -> {
+            notified.add("second " + e);
+            if (e.equals("child1")) {
+                victim.broadcast("grandchild");
+            }
+        }, 1, ReferenceStrength.STRONG);
+        victim.broadcast("event");
+        assertEquals(List.of("first event", "second event", "first child1", "second child1", "first child2", "second child2", "first grandchild",
+                "second grandchild"), notified);
+        assertFalse(Trampoline.current().isDispatching());
+    }
+
+    @Test
+    public void trampolinedDepth() {
+        victim = station(EventStudio.TRAMPOLINE_PROP);
+        AtomicLong counter = new AtomicLong();
+        victim.add(Integer.class, e -> {
+            counter.incrementAndGet();
+            if (e > 0) {
+                victim.broadcast(e - 1);
+            }
+        }, 0, ReferenceStrength.STRONG);
+        victim.broadcast(100_000);
+        assertEquals(100_001, counter.get());
+    }
+
+    @Test
+    public void trampolinedSupplier() {
+        victim = station(EventStudio.TRAMPOLINE_PROP);
+        List<String> notified = new ArrayList<>();
+        victim.add(String.class, e -> {
+            if (e.equals("event")) {
+                victim.broadcast(String.class, () -> "supplied", PendingPolicy.DISCARD);
+            }
+            notified.add(e);
+        }, 0, ReferenceStrength.STRONG);
+        victim.broadcast("event");
+        assertEquals(List.of("event", "supplied"), notified);
+    }
+
+    @Test
+    public void trampolinedEveryStation() {
+        victim = station(EventStudio.TRAMPOLINE_PROP);
+        Station other = station(EventStudio.TRAMPOLINE_PROP);
+        List<String> notified = new ArrayList<>();
+        victim.add(String.class, e -> {
+            if (e.equals("event")) {
+                Station.broadcast("child", new Station[] { victim, other });
+            }
+            notified.add("victim " + e);
+        }, 0, ReferenceStrength.STRONG);
+        other.add(String.class, e -> notified.add("other " + e), 1, ReferenceStrength.STRONG);
+        victim.broadcast("event");
+        assertEquals(List.of("victim event", "victim child", "other child"), notified);
+    }
+
+    @Test
+    public void trampolinedTraced() {
+        victim = station(EventStudio.TRACE_PROP, EventStudio.TRAMPOLINE_PROP);
+        List<Trace> traces = new ArrayList<>();
+        victim.add(String.class, e -> {
+            traces.add(Trace.current());
+            if (e.equals("event")) {
+                victim.broadcast("child");
+            }
+        }, 0, ReferenceStrength.STRONG);
+        victim.broadcast("event");
+        assertEquals(2, traces.size());
+        assertEquals(traces.get(0).id(), traces.get(1).parentId());
+        assertNull(Trace.current());
+    }
+
+    @Test
+    public void trampolinedFailure() {
+        victim = station(EventStudio.TRAMPOLINE_PROP);
+        AtomicLong counter = new AtomicLong();
+        victim.add(String.class, e -> {
+            if (e.equals("event")) {
+                victim.broadcast("fail");
+                victim.broadcast("discarded");
+            } else if (e.equals("fail")) {
+                throw new IllegalStateException();
+            } else {
+                counter.incrementAndGet();
+            }
+        }, 0, ReferenceStrength.STRONG);
+        assertThrows(IllegalStateException.class, () -> victim.broadcast("event"));
+        assertEquals(0, counter.get());
+        assertFalse(Trampoline.current().isDispatching());
+        assertEquals(0, Trampoline.current().deferred());
+        victim.broadcast("another");
+        assertEquals(1, counter.get());
+    }
+
+    @Test
+    public void trampolinedOuterFailure() {
+        victim = station(EventStudio.TRAMPOLINE_PROP);
+        AtomicLong counter = new AtomicLong();
+        IllegalStateException failure = new IllegalStateException();
+        victim.add(String.class, e -> {
+            if (e.equals("event")) {
+                victim.broadcast("deferred");
+                throw failure;
+            } else if (e.equals("deferred")) {
+                counter.incrementAndGet();
+                throw new IllegalArgumentException();
+            }
+            counter.incrementAndGet();
+        }, 0, ReferenceStrength.STRONG);
+        // the deferred broadcast is discarded, it doesn't run after the failure and doesn't replace it
+        assertSame(failure, assertThrows(IllegalStateException.class, () -> victim.broadcast("event")));
+        assertEquals(0, counter.get());
+        assertFalse(Trampoline.current().isDispatching());
+        assertEquals(0, Trampoline.current().deferred());
+        victim.broadcast("another");
+        assertEquals(1, counter.get());
+    }
+
+    @Test
+    public void notTrampolined() {
+        List<String> notified = new ArrayList<>();
+        victim.add(String.class, e -> {
+            notified.add("first " + e);
+            if (e.equals("event")) {
+                victim.broadcast("child");
+            }
+        }, 0, ReferenceStrength.STRONG);
+        victim.add(String.class, e -> notified.add("second " + e), 1, ReferenceStrength.STRONG);
+        victim.broadcast("event");
+        assertEquals(List.of("first event", "first child", "second child", "second event"), notified);
+    }
+
     @Test
     public void capacity() {
         System.setProperty(EventStudio.MAX_QUEUE_SIZE_PROP, "3");
@@ -235,6 +1016,53 @@ public class StationTest {
         }
     }
 
+    private static class CountingListener implements Listener<Object> {
+        private final AtomicLong counter;
+
+        CountingListener(AtomicLong counter) {
+            this.counter = counter;
+        }
+
+        @Override
+        public void onEvent(Object event) {
+            counter.incrementAndGet();
+        }
+    }
+
+    private static class WeakAnnotatedBean {
+        @EventListener(strength = ReferenceStrength.WEAK)
+        public void listen(Object event) {
+            // nothing
+        }
+    }
+
+    private static class CountingAnnotatedBean {
+        private final AtomicLong counter;
+
+        CountingAnnotatedBean(AtomicLong counter) {
+            this.counter = counter;
+        }
+
+        @EventListener(priority = 2)
+        public void listen(Object event) {
+            counter.incrementAndGet();
+        }
+    }
+
+    private class TestStoppingPrioritizedAnnotatedBean {
+
+        @EventListener(priority = 1)
+        public void first(Object event, BroadcastContext context) {
+            context.stop();
+        }
+
+        @EventListener(priority = 2)
+        public void second(Object event) {
+
+        }
+
+    }
+
     private class TestInterruptingPrioritizedAnnotatedBean {
 
         @EventListener(priority = 1)
@@ -248,4 +1076,64 @@ public class StationTest {
         }
 
     }
+
+    @Test
+    public void request() {
+        victim.addResponder(String.class, (request, reply) -> reply.complete(request.length()));
+        assertEquals(Integer.valueOf(3), victim.<Integer> request("abc").join());
+    }
+
+    @Test
+    public void asyncRequest() {
+        List<CompletableFuture<Integer>> replies = new ArrayList<>();
+        victim.addResponder(String.class, (String request, CompletableFuture<Integer> reply) -> replies.add(reply));
+        CompletableFuture<Integer> reply = victim.request("abc");
+        assertFalse(reply.isDone());
+        replies.get(0).complete(3);
+        assertEquals(Integer.valueOf(3), reply.join());
+    }
+
+    @Test(expected = EventStudioException.class)
+    public void duplicateResponder() {
+        victim.addResponder(String.class, (request, reply) -> reply.complete(request));
+        victim.addResponder(String.class, (request, reply) -> reply.complete(request));
+    }
+
+    @Test
+    public void noResponder() {
+        victim.addResponder(Object.class, (request, reply) -> reply.complete(request));
+        CompletableFuture<Object> reply = victim.request("abc");
+        assertTrue(reply.isCompletedExceptionally());
+        assertTrue(reply.handle((value, failure) -> failure).join() instanceof EventStudioException);
+    }
+
+    @Test
+    public void failingResponder() {
+        victim.addResponder(String.class, (request, reply) -> {
+            throw new IllegalStateException();
+        });
+        CompletableFuture<Object> reply = victim.request("abc");
+        assertTrue(reply.handle((value, failure) -> failure).join() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void removeResponder() {
+        Responder<String, String> responder = (request, reply) -> reply.complete(request);
+        assertTrue(victim.isEmpty());
+        victim.addResponder(String.class, responder);
+        assertFalse(victim.isEmpty());
+        assertFalse(victim.removeResponder(String.class, (request, reply) -> reply.complete(request)));
+        assertTrue(victim.removeResponder(String.class, responder));
+        assertTrue(victim.isEmpty());
+        assertTrue(victim.request("abc").isCompletedExceptionally());
+    }
+
+    @Test
+    public void frozenResponder() {
+        victim.addResponder(String.class, (request, reply) -> reply.complete(request.length()));
+        FrozenStation frozen = victim.freeze();
+        victim.removeResponder(String.class, (request, reply) -> reply.complete(request));
+        assertEquals(Integer.valueOf(3), frozen.<Integer> request("abc").join());
+        assertTrue(frozen.request(1).isCompletedExceptionally());
+    }
 }
@@ -18,7 +18,21 @@
 package org.pdfsam.eventstudio;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -52,6 +66,14 @@ public class StationsTest {
         assertEquals(one, two);
     }
 
+    @Test
+    public void find() {
+        assertNull(victim.findStation("ChuckNorris"));
+        assertTrue(victim.getStations().isEmpty());
+        Station station = victim.getStation("ChuckNorris");
+        assertSame(station, victim.findStation("ChuckNorris"));
+    }
+
     @Test
     public void clear() {
         victim.getStation("ChuckNorris");
@@ -59,4 +81,157 @@ public class StationsTest {
         victim.clear("ChuckNorris");
         assertEquals(0, victim.getStations().size());
     }
+
+    @Test
+    public void listening() {
+        Station station = victim.getStation("ChuckNorris");
+        victim.getStation("Steven");
+        assertTrue(victim.getStations(Object.class).isEmpty());
+        Listener<Object> listener = e -> {
+        };
+        station.add(Object.class, listener, 0, ReferenceStrength.STRONG);
+        assertEquals(1, victim.getStations(Object.class).size());
+        assertTrue(victim.getStations(Object.class).contains(station));
+        assertTrue(victim.getStations(String.class).isEmpty());
+        station.remove(Object.class, listener);
+        assertTrue(victim.getStations(Object.class).isEmpty());
+    }
+
+    @Test
+    public void listeningCleared() {
+        Station station = victim.getStation("ChuckNorris");
+        station.add(Object.class, e -> {
+        }, 0, ReferenceStrength.STRONG);
+        assertFalse(victim.getStations(Object.class).isEmpty());
+        victim.clear("ChuckNorris");
+        assertTrue(victim.getStations(Object.class).isEmpty());
+        station.add(Object.class, e -> {
+        }, 0, ReferenceStrength.STRONG);
+        assertTrue(victim.getStations(Object.class).isEmpty());
+    }
+
+    @Test
+    public void notReapingByDefault() {
+        Station station = victim.getStation("ChuckNorris");
+        Listener<Object> listener = e -> {
+        };
+        station.add(Object.class, listener, 0, ReferenceStrength.STRONG);
+        station.remove(Object.class, listener);
+        assertSame(station, victim.getStation("ChuckNorris"));
+    }
+
+    @Test
+    public void reapWhenLastListenerLeaves() {
+        victim.reapEmptyStations(Duration.ZERO);
+        Station station = victim.getStation("ChuckNorris");
+        Listener<Object> listener = e -> {
+        };
+        station.add(Object.class, listener, 0, ReferenceStrength.STRONG);
+        assertEquals(1, victim.getStations().size());
+        station.remove(Object.class, listener);
+        assertEquals(0, victim.getStations().size());
+        assertNotSame(station, victim.getStation("ChuckNorris"));
+    }
+
+    @Test
+    public void notReapedWithEnqueuedEvents() {
+        victim.reapEmptyStations(Duration.ZERO);
+        Station station = victim.getStation("ChuckNorris");
+        station.broadcast(new Object());
+        assertSame(station, victim.getStation("ChuckNorris"));
+    }
+
+    @Test
+    public void notReapedWithSupervisor() {
+        victim.reapEmptyStations(Duration.ZERO);
+        Station station = victim.getStation("ChuckNorris");
+        station.supervisor(e -> {
+        });
+        assertSame(station, victim.getStation("ChuckNorris"));
+    }
+
+    @Test
+    public void reapIdle() throws InterruptedException {
+        victim.reapEmptyStations(Duration.ofMillis(10));
+        Station station = victim.getStation("ChuckNorris");
+        Station busy = victim.getStation("Steven");
+        busy.add(Object.class, e -> {
+        }, 0, ReferenceStrength.STRONG);
+        Thread.sleep(50);
+        victim.getStation("Bruce");
+        assertFalse(victim.getStations().contains(station));
+        assertTrue(victim.getStations().contains(busy));
+    }
+
+    @Test
+    public void reapedStationForwards() {
+        victim.reapEmptyStations(Duration.ZERO);
+        Station station = victim.getStation("ChuckNorris");
+        Listener<Object> listener = e -> {
+        };
+        station.add(Object.class, listener, 0, ReferenceStrength.STRONG);
+        station.remove(Object.class, listener);
+        List<Object> received = new ArrayList<>();
+        station.add(Object.class, received::add, 0, ReferenceStrength.STRONG);
+        Station successor = victim.getStation("ChuckNorris");
+        assertNotSame(station, successor);
+        Object event = new Object();
+        successor.broadcast(event);
+        assertEquals(1, received.size());
+        assertSame(event, received.get(0));
+        station.broadcast(event);
+        assertEquals(2, received.size());
+        assertEquals(1, victim.getStations(Object.class).size());
+        assertTrue(victim.getStations(Object.class).contains(successor));
+    }
+
+    @Test
+    public void notManaged() throws MalformedObjectNameException {
+        Station station = victim.getStation("ChuckNorris");
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(ManagedStation.objectName(station, victim)));
+    }
+
+    @Test
+    public void managed() throws MalformedObjectNameException {
+        System.setProperty(EventStudio.JMX_PROP, "true");
+        try {
+            Station station = victim.getStation("Chuck,Norris");
+            ObjectName name = ManagedStation.objectName(station, victim);
+            assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+            victim.clear("Chuck,Norris");
+            assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+        } finally {
+            System.clearProperty(EventStudio.JMX_PROP);
+        }
+    }
+
+    @Test
+    public void reapedUnmanaged() throws MalformedObjectNameException {
+        System.setProperty(EventStudio.JMX_PROP, "true");
+        try {
+            victim.reapEmptyStations(Duration.ZERO);
+            Station station = victim.getStation("ChuckNorris");
+            ObjectName name = ManagedStation.objectName(station, victim);
+            Listener<Object> listener = e -> {
+            };
+            station.add(Object.class, listener, 0, ReferenceStrength.STRONG);
+            assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+            station.remove(Object.class, listener);
+            assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+        } finally {
+            System.clearProperty(EventStudio.JMX_PROP);
+        }
+    }
+
+    @Test
+    public void sameNameDifferentStudios() throws MalformedObjectNameException {
+        Stations another = new Stations();
+        assertNotEquals(ManagedStation.objectName(victim.getStation("ChuckNorris"), victim),
+                ManagedStation.objectName(another.getStation("ChuckNorris"), another));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeIdle() {
+        victim.reapEmptyStations(Duration.ofMillis(-1));
+    }
 }
@@ -0,0 +1,184 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class StudioEventsTest {
+
+    private Recording recording;
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        assumeTrue(JfrSupport.AVAILABLE);
+        file = Files.createTempFile("eventstudio", ".jfr");
+        recording = new Recording();
+        recording.enable("org.pdfsam.eventstudio.Broadcast").withThreshold(Duration.ZERO);
+        recording.enable("org.pdfsam.eventstudio.ListenerInvocation").withThreshold(Duration.ZERO);
+        recording.enable("org.pdfsam.eventstudio.Enqueue");
+        recording.enable("org.pdfsam.eventstudio.Drain");
+        recording.enable("org.pdfsam.eventstudio.Registration");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (recording != null) {
+            recording.close();
+        }
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void recorded() throws IOException {
+        recording.start();
+        Station victim = new Station("victim");
+        victim.broadcast("chuck");
+        Listener<String> listener = new StringListener();
+        victim.add(String.class, listener, 3, ReferenceStrength.STRONG);
+        victim.broadcast("norris");
+        victim.remove(String.class, listener);
+        List<RecordedEvent> events = stop();
+        RecordedEvent enqueue = single(events, "org.pdfsam.eventstudio.Enqueue");
+        assertEquals("victim", enqueue.getString("station"));
+        assertEquals(String.class.getName(), enqueue.getClass("eventClass").getName());
+        assertFalse(enqueue.getBoolean("dropped"));
+        assertEquals(1, enqueue.getInt("pending"));
+        assertEquals(1, single(events, "org.pdfsam.eventstudio.Drain").getInt("replayed"));
+        List<RecordedEvent> broadcasts = named(events, "org.pdfsam.eventstudio.Broadcast");
+        // the first broadcast is not notified, then the replay and the second one
+        assertEquals(3, broadcasts.size());
+        assertFalse(broadcasts.get(0).getBoolean("notified"));
+        assertTrue(broadcasts.get(2).getBoolean("notified"));
+        assertEquals(1, broadcasts.get(2).getInt("listeners"));
+        List<RecordedEvent> invocations = named(events, "org.pdfsam.eventstudio.ListenerInvocation");
+        assertEquals(2, invocations.size());
+        assertEquals(StringListener.class.getName(), invocations.get(0).getClass("listenerClass").getName());
+        assertEquals(3, invocations.get(0).getInt("priority"));
+        List<RecordedEvent> registrations = named(events, "org.pdfsam.eventstudio.Registration");
+        assertEquals(2, registrations.size());
+        assertTrue(registrations.get(0).getBoolean("added"));
+        assertEquals("STRONG", registrations.get(0).getString("strength"));
+        assertFalse(registrations.get(1).getBoolean("added"));
+    }
+
+    @Test
+    public void traced() throws IOException {
+        System.setProperty(EventStudio.TRACE_PROP, "true");
+        Station victim;
+        try {
+            victim = new Station("victim");
+        } finally {
+            System.clearProperty(EventStudio.TRACE_PROP);
+        }
+        recording.start();
+        victim.add(String.class, e -> victim.broadcast(1), 0, ReferenceStrength.STRONG);
+        victim.broadcast("chuck");
+        List<RecordedEvent> events = stop();
+        List<RecordedEvent> broadcasts = named(events, "org.pdfsam.eventstudio.Broadcast");
+        assertEquals(2, broadcasts.size());
+        RecordedEvent root = broadcasts.get(0);
+        RecordedEvent child = broadcasts.get(1);
+        assertTrue(root.getLong("traceId") > 0);
+        assertEquals(root.getLong("broadcastId"), root.getLong("traceId"));
+        assertEquals(0, root.getLong("parentId"));
+        assertEquals(root.getLong("traceId"), child.getLong("traceId"));
+        assertEquals(root.getLong("broadcastId"), child.getLong("parentId"));
+        RecordedEvent enqueue = single(events, "org.pdfsam.eventstudio.Enqueue");
+        assertEquals(child.getLong("broadcastId"), enqueue.getLong("broadcastId"));
+        RecordedEvent invocation = single(events, "org.pdfsam.eventstudio.ListenerInvocation");
+        assertEquals(root.getLong("broadcastId"), invocation.getLong("broadcastId"));
+    }
+
+    @Test
+    public void frozen() throws IOException {
+        Station station = new Station("victim");
+        station.add(String.class, new StringListener(), 3, ReferenceStrength.STRONG);
+        FrozenStation victim = station.freeze();
+        recording.start();
+        victim.broadcast("chuck");
+        List<RecordedEvent> events = stop();
+        RecordedEvent broadcast = single(events, "org.pdfsam.eventstudio.Broadcast");
+        assertEquals("victim", broadcast.getString("station"));
+        assertTrue(broadcast.getBoolean("notified"));
+        assertEquals(3, single(events, "org.pdfsam.eventstudio.ListenerInvocation").getInt("priority"));
+    }
+
+    @Test
+    public void threshold() throws IOException {
+        recording.enable("org.pdfsam.eventstudio.Broadcast").withThreshold(Duration.ofSeconds(10));
+        recording.enable("org.pdfsam.eventstudio.ListenerInvocation").withThreshold(Duration.ofSeconds(10));
+        recording.start();
+        Station victim = new Station("victim");
+        victim.add(String.class, e -> {
+            // nothing
+        }, 0, ReferenceStrength.STRONG);
+        victim.broadcast("chuck");
+        List<RecordedEvent> events = stop();
+        assertTrue(named(events, "org.pdfsam.eventstudio.Broadcast").isEmpty());
+        assertTrue(named(events, "org.pdfsam.eventstudio.ListenerInvocation").isEmpty());
+    }
+
+    private List<RecordedEvent> stop() throws IOException {
+        recording.stop();
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        Predicate<RecordedEvent> named = e -> e.getEventType().getName().equals(name);
+        return events.stream().filter(named).sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime())).toList();
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> named = named(events, name);
+        assertEquals(1, named.size());
+        return named.get(0);
+    }
+
+    private static class StringListener implements Listener<String> {
+        @Override
+        public void onEvent(String event) {
+            // nothing
+        }
+    }
+}
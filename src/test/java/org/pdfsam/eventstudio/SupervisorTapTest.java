@@ -0,0 +1,156 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class SupervisorTapTest {
+
+    private Supervisor supervisor = mock(Supervisor.class);
+
+    @Test
+    public void inline() {
+        Object event = new Object();
+        new SupervisorTap(supervisor, SupervisorOptions.inline(), "station").inspect(event);
+        verify(supervisor).inspect(event);
+    }
+
+    @Test
+    public void filter() {
+        SupervisorTap victim = new SupervisorTap(supervisor, SupervisorOptions.inline().filter(String.class), "station");
+        victim.inspect(new Object());
+        verify(supervisor, never()).inspect(any());
+        victim.inspect("event");
+        verify(supervisor).inspect("event");
+    }
+
+    @Test
+    public void sampling() {
+        SupervisorTap victim = new SupervisorTap(supervisor, SupervisorOptions.inline().sampling(Double.MIN_VALUE), "station");
+        for (int i = 0; i < 1000; i++) {
+            victim.inspect(new Object());
+        }
+        verify(supervisor, never()).inspect(any());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidSampling() {
+        SupervisorOptions.inline().sampling(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidCapacity() {
+        SupervisorOptions.async(0);
+    }
+
+    @Test
+    public void async() throws InterruptedException {
+        CountDownLatch inspected = new CountDownLatch(2);
+        Thread broadcaster = Thread.currentThread();
+        SupervisorTap victim = new SupervisorTap(e -> {
+            if (Thread.currentThread() != broadcaster) {
+                inspected.countDown();
+            }
+        }, SupervisorOptions.async(10), "station");
+        try {
+            victim.inspect(new Object());
+            victim.inspect(new Object());
+            assertTrue(inspected.await(5, TimeUnit.SECONDS));
+        } finally {
+            victim.close();
+        }
+    }
+
+    @Test
+    public void asyncError() throws InterruptedException {
+        CountDownLatch inspected = new CountDownLatch(1);
+        SupervisorTap victim = new SupervisorTap(e -> {
+            if ("error".equals(e)) {
+                throw new AssertionError("failed");
+            }
+            inspected.countDown();
+        }, SupervisorOptions.async(10), "station");
+        try {
+            victim.inspect("error");
+            victim.inspect("event");
+            assertTrue(inspected.await(5, TimeUnit.SECONDS));
+        } finally {
+            victim.close();
+        }
+    }
+
+    @Test
+    public void asyncTraced() throws InterruptedException {
+        CountDownLatch inspected = new CountDownLatch(1);
+        AtomicReference<Trace> traced = new AtomicReference<>();
+        SupervisorTap victim = new SupervisorTap(e -> {
+            traced.set(Trace.current());
+            inspected.countDown();
+        }, SupervisorOptions.async(10), "station");
+        Trace previous = Trace.begin();
+        try {
+            victim.inspect(new Object());
+            assertTrue(inspected.await(5, TimeUnit.SECONDS));
+            assertSame(Trace.current(), traced.get());
+        } finally {
+            Trace.restore(previous);
+            victim.close();
+        }
+    }
+
+    @Test
+    public void asyncLossy() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SupervisorTap victim = new SupervisorTap(e -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }, SupervisorOptions.async(1), "station");
+        try {
+            victim.inspect(new Object());
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+            victim.inspect(new Object());
+            victim.inspect(new Object());
+            victim.inspect(new Object());
+            assertEquals(2, victim.dropped());
+        } finally {
+            release.countDown();
+            victim.close();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class SupervisorTapsTest {
+
+    private SupervisorTaps victim;
+    private Supervisor supervisor = mock(Supervisor.class);
+    private SupervisorTap first = new SupervisorTap(supervisor, SupervisorOptions.inline(), "station");
+    private SupervisorTap second = new SupervisorTap(mock(Supervisor.class), SupervisorOptions.inline(), "station");
+    private SupervisorTap third = new SupervisorTap(supervisor, SupervisorOptions.inline(), "station");
+
+    @Before
+    public void setUp() {
+        victim = new SupervisorTaps();
+    }
+
+    @Test
+    public void add() {
+        assertTrue(victim.isEmpty());
+        victim.add(first);
+        victim.add(second);
+        assertFalse(victim.isEmpty());
+        assertArrayEquals(new SupervisorTap[] { first, second }, victim.taps());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addNull() {
+        victim.add(null);
+    }
+
+    @Test
+    public void remove() {
+        victim.add(first);
+        victim.add(second);
+        victim.add(third);
+        SupervisorTap[] before = victim.taps();
+        assertSame(first, victim.remove(supervisor));
+        assertArrayEquals(new SupervisorTap[] { second, third }, victim.taps());
+        // copy on write
+        assertArrayEquals(new SupervisorTap[] { first, second, third }, before);
+        assertSame(third, victim.remove(supervisor));
+        assertNull(victim.remove(supervisor));
+    }
+
+    @Test
+    public void clear() {
+        victim.add(first);
+        victim.add(second);
+        assertArrayEquals(new SupervisorTap[] { first, second }, victim.clear());
+        assertTrue(victim.isEmpty());
+    }
+}
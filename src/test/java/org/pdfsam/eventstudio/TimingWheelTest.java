@@ -0,0 +1,232 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class TimingWheelTest {
+
+    private TimingWheel victim;
+
+    @Before
+    public void setUp() {
+        victim = new TimingWheel(1, TimeUnit.MILLISECONDS);
+    }
+
+    @After
+    public void tearDown() {
+        victim.stop();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidTick() {
+        new TimingWheel(0, TimeUnit.MILLISECONDS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidPeriod() {
+        victim.schedule(() -> {
+        }, 1, 0, TimeUnit.MILLISECONDS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullTask() {
+        victim.schedule(null, 1, TimeUnit.MILLISECONDS);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void stopped() {
+        victim.stop();
+        victim.schedule(() -> {
+        }, 1, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void runsAfterTheDelay() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        AtomicInteger elapsed = new AtomicInteger();
+        TimingWheel.Timer timer = victim.schedule(() -> {
+            elapsed.set((int) TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            latch.countDown();
+        }, 20, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(elapsed.get() >= 20);
+        assertTrue(timer.isDone());
+        assertFalse(timer.isCancelled());
+        assertFalse(timer.cancel());
+        assertEquals(0, victim.pending());
+    }
+
+    @Test
+    public void notPositiveDelay() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(2);
+        victim.schedule(latch::countDown, 0, TimeUnit.MILLISECONDS);
+        victim.schedule(latch::countDown, -10, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void runsInDeadlineOrder() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(3);
+        List<String> ran = new CopyOnWriteArrayList<>();
+        victim.schedule(() -> {
+            ran.add("third");
+            latch.countDown();
+        }, 60, TimeUnit.MILLISECONDS);
+        victim.schedule(() -> {
+            ran.add("first");
+            latch.countDown();
+        }, 10, TimeUnit.MILLISECONDS);
+        victim.schedule(() -> {
+            ran.add("second");
+            latch.countDown();
+        }, 30, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("first", "second", "third"), ran);
+    }
+
+    @Test
+    public void moreThanOneTurn() throws InterruptedException {
+        victim.stop();
+        victim = new TimingWheel(100, TimeUnit.MICROSECONDS);
+        // a turn of the wheel is about 51ms
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        AtomicInteger elapsed = new AtomicInteger();
+        victim.schedule(() -> {
+            elapsed.set((int) TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            latch.countDown();
+        }, 120, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(elapsed.get() >= 120);
+    }
+
+    @Test
+    public void cancel() throws InterruptedException {
+        AtomicInteger ran = new AtomicInteger();
+        TimingWheel.Timer timer = victim.schedule(ran::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+        assertTrue(timer.cancel());
+        assertFalse(timer.cancel());
+        assertTrue(timer.isCancelled());
+        assertTrue(timer.isDone());
+        assertEquals(0, victim.pending());
+        CountDownLatch latch = new CountDownLatch(1);
+        victim.schedule(latch::countDown, 40, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(0, ran.get());
+    }
+
+    @Test
+    public void periodic() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(3);
+        TimingWheel.Timer timer = victim.schedule(latch::countDown, 5, 5, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertFalse(timer.isDone());
+        assertEquals(1, victim.pending());
+        assertTrue(timer.cancel());
+        assertTrue(timer.isDone());
+        assertEquals(0, victim.pending());
+    }
+
+    @Test
+    public void cancelledWhileRunning() throws InterruptedException {
+        AtomicInteger ran = new AtomicInteger();
+        TimingWheel.Timer[] timer = new TimingWheel.Timer[1];
+        CountDownLatch scheduled = new CountDownLatch(1);
+        timer[0] = victim.schedule(() -> {
+            try {
+                scheduled.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ran.incrementAndGet();
+            timer[0].cancel();
+        }, 1, 1, TimeUnit.MILLISECONDS);
+        scheduled.countDown();
+        CountDownLatch latch = new CountDownLatch(1);
+        victim.schedule(latch::countDown, 50, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(1, ran.get());
+    }
+
+    @Test
+    public void failingTask() throws InterruptedException {
+        victim.schedule(() -> {
+            throw new IllegalStateException();
+        }, 1, TimeUnit.MILLISECONDS);
+        CountDownLatch latch = new CountDownLatch(1);
+        victim.schedule(latch::countDown, 10, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void taskThrowingError() throws InterruptedException {
+        victim.schedule(() -> {
+            throw new AssertionError();
+        }, 1, TimeUnit.MILLISECONDS);
+        CountDownLatch latch = new CountDownLatch(1);
+        victim.schedule(latch::countDown, 10, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void periodicTaskThrowingError() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(3);
+        ScheduledBroadcast timer = victim.schedule(() -> {
+            latch.countDown();
+            throw new StackOverflowError();
+        }, 1, 1, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        timer.cancel();
+    }
+
+    @Test
+    public void manyTimers() throws InterruptedException {
+        int count = 100_000;
+        CountDownLatch latch = new CountDownLatch(count / 2);
+        AtomicInteger cancelled = new AtomicInteger();
+        for (int i = 0; i < count; i++) {
+            if (i % 2 == 0) {
+                victim.schedule(latch::countDown, i % 100, TimeUnit.MILLISECONDS);
+            } else {
+                // far enough not to run before being cancelled
+                victim.schedule(cancelled::incrementAndGet, 1000 + i % 100, TimeUnit.MILLISECONDS).cancel();
+            }
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(0, cancelled.get());
+        assertEquals(0, victim.pending());
+    }
+}
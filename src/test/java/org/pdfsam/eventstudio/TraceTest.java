@@ -0,0 +1,135 @@
+/*
+ * This file is part of the EventStudio source code
+ * Created on 19/ott/2026
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pdfsam.eventstudio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class TraceTest {
+
+    @After
+    public void tearDown() {
+        Trace.restore(null);
+    }
+
+    @Test
+    public void noTrace() {
+        assertNull(Trace.current());
+    }
+
+    @Test
+    public void root() {
+        long before = System.currentTimeMillis();
+        assertNull(Trace.begin());
+        Trace root = Trace.current();
+        assertTrue(root.isRoot());
+        assertEquals(root.id(), root.traceId());
+        assertEquals(0, root.parentId());
+        assertEquals(0, root.sequence());
+        assertTrue(root.timestamp() >= before);
+        Trace.restore(null);
+        assertNull(Trace.current());
+    }
+
+    @Test
+    public void children() {
+        Trace.begin();
+        Trace root = Trace.current();
+        assertSame(root, Trace.begin());
+        Trace child = Trace.current();
+        assertSame(child, Trace.begin());
+        Trace grandchild = Trace.current();
+        Trace.restore(child);
+        Trace.begin();
+        Trace sibling = Trace.current();
+        assertFalse(child.isRoot());
+        assertEquals(root.traceId(), child.traceId());
+        assertEquals(root.id(), child.parentId());
+        assertEquals(child.id(), grandchild.parentId());
+        assertEquals(child.id(), sibling.parentId());
+        assertEquals(1, child.sequence());
+        assertEquals(2, grandchild.sequence());
+        assertEquals(3, sibling.sequence());
+    }
+
+    @Test
+    public void differentTraces() {
+        Trace.begin();
+        Trace first = Trace.current();
+        Trace.restore(null);
+        Trace.begin();
+        assertTrue(Trace.current().traceId() > first.traceId());
+        assertEquals(0, Trace.current().sequence());
+    }
+
+    @Test
+    public void childOf() {
+        Trace.begin();
+        Trace parent = Trace.current();
+        Trace.restore(null);
+        assertNull(Trace.begin(parent));
+        assertEquals(parent.id(), Trace.current().parentId());
+        assertEquals(parent.traceId(), Trace.current().traceId());
+    }
+
+    @Test
+    public void resume() {
+        Trace.begin();
+        Trace trace = Trace.current();
+        Trace.restore(null);
+        assertNull(Trace.resume(trace));
+        assertSame(trace, Trace.current());
+    }
+
+    @Test
+    public void wrapNoTrace() {
+        Runnable task = () -> {
+            // nothing
+        };
+        assertSame(task, Trace.wrap(task));
+    }
+
+    @Test
+    public void wrap() throws InterruptedException {
+        Trace.begin();
+        Trace trace = Trace.current();
+        AtomicReference<Trace> inTask = new AtomicReference<>();
+        AtomicReference<Trace> afterTask = new AtomicReference<>(trace);
+        Runnable wrapped = Trace.wrap(() -> inTask.set(Trace.current()));
+        Thread thread = new Thread(() -> {
+            wrapped.run();
+            afterTask.set(Trace.current());
+        });
+        thread.start();
+        thread.join();
+        assertSame(trace, inTask.get());
+        assertNull(afterTask.get());
+    }
+}